@@ -15,6 +15,10 @@ public class MediaMetadata {
     private Integer height;
     private String codec;
     private Double duration;
-    private Integer bitrate;
+    private Integer bitrate; // 컨테이너 전체 비트레이트 (kb/s, 모든 스트림 합계)
+    private Integer videoBitrate; // 영상 스트림 비트레이트 (kb/s), 컨테이너가 스트림별 값을 기록하지 않으면 null
     private Double frameRate;
+    private Integer videoStreamIndex; // 입력 내 첫 번째 영상 스트림 번호 (커버 이미지 제외)
+    private Integer audioStreamIndex; // 첫 번째 오디오 스트림 번호, 오디오가 없으면 null
+    private String audioCodec;
 }
\ No newline at end of file
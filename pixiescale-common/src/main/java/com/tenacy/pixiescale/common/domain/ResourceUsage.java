@@ -0,0 +1,18 @@
+package com.tenacy.pixiescale.common.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 태스크가 실행한 FFmpeg 프로세스들의 자원 사용량 (여러 프로세스를 실행했으면 합계, 메모리는 최대값)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResourceUsage {
+    private double cpuSeconds; // 사용자 + 커널 CPU 시간
+    private long peakRssBytes; // 최대 상주 메모리
+    private long readBytes;
+    private long writtenBytes;
+}
@@ -15,6 +15,23 @@ public class TranscodingConfig {
     private String targetCodec; // H.264, H.265, VP9 등
     private String targetFormat; // MP4, WebM 등
     private List<ResolutionPreset> resolutions;
+    private ExecutionMode executionMode; // PER_RENDITION(기본), SINGLE_DECODE, CHUNKED
+    private Integer chunkCount; // CHUNKED 모드의 렌디션당 청크 수 (미지정 시 기본값)
+    private Boolean perTitleLadder; // 분석 인코딩으로 콘텐츠 복잡도를 측정해 렌디션 비트레이트 조정
+    private PackagingFormat packaging; // PROGRESSIVE(기본), CMAF_HLS
+    private Boolean thumbnails; // 인코딩 중 간격 썸네일, 스프라이트 시트, WebVTT 인덱스 생성
+    private Boolean liveIngest; // 기록 중인 파일/named pipe를 따라가며 트랜스코딩하고 세그먼트를 생성 즉시 저장
+
+    public enum ExecutionMode {
+        PER_RENDITION, // 렌디션마다 별도 태스크로 처리
+        SINGLE_DECODE, // 한 워커가 한 번의 디코딩으로 모든 렌디션을 처리
+        CHUNKED        // 렌디션을 시간 구간 청크로 나눠 여러 워커가 병렬 처리 후 병합
+    }
+
+    public enum PackagingFormat {
+        PROGRESSIVE, // 렌디션별 단일 MP4/WebM 파일
+        CMAF_HLS     // 렌디션별 fMP4 세그먼트와 미디어 플레이리스트, 작업 완료 후 마스터 플레이리스트
+    }
 
     @Data
     @Builder
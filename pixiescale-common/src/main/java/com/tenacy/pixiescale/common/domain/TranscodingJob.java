@@ -19,6 +19,7 @@ public class TranscodingJob {
     private LocalDateTime startedAt;
     private LocalDateTime completedAt;
     private String errorMessage;
+    private String masterPlaylistPath; // CMAF_HLS 패키징 작업의 마스터 플레이리스트 경로
 
     public enum JobStatus {
         PENDING, PROCESSING, COMPLETED, FAILED
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Builder
@@ -23,8 +24,45 @@ public class TranscodingTask {
     private LocalDateTime startedAt;
     private LocalDateTime completedAt;
     private String errorMessage;
+    private TaskType taskType;
+    private String parentTaskId; // CHUNK 태스크가 속한 렌디션 태스크 ID
+    private Integer chunkIndex;
+    private Integer chunkCount;
+    private Double chunkStart; // 초
+    private Double chunkDuration; // 초
+    private List<String> chunkPaths; // CONCAT 태스크가 병합할 청크 저장 경로 (순서대로)
+    private MediaMetadata sourceMetadata; // 수집 단계에서 추출한 원본 메타데이터
+    private Integer probeBitrate; // ANALYZE 태스크가 측정한 프로브 인코딩 비트레이트 (kbps)
+    private TranscodingConfig.PackagingFormat packaging;
+    private List<RenditionPlaylist> renditionPlaylists; // PACKAGE_MASTER 태스크가 참조할 렌디션 플레이리스트
+    private Boolean generateThumbnails; // 작업당 한 렌디션만 썸네일 출력을 함께 생성
+    private List<String> artifactPaths; // 썸네일, 스프라이트 시트, WebVTT 등 부가 출력 저장 경로
+    private Double clipStart; // 초, 원본의 일부 구간만 트랜스코딩하는 경우
+    private Double clipDuration; // 초, 미지정 시 원본 끝까지
+    private Boolean liveInput; // 원본이 아직 기록 중 (입력 끝에서 새 데이터를 기다림)
+    private String attemptId; // 실행 시도 ID (지연 태스크의 추측 실행 시 같은 태스크에 시도가 여러 개)
+    private ResourceUsage resourceUsage; // 워커가 측정한 FFmpeg 자원 사용량
 
     public enum TaskStatus {
         PENDING, PROCESSING, COMPLETED, FAILED
     }
+
+    public enum TaskType {
+        TRANSCODE, // 렌디션 전체 인코딩 (기본)
+        CHUNK,     // 렌디션의 일부 시간 구간만 인코딩
+        CONCAT,    // 인코딩된 청크를 스트림 복사로 병합
+        ANALYZE,   // 저해상도 CRF 프로브 인코딩으로 콘텐츠 복잡도 측정
+        PACKAGE_MASTER // 완료된 렌디션 플레이리스트로 HLS 마스터 플레이리스트 생성
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RenditionPlaylist {
+        private String playlistPath; // 저장된 미디어 플레이리스트 경로
+        private Integer width;
+        private Integer height;
+        private Integer bitrate; // kbps
+    }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.tenacy.pixiescale.common.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// 모든 워커에 브로드캐스트되는 실행 중 태스크 제어 이벤트
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskControlEvent {
+    private String taskId; // 작업 단위 제어에서는 비어 있음
+    private String jobId;
+    private Action action;
+    private List<String> attemptIds; // 중단할 실행 시도 ID
+    private String reason;
+    private LocalDateTime timestamp;
+
+    public enum Action {
+        ABORT_ATTEMPTS, // 먼저 완료된 시도가 있어 나머지 시도를 중단
+        CANCEL_JOB // 작업이 취소되어 해당 작업의 모든 태스크를 건너뛰거나 중단
+    }
+}
@@ -1,11 +1,14 @@
 package com.tenacy.pixiescale.common.event;
 
+import com.tenacy.pixiescale.common.domain.ResourceUsage;
+import com.tenacy.pixiescale.common.domain.TranscodingTask;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Builder
@@ -18,4 +21,11 @@ public class TaskResultEvent {
     private String outputPath;
     private LocalDateTime completedAt;
     private String errorMessage;
+    private String parentTaskId; // CHUNK 태스크 결과인 경우 렌디션 태스크 ID
+    private Integer chunkIndex;
+    private TranscodingTask.TaskType taskType;
+    private Integer probeBitrate; // ANALYZE 태스크 결과인 경우 프로브 인코딩 비트레이트 (kbps)
+    private List<String> artifactPaths; // 썸네일 등 부가 출력 저장 경로
+    private String attemptId; // 결과를 보고한 실행 시도 ID
+    private ResourceUsage resourceUsage; // 태스크 처리에 사용한 CPU 시간, 최대 메모리, 입출력 바이트
 }
\ No newline at end of file
@@ -1,10 +1,15 @@
 package com.tenacy.pixiescale.common.event;
 
+import com.tenacy.pixiescale.common.domain.MediaMetadata;
+import com.tenacy.pixiescale.common.domain.TranscodingConfig;
+import com.tenacy.pixiescale.common.domain.TranscodingTask;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -16,4 +21,32 @@ public class TranscodingTaskEvent {
     private Integer targetWidth;
     private Integer targetHeight;
     private Integer targetBitrate;
+    private List<Rendition> renditions; // SINGLE_DECODE 모드에서 함께 인코딩할 렌디션 목록
+    private TranscodingTask.TaskType taskType;
+    private String parentTaskId;
+    private Integer chunkIndex;
+    private Integer chunkCount;
+    private Double chunkStart;
+    private Double chunkDuration;
+    private List<String> chunkPaths;
+    private MediaMetadata sourceMetadata;
+    private TranscodingConfig.PackagingFormat packaging;
+    private List<TranscodingTask.RenditionPlaylist> renditionPlaylists;
+    private Boolean generateThumbnails;
+    private Double clipStart;
+    private Double clipDuration;
+    private Boolean liveInput;
+    private String attemptId;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Rendition {
+        private String taskId;
+        private Integer targetWidth;
+        private Integer targetHeight;
+        private Integer targetBitrate;
+        private String attemptId;
+    }
 }
\ No newline at end of file
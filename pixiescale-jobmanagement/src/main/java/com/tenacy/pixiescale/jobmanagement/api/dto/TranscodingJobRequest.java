@@ -13,4 +13,6 @@ import lombok.NoArgsConstructor;
 public class TranscodingJobRequest {
     private String mediaFileId;
     private TranscodingConfig config;
+    private Double clipStart; // 초, 미지정 시 처음부터
+    private Double clipDuration; // 초, 미지정 시 원본 끝까지
 }
\ No newline at end of file
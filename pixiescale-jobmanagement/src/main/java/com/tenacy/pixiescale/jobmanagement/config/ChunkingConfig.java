@@ -0,0 +1,15 @@
+package com.tenacy.pixiescale.jobmanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.transcoding.chunking")
+public class ChunkingConfig {
+    private int defaultChunkCount = 4;
+    private int minChunkSeconds = 30; // 이보다 짧은 청크는 만들지 않음
+    private int gopSize = 48; // 워커 인코더의 -g 값과 동일하게 유지
+    private double defaultFrameRate = 30.0; // 메타데이터에 프레임레이트가 없을 때 사용
+}
@@ -0,0 +1,15 @@
+package com.tenacy.pixiescale.jobmanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.transcoding.ladder")
+public class LadderConfig {
+    private int referenceProbeBitrate = 1200; // 일반적인 콘텐츠의 프로브 인코딩 비트레이트 (kbps, 워커 프로브 설정 기준)
+    private double minScale = 0.4; // 단순한 콘텐츠도 프리셋의 이 비율 아래로는 낮추지 않음
+    private double maxScale = 1.0; // 프리셋 비트레이트를 상한으로 사용
+    private int analysisTimeoutSeconds = 300; // 분석 결과를 이 시간 안에 받지 못하면 프리셋 비트레이트로 진행
+}
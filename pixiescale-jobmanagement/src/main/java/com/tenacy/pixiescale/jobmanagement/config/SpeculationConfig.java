@@ -0,0 +1,18 @@
+package com.tenacy.pixiescale.jobmanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.transcoding.speculation")
+public class SpeculationConfig {
+    private boolean enabled = true;
+    private int checkIntervalSeconds = 30;
+    private double slowdownFactor = 3.0; // 예상 시간의 이 배수를 넘기면 지연 태스크로 판단
+    private int minElapsedSeconds = 120; // 짧은 태스크는 추측 실행하지 않음
+    // 완료 기록이 없을 때 사용할 처리 시간 (출력 1초 · 1메가픽셀당 초)
+    private double defaultSecondsPerMegapixelSecond = 0.5;
+    private double smoothingFactor = 0.2; // 처리 시간 지수 이동 평균의 새 기록 가중치
+}
@@ -32,7 +32,11 @@ public class MediaEventListener {
                     .codec(event.getMetadata().getCodec())
                     .duration(event.getMetadata().getDuration())
                     .bitrate(event.getMetadata().getBitrate())
+                    .videoBitrate(event.getMetadata().getVideoBitrate())
                     .frameRate(event.getMetadata().getFrameRate())
+                    .videoStreamIndex(event.getMetadata().getVideoStreamIndex())
+                    .audioStreamIndex(event.getMetadata().getAudioStreamIndex())
+                    .audioCodec(event.getMetadata().getAudioCodec())
                     .build();
         }
 
@@ -8,6 +8,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
@@ -20,11 +22,58 @@ public class TaskResultListener {
         log.info("트랜스코딩 태스크 결과 이벤트 수신: {}", event.getTaskId());
 
         TranscodingTask.TaskStatus status = TranscodingTask.TaskStatus.valueOf(event.getStatus());
+
+        // 워커의 실행 시작 보고는 시도별 시작 시각만 기록 (노드 간 시계 차이가 없도록 수신 시각 사용)
+        if (status == TranscodingTask.TaskStatus.PROCESSING) {
+            transcodingService.markAttemptStarted(event.getTaskId(), event.getAttemptId(), LocalDateTime.now());
+            return;
+        }
+
+        // 분석 결과는 래더 조정 후 작업을 시작
+        if (event.getTaskType() == TranscodingTask.TaskType.ANALYZE) {
+            transcodingService.updateAnalysisResult(
+                    event.getJobId(),
+                    status,
+                    event.getProbeBitrate(),
+                    event.getErrorMessage()
+            );
+            return;
+        }
+
+        // 마스터 플레이리스트 결과는 작업에 경로만 기록
+        if (event.getTaskType() == TranscodingTask.TaskType.PACKAGE_MASTER) {
+            transcodingService.updateMasterPlaylist(
+                    event.getJobId(),
+                    status,
+                    event.getOutputPath(),
+                    event.getErrorMessage()
+            );
+            return;
+        }
+
+        // 청크 서브태스크 결과는 렌디션 태스크 단위로 모아서 처리
+        if (event.getParentTaskId() != null) {
+            transcodingService.updateSubTaskStatus(
+                    event.getParentTaskId(),
+                    event.getTaskId(),
+                    status,
+                    event.getOutputPath(),
+                    event.getErrorMessage(),
+                    event.getAttemptId()
+            );
+            return;
+        }
+
+        if (event.getArtifactPaths() != null && !event.getArtifactPaths().isEmpty()) {
+            transcodingService.updateTaskArtifacts(event.getTaskId(), event.getArtifactPaths());
+        }
+
         transcodingService.updateTaskStatus(
                 event.getTaskId(),
                 status,
                 event.getOutputPath(),
-                event.getErrorMessage()
+                event.getErrorMessage(),
+                event.getAttemptId()
         );
     }
 }
\ No newline at end of file
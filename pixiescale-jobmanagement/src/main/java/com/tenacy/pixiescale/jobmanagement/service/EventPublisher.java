@@ -1,5 +1,6 @@
 package com.tenacy.pixiescale.jobmanagement.service;
 
+import com.tenacy.pixiescale.common.event.TaskControlEvent;
 import com.tenacy.pixiescale.common.event.TranscodingJobEvent;
 import com.tenacy.pixiescale.common.event.TranscodingTaskEvent;
 import reactor.core.publisher.Mono;
@@ -8,4 +9,5 @@ public interface EventPublisher {
     Mono<Void> publishJobCreated(TranscodingJobEvent event);
     Mono<Void> publishJobUpdated(TranscodingJobEvent event);
     Mono<Void> publishTranscodingTask(TranscodingTaskEvent event);
+    Mono<Void> publishTaskControl(TaskControlEvent event);
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.tenacy.pixiescale.jobmanagement.service.impl;
 
+import com.tenacy.pixiescale.common.event.TaskControlEvent;
 import com.tenacy.pixiescale.common.event.TranscodingJobEvent;
 import com.tenacy.pixiescale.common.event.TranscodingTaskEvent;
 import com.tenacy.pixiescale.jobmanagement.service.EventPublisher;
@@ -30,6 +31,9 @@ public class KafkaEventPublisher implements EventPublisher {
     @Value("${app.kafka.topics.transcoding-task}")
     private String transcodingTaskTopic;
 
+    @Value("${app.kafka.topics.task-control}")
+    private String taskControlTopic;
+
     @Override
     public Mono<Void> publishJobCreated(TranscodingJobEvent event) {
         return Mono.fromRunnable(() -> {
@@ -77,4 +81,20 @@ public class KafkaEventPublisher implements EventPublisher {
             });
         });
     }
+
+    @Override
+    public Mono<Void> publishTaskControl(TaskControlEvent event) {
+        return Mono.fromRunnable(() -> {
+            CompletableFuture<SendResult<String, Object>> future =
+                    kafkaTemplate.send(taskControlTopic, event.getTaskId(), event);
+
+            future.whenComplete((result, ex) -> {
+                if (ex == null) {
+                    log.info("Task control event published: {} ({})", event.getTaskId(), event.getAction());
+                } else {
+                    log.error("Failed to publish task control event: {}", event.getTaskId(), ex);
+                }
+            });
+        });
+    }
 }
\ No newline at end of file
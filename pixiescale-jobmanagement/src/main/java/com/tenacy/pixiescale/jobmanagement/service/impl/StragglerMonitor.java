@@ -0,0 +1,54 @@
+package com.tenacy.pixiescale.jobmanagement.service.impl;
+
+import com.tenacy.pixiescale.jobmanagement.config.SpeculationConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+
+// 주기적으로 진행 중인 작업의 지연 태스크를 찾아 추측 실행하고, 분석 결과를 제한 시간 넘게 기다리는 작업을 시작
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StragglerMonitor {
+
+    private final TranscodingServiceImpl transcodingService;
+    private final SpeculationConfig speculationConfig;
+    private Disposable monitoring;
+
+    @PostConstruct
+    public void start() {
+        Duration interval = Duration.ofSeconds(Math.max(1, speculationConfig.getCheckIntervalSeconds()));
+        monitoring = Flux.interval(interval, interval)
+                .subscribe(tick -> {
+                    try {
+                        int count = transcodingService.speculateStragglers();
+                        if (count > 0) {
+                            log.info("지연 태스크 추측 실행: {}개", count);
+                        }
+                    } catch (Exception e) {
+                        log.warn("지연 태스크 확인 실패", e);
+                    }
+                    try {
+                        int expired = transcodingService.expireAnalyses();
+                        if (expired > 0) {
+                            log.warn("분석 제한 시간 초과, 프리셋 비트레이트로 시작: {}개", expired);
+                        }
+                    } catch (Exception e) {
+                        log.warn("분석 대기 작업 확인 실패", e);
+                    }
+                });
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (monitoring != null) {
+            monitoring.dispose();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.tenacy.pixiescale.jobmanagement.service.impl;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 태스크별로 결과를 기다리는 실행 시도와 워커가 보고한 실행 시작 시각을 기록
+@Component
+public class TaskAttemptTracker {
+
+    // 시도 ID별 실행 시작 시각 (워커가 아직 시작을 보고하지 않았으면 NOT_STARTED)
+    private static final LocalDateTime NOT_STARTED = LocalDateTime.MIN;
+
+    private final ConcurrentHashMap<String, Map<String, LocalDateTime>> attempts = new ConcurrentHashMap<>();
+
+    public String dispatch(String taskId) {
+        String attemptId = UUID.randomUUID().toString();
+        Map<String, LocalDateTime> taskAttempts = attempts.computeIfAbsent(taskId, id -> new LinkedHashMap<>());
+        synchronized (taskAttempts) {
+            taskAttempts.put(attemptId, NOT_STARTED);
+        }
+        return attemptId;
+    }
+
+    // 워커가 실행 슬롯을 받아 처리를 시작한 시각 기록 (재전달되어 다시 시작하면 갱신)
+    public boolean start(String taskId, String attemptId, LocalDateTime startedAt) {
+        Map<String, LocalDateTime> taskAttempts = attempts.get(taskId);
+        if (taskAttempts == null || attemptId == null) {
+            return false;
+        }
+        synchronized (taskAttempts) {
+            return taskAttempts.replace(attemptId, startedAt) != null;
+        }
+    }
+
+    public int getAttemptCount(String taskId) {
+        Map<String, LocalDateTime> taskAttempts = attempts.get(taskId);
+        if (taskAttempts == null) {
+            return 0;
+        }
+        synchronized (taskAttempts) {
+            return taskAttempts.size();
+        }
+    }
+
+    // 워커가 보고한 실행 시작 시각 (대기열에 있어 아직 시작하지 않았으면 null)
+    public LocalDateTime getStartedAt(String taskId, String attemptId) {
+        Map<String, LocalDateTime> taskAttempts = attempts.get(taskId);
+        if (taskAttempts == null || attemptId == null) {
+            return null;
+        }
+        synchronized (taskAttempts) {
+            LocalDateTime startedAt = taskAttempts.get(attemptId);
+            return startedAt == NOT_STARTED ? null : startedAt;
+        }
+    }
+
+    // 실패한 시도를 제거하고, 같은 태스크의 다른 시도가 아직 실행 중이면 true (태스크 실패로 처리하지 않음)
+    public boolean failAttempt(String taskId, String attemptId) {
+        Map<String, LocalDateTime> taskAttempts = attempts.get(taskId);
+        if (taskAttempts == null || attemptId == null) {
+            return false;
+        }
+        synchronized (taskAttempts) {
+            if (taskAttempts.remove(attemptId) == null || taskAttempts.isEmpty()) {
+                attempts.remove(taskId);
+                return false;
+            }
+            return true;
+        }
+    }
+
+    // 태스크 기록을 제거하고 완료된 시도를 제외한 나머지(중단할) 시도 ID 반환
+    public List<String> complete(String taskId, String attemptId) {
+        Map<String, LocalDateTime> taskAttempts = attempts.remove(taskId);
+        // 시도 ID 없는 결과는 어느 시도인지 알 수 없으므로 다른 시도를 중단하지 않음
+        if (taskAttempts == null || attemptId == null) {
+            return List.of();
+        }
+        synchronized (taskAttempts) {
+            List<String> losers = new ArrayList<>(taskAttempts.keySet());
+            losers.remove(attemptId);
+            return losers;
+        }
+    }
+
+    // 작업 취소 등으로 더 이상 결과를 기다리지 않는 태스크의 기록 제거
+    public void remove(String taskId) {
+        attempts.remove(taskId);
+    }
+}
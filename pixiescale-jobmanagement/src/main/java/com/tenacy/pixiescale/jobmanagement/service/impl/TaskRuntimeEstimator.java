@@ -0,0 +1,62 @@
+package com.tenacy.pixiescale.jobmanagement.service.impl;
+
+import com.tenacy.pixiescale.common.domain.TranscodingTask;
+import com.tenacy.pixiescale.jobmanagement.config.SpeculationConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+// 완료된 태스크의 처리 시간으로 해상도와 출력 길이에 따른 예상 처리 시간을 추정
+@Slf4j
+@Component
+public class TaskRuntimeEstimator {
+
+    private final SpeculationConfig speculationConfig;
+    private double secondsPerMegapixelSecond;
+
+    public TaskRuntimeEstimator(SpeculationConfig speculationConfig) {
+        this.speculationConfig = speculationConfig;
+        this.secondsPerMegapixelSecond = speculationConfig.getDefaultSecondsPerMegapixelSecond();
+    }
+
+    public synchronized void record(TranscodingTask task, double elapsedSeconds) {
+        Double workload = getWorkload(task);
+        if (workload == null || workload <= 0 || elapsedSeconds <= 0) {
+            return;
+        }
+        double alpha = speculationConfig.getSmoothingFactor();
+        secondsPerMegapixelSecond = (1 - alpha) * secondsPerMegapixelSecond + alpha * (elapsedSeconds / workload);
+        log.debug("처리 시간 기록: taskId={}, {}초, 추정치={}초/(MP·초)", task.getId(),
+                String.format("%.1f", elapsedSeconds), String.format("%.3f", secondsPerMegapixelSecond));
+    }
+
+    // 출력 길이나 해상도를 알 수 없으면 null
+    public synchronized Double predictSeconds(TranscodingTask task) {
+        Double workload = getWorkload(task);
+        return workload != null ? workload * secondsPerMegapixelSecond : null;
+    }
+
+    // 출력 길이(초) × 해상도(메가픽셀)
+    private Double getWorkload(TranscodingTask task) {
+        Double duration = getOutputDuration(task);
+        if (duration == null || task.getTargetWidth() == null || task.getTargetHeight() == null) {
+            return null;
+        }
+        return duration * task.getTargetWidth() * task.getTargetHeight() / 1_000_000.0;
+    }
+
+    private Double getOutputDuration(TranscodingTask task) {
+        if (task.getTaskType() == TranscodingTask.TaskType.CHUNK && task.getChunkDuration() != null) {
+            return task.getChunkDuration();
+        }
+        if (task.getClipDuration() != null) {
+            return task.getClipDuration();
+        }
+        Double sourceDuration = task.getSourceMetadata() != null ? task.getSourceMetadata().getDuration() : null;
+        if (sourceDuration == null) {
+            return null;
+        }
+        double start = task.getTaskType() == TranscodingTask.TaskType.CHUNK && task.getChunkStart() != null
+                ? task.getChunkStart() : task.getClipStart() != null ? task.getClipStart() : 0;
+        return Math.max(0, sourceDuration - start);
+    }
+}
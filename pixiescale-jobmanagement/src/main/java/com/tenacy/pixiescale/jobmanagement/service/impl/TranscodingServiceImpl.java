@@ -1,11 +1,17 @@
 package com.tenacy.pixiescale.jobmanagement.service.impl;
 
 import com.tenacy.pixiescale.common.domain.MediaFile;
+import com.tenacy.pixiescale.common.domain.MediaMetadata;
+import com.tenacy.pixiescale.common.domain.TranscodingConfig;
 import com.tenacy.pixiescale.common.domain.TranscodingJob;
 import com.tenacy.pixiescale.common.domain.TranscodingTask;
+import com.tenacy.pixiescale.common.event.TaskControlEvent;
 import com.tenacy.pixiescale.common.event.TranscodingJobEvent;
 import com.tenacy.pixiescale.common.event.TranscodingTaskEvent;
 import com.tenacy.pixiescale.jobmanagement.api.dto.TranscodingJobRequest;
+import com.tenacy.pixiescale.jobmanagement.config.ChunkingConfig;
+import com.tenacy.pixiescale.jobmanagement.config.LadderConfig;
+import com.tenacy.pixiescale.jobmanagement.config.SpeculationConfig;
 import com.tenacy.pixiescale.jobmanagement.event.MediaEventListener;
 import com.tenacy.pixiescale.jobmanagement.service.EventPublisher;
 import com.tenacy.pixiescale.jobmanagement.service.TranscodingService;
@@ -15,10 +21,15 @@ import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
@@ -28,7 +39,18 @@ public class TranscodingServiceImpl implements TranscodingService {
 
     private final EventPublisher eventPublisher;
     private final MediaEventListener mediaEventListener;
+    private final ChunkingConfig chunkingConfig;
+    private final LadderConfig ladderConfig;
+    private final SpeculationConfig speculationConfig;
+    private final TaskRuntimeEstimator runtimeEstimator;
+    private final TaskAttemptTracker attemptTracker;
     private final ConcurrentHashMap<String, TranscodingJob> jobStore = new ConcurrentHashMap<>();
+    // 청크 모드에서 렌디션 태스크 ID별 청크 서브태스크 목록
+    private final ConcurrentHashMap<String, List<TranscodingTask>> subTaskStore = new ConcurrentHashMap<>();
+    // 분석 결과를 기다리는 작업 ID별 트랜스코딩 설정
+    private final ConcurrentHashMap<String, TranscodingConfig> pendingAnalysisStore = new ConcurrentHashMap<>();
+    // 취소된 작업 ID (취소 후 도착하는 워커 결과로 상태가 바뀌지 않도록 함)
+    private final Set<String> cancelledJobIds = ConcurrentHashMap.newKeySet();
 
     @Override
     public Mono<TranscodingJob> createJob(TranscodingJobRequest request) {
@@ -41,6 +63,9 @@ public class TranscodingServiceImpl implements TranscodingService {
                 throw new RuntimeException("미디어 파일을 찾을 수 없음: " + mediaFileId);
             }
 
+            validateClipRange(request, mediaFile.getMetadata());
+            applyLiveIngestDefaults(request.getConfig());
+
             String jobId = mediaFileId + "-" + UUID.randomUUID();
 
             // 트랜스코딩 작업 생성
@@ -52,9 +77,9 @@ public class TranscodingServiceImpl implements TranscodingService {
                     .tasks(new ArrayList<>())
                     .build();
 
-            // 요청된 해상도별 태스크 생성
+            // 요청된 해상도별 태스크 생성 (원본보다 큰 해상도는 제외)
             List<TranscodingTask> tasks = new ArrayList<>();
-            request.getConfig().getResolutions().forEach(resolution -> {
+            pruneUpscaleRungs(request.getConfig().getResolutions(), mediaFile.getMetadata()).forEach(resolution -> {
                 TranscodingTask task = TranscodingTask.builder()
                         .id(UUID.randomUUID().toString())
                         .jobId(jobId)
@@ -62,12 +87,25 @@ public class TranscodingServiceImpl implements TranscodingService {
                         .targetWidth(resolution.getWidth())
                         .targetHeight(resolution.getHeight())
                         .targetBitrate(resolution.getBitrate())
+                        .sourceMetadata(mediaFile.getMetadata())
+                        .packaging(request.getConfig().getPackaging())
+                        .clipStart(request.getClipStart())
+                        .clipDuration(request.getClipDuration())
+                        .liveInput(request.getConfig().getLiveIngest())
                         .status(TranscodingTask.TaskStatus.PENDING)
                         .build();
                 tasks.add(task);
             });
 
             job.setTasks(tasks);
+
+            // 썸네일은 작업당 한 번만 필요하므로 인코딩 비용이 가장 낮은 렌디션에서 함께 생성
+            if (Boolean.TRUE.equals(request.getConfig().getThumbnails()) && !tasks.isEmpty()) {
+                tasks.stream()
+                        .min(Comparator.comparingInt(task -> task.getTargetWidth() * task.getTargetHeight()))
+                        .ifPresent(task -> task.setGenerateThumbnails(true));
+            }
+
             jobStore.put(jobId, job);
 
             log.info("작업 생성 완료: jobId={}, 작업 수={}", jobId, tasks.size());
@@ -83,8 +121,17 @@ public class TranscodingServiceImpl implements TranscodingService {
 
             eventPublisher.publishJobCreated(jobEvent).subscribe();
 
+            // 타이틀별 비트레이트 래더: 분석 결과를 받은 뒤 비트레이트를 조정하고 작업 시작
+            MediaMetadata metadata = mediaFile.getMetadata();
+            if (Boolean.TRUE.equals(request.getConfig().getPerTitleLadder())
+                    && metadata != null && metadata.getDuration() != null && metadata.getDuration() > 0) {
+                pendingAnalysisStore.put(jobId, request.getConfig());
+                publishAnalyzeTask(job, metadata);
+                return job;
+            }
+
             // 작업 시작
-            startJob(job);
+            startJob(job, request.getConfig());
 
             return job;
         });
@@ -111,10 +158,17 @@ public class TranscodingServiceImpl implements TranscodingService {
                         return Mono.error(new RuntimeException("이미 완료되거나 실패한 작업은 취소할 수 없음"));
                     }
 
+                    pendingAnalysisStore.remove(jobId);
+                    cancelledJobIds.add(jobId);
+                    cancelTasks(job);
                     job.setStatus(TranscodingJob.JobStatus.FAILED);
                     job.setErrorMessage("사용자에 의해 취소됨");
+                    job.setCompletedAt(LocalDateTime.now());
                     jobStore.put(jobId, job);
 
+                    // 대기 중인 태스크는 건너뛰고 실행 중인 FFmpeg 프로세스는 종료하도록 모든 워커에 알림
+                    publishCancelJob(job);
+
                     // 작업 상태 변경 이벤트 발행
                     TranscodingJobEvent updateEvent = TranscodingJobEvent.builder()
                             .jobId(job.getId())
@@ -130,7 +184,46 @@ public class TranscodingServiceImpl implements TranscodingService {
                 });
     }
 
-    private void startJob(TranscodingJob job) {
+    // 완료되지 않은 태스크와 청크를 실패로 정리하고 실행 시도 기록 제거
+    private void cancelTasks(TranscodingJob job) {
+        for (TranscodingTask task : job.getTasks()) {
+            List<TranscodingTask> chunks = subTaskStore.get(task.getId());
+            if (chunks != null) {
+                synchronized (chunks) {
+                    chunks.forEach(this::cancelTask);
+                }
+            }
+            cancelTask(task);
+        }
+    }
+
+    private void cancelTask(TranscodingTask task) {
+        attemptTracker.remove(task.getId());
+        if (task.getStatus() == TranscodingTask.TaskStatus.COMPLETED
+                || task.getStatus() == TranscodingTask.TaskStatus.FAILED) {
+            return;
+        }
+        task.setStatus(TranscodingTask.TaskStatus.FAILED);
+        task.setErrorMessage("작업 취소됨");
+        task.setCompletedAt(LocalDateTime.now());
+    }
+
+    private void publishCancelJob(TranscodingJob job) {
+        TaskControlEvent controlEvent = TaskControlEvent.builder()
+                .jobId(job.getId())
+                .action(TaskControlEvent.Action.CANCEL_JOB)
+                .reason(job.getErrorMessage())
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        eventPublisher.publishTaskControl(controlEvent)
+                .subscribe(
+                        VoidUnused -> log.debug("작업 취소 이벤트 발행 성공: {}", job.getId()),
+                        error -> log.error("작업 취소 이벤트 발행 실패: {}", job.getId(), error)
+                );
+    }
+
+    private void startJob(TranscodingJob job, TranscodingConfig config) {
         job.setStatus(TranscodingJob.JobStatus.PROCESSING);
         job.setStartedAt(LocalDateTime.now());
 
@@ -144,27 +237,576 @@ public class TranscodingServiceImpl implements TranscodingService {
 
         eventPublisher.publishJobUpdated(updateEvent).subscribe();
 
+        // 청크 모드: 렌디션별로 시간 구간 청크 계획 수립
+        // (썸네일은 전체 구간을 인코딩하면서 생성하므로 썸네일을 맡은 렌디션은 분할하지 않음)
+        if (config != null && config.getExecutionMode() == TranscodingConfig.ExecutionMode.CHUNKED) {
+            job.getTasks().forEach(task -> {
+                if (Boolean.TRUE.equals(task.getGenerateThumbnails())) {
+                    log.info("썸네일을 생성하는 렌디션은 청크로 분할하지 않음: {}", task.getId());
+                    return;
+                }
+                List<TranscodingTask> chunks = planChunks(task, task.getSourceMetadata(), config.getChunkCount());
+                if (chunks != null) {
+                    subTaskStore.put(task.getId(), chunks);
+                }
+            });
+        }
+
+        // 단일 디코딩 모드: 모든 렌디션을 하나의 이벤트로 묶어 한 워커에 전달 (세그먼트 패키징은 렌디션별 처리)
+        if (config != null && config.getExecutionMode() == TranscodingConfig.ExecutionMode.SINGLE_DECODE
+                && !job.getTasks().isEmpty()) {
+            if (config.getPackaging() != TranscodingConfig.PackagingFormat.CMAF_HLS) {
+                publishSingleDecodeTask(job);
+                return;
+            }
+            log.warn("CMAF_HLS 패키징은 단일 디코딩 모드를 지원하지 않아 렌디션별로 처리: jobId={}", job.getId());
+        }
+
         // 각 태스크별 이벤트 발행
         job.getTasks().forEach(task -> {
-            task.setStatus(TranscodingTask.TaskStatus.PENDING);
+            List<TranscodingTask> chunks = subTaskStore.get(task.getId());
+            if (chunks != null) {
+                publishChunkTasks(task, chunks);
+                return;
+            }
+
+            publishTask(task);
+        });
+
+        // 라이브 수집은 렌디션 플레이리스트가 완성되기 전부터 재생할 수 있도록 마스터 플레이리스트를 먼저 생성
+        if (config != null && Boolean.TRUE.equals(config.getLiveIngest())) {
+            publishMasterPlaylistTask(job);
+        }
+    }
+
+    private void publishTask(TranscodingTask task) {
+        // 발행 시각부터 처리 시간을 측정하여 지연 태스크 판단에 사용
+        task.setStatus(TranscodingTask.TaskStatus.PENDING);
+        task.setStartedAt(LocalDateTime.now());
+        task.setAttemptId(attemptTracker.dispatch(task.getId()));
+
+        eventPublisher.publishTranscodingTask(toTaskEvent(task))
+                .subscribe(
+                        VoidUnused -> log.debug("트랜스코딩 태스크 이벤트 발행 성공: {}", task.getId()),
+                        error -> log.error("트랜스코딩 태스크 이벤트 발행 실패: {}", task.getId(), error)
+                );
+    }
+
+    private TranscodingTaskEvent toTaskEvent(TranscodingTask task) {
+        return TranscodingTaskEvent.builder()
+                .taskId(task.getId())
+                .jobId(task.getJobId())
+                .targetFormat(task.getTargetFormat())
+                .targetWidth(task.getTargetWidth())
+                .targetHeight(task.getTargetHeight())
+                .targetBitrate(task.getTargetBitrate())
+                .sourceMetadata(task.getSourceMetadata())
+                .packaging(task.getPackaging())
+                .generateThumbnails(task.getGenerateThumbnails())
+                .clipStart(task.getClipStart())
+                .clipDuration(task.getClipDuration())
+                .liveInput(task.getLiveInput())
+                .attemptId(task.getAttemptId())
+                .build();
+    }
+
+    // 라이브 수집은 세그먼트 단위로 결과를 내보내야 하고 원본 길이를 알 수 없으므로 관련 옵션을 조정
+    private void applyLiveIngestDefaults(TranscodingConfig config) {
+        if (config == null || !Boolean.TRUE.equals(config.getLiveIngest())) {
+            return;
+        }
+        if (config.getPackaging() != TranscodingConfig.PackagingFormat.CMAF_HLS) {
+            log.info("라이브 수집은 CMAF_HLS 패키징으로 처리");
+            config.setPackaging(TranscodingConfig.PackagingFormat.CMAF_HLS);
+        }
+        if (config.getExecutionMode() == TranscodingConfig.ExecutionMode.CHUNKED) {
+            log.info("라이브 수집은 청크 분할 없이 렌디션별로 처리");
+            config.setExecutionMode(TranscodingConfig.ExecutionMode.PER_RENDITION);
+        }
+        config.setPerTitleLadder(false);
+    }
+
+    private void publishSingleDecodeTask(TranscodingJob job) {
+        // 썸네일은 렌디션 인코딩과 같은 필터 그래프에서 생성하므로 썸네일을 맡은 렌디션은 따로 발행
+        List<TranscodingTask> grouped = new ArrayList<>();
+        for (TranscodingTask task : job.getTasks()) {
+            if (Boolean.TRUE.equals(task.getGenerateThumbnails())) {
+                publishTask(task);
+            } else {
+                grouped.add(task);
+            }
+        }
+        if (grouped.size() < 2) {
+            grouped.forEach(this::publishTask);
+            return;
+        }
 
-            TranscodingTaskEvent taskEvent = TranscodingTaskEvent.builder()
+        List<TranscodingTaskEvent.Rendition> renditions = new ArrayList<>();
+        grouped.forEach(task -> {
+            task.setStatus(TranscodingTask.TaskStatus.PENDING);
+            task.setStartedAt(LocalDateTime.now());
+            task.setAttemptId(attemptTracker.dispatch(task.getId()));
+            renditions.add(TranscodingTaskEvent.Rendition.builder()
                     .taskId(task.getId())
-                    .jobId(job.getId())
-                    .targetFormat(task.getTargetFormat())
                     .targetWidth(task.getTargetWidth())
                     .targetHeight(task.getTargetHeight())
                     .targetBitrate(task.getTargetBitrate())
-                    .build();
+                    .attemptId(task.getAttemptId())
+                    .build());
+        });
+
+        // 렌디션 결과는 각 태스크 ID로 보고되므로 묶음 이벤트의 태스크 ID는 작업 ID를 사용
+        TranscodingTaskEvent taskEvent = TranscodingTaskEvent.builder()
+                .taskId(job.getId())
+                .jobId(job.getId())
+                .targetFormat(grouped.get(0).getTargetFormat())
+                .renditions(renditions)
+                .sourceMetadata(grouped.get(0).getSourceMetadata())
+                .packaging(grouped.get(0).getPackaging())
+                .clipStart(grouped.get(0).getClipStart())
+                .clipDuration(grouped.get(0).getClipDuration())
+                .liveInput(grouped.get(0).getLiveInput())
+                .build();
+
+        eventPublisher.publishTranscodingTask(taskEvent)
+                .subscribe(
+                        VoidUnused -> log.debug("단일 디코딩 태스크 이벤트 발행 성공: {} (렌디션 수: {})", job.getId(), renditions.size()),
+                        error -> log.error("단일 디코딩 태스크 이벤트 발행 실패: {}", job.getId(), error)
+                );
+    }
+
+    private void validateClipRange(TranscodingJobRequest request, MediaMetadata metadata) {
+        Double clipStart = request.getClipStart();
+        Double clipDuration = request.getClipDuration();
+
+        if (clipStart != null && clipStart < 0) {
+            throw new RuntimeException("클립 시작 시간은 0 이상이어야 함: " + clipStart);
+        }
+        if (clipDuration != null && clipDuration <= 0) {
+            throw new RuntimeException("클립 길이는 0보다 커야 함: " + clipDuration);
+        }
+        if (clipStart != null && metadata != null && metadata.getDuration() != null
+                && clipStart >= metadata.getDuration()) {
+            throw new RuntimeException("클립 시작 시간이 원본 길이를 넘음: " + clipStart);
+        }
+    }
+
+    // 원본 해상도를 넘는 렌디션은 업스케일일 뿐이므로 제외 (세로 영상도 고려해 긴 변/짧은 변 기준으로 비교)
+    private List<TranscodingConfig.ResolutionPreset> pruneUpscaleRungs(List<TranscodingConfig.ResolutionPreset> resolutions,
+                                                                       MediaMetadata metadata) {
+        if (metadata == null || metadata.getWidth() == null || metadata.getHeight() == null) {
+            return resolutions;
+        }
+
+        int sourceLong = Math.max(metadata.getWidth(), metadata.getHeight());
+        int sourceShort = Math.min(metadata.getWidth(), metadata.getHeight());
+
+        List<TranscodingConfig.ResolutionPreset> kept = resolutions.stream()
+                .filter(r -> Math.max(r.getWidth(), r.getHeight()) <= sourceLong
+                        && Math.min(r.getWidth(), r.getHeight()) <= sourceShort)
+                .collect(Collectors.toList());
+
+        // 모든 렌디션이 원본보다 크면 가장 작은 렌디션 하나만 유지
+        if (kept.isEmpty() && !resolutions.isEmpty()) {
+            kept = List.of(resolutions.stream()
+                    .min(Comparator.comparingInt(r -> r.getWidth() * r.getHeight()))
+                    .get());
+        }
+
+        if (kept.size() < resolutions.size()) {
+            log.info("원본 해상도({}x{})를 넘는 렌디션 제외: {} -> {}개",
+                    metadata.getWidth(), metadata.getHeight(), resolutions.size(), kept.size());
+        }
+        return kept;
+    }
+
+    private void publishAnalyzeTask(TranscodingJob job, MediaMetadata metadata) {
+        TranscodingTaskEvent taskEvent = TranscodingTaskEvent.builder()
+                .taskId(job.getId())
+                .jobId(job.getId())
+                .taskType(TranscodingTask.TaskType.ANALYZE)
+                .targetFormat(job.getTasks().isEmpty() ? null : job.getTasks().get(0).getTargetFormat())
+                .sourceMetadata(metadata)
+                .build();
+
+        eventPublisher.publishTranscodingTask(taskEvent)
+                .subscribe(
+                        VoidUnused -> log.debug("분석 태스크 이벤트 발행 성공: {}", job.getId()),
+                        error -> log.error("분석 태스크 이벤트 발행 실패: {}", job.getId(), error)
+                );
+    }
+
+    // 분석 결과로 렌디션 비트레이트를 조정한 뒤 작업 시작 (분석 실패 시 프리셋 비트레이트로 진행)
+    public void updateAnalysisResult(String jobId, TranscodingTask.TaskStatus status, Integer probeBitrate,
+                                     String errorMessage) {
+        TranscodingConfig config = pendingAnalysisStore.remove(jobId);
+        TranscodingJob job = jobStore.get(jobId);
+        if (config == null || job == null) {
+            log.warn("대기 중이 아닌 작업의 분석 결과 무시: {}", jobId);
+            return;
+        }
+
+        if (status == TranscodingTask.TaskStatus.COMPLETED && probeBitrate != null && probeBitrate > 0) {
+            applyPerTitleLadder(job, probeBitrate);
+        } else {
+            log.warn("분석 실패, 프리셋 비트레이트로 진행: jobId={}, 오류={}", jobId, errorMessage);
+        }
+
+        startJob(job, config);
+    }
+
+    // 분석 워커가 중단되어 결과가 오지 않는 작업은 제한 시간이 지나면 프리셋 비트레이트로 시작
+    // (작업은 분석 태스크 발행과 함께 생성되므로 생성 시각부터 계산, 늦게 도착한 분석 결과는 무시됨)
+    public int expireAnalyses() {
+        LocalDateTime threshold = LocalDateTime.now().minusSeconds(ladderConfig.getAnalysisTimeoutSeconds());
+        int count = 0;
+        for (String jobId : pendingAnalysisStore.keySet()) {
+            TranscodingJob job = jobStore.get(jobId);
+            if (job != null && job.getCreatedAt().isBefore(threshold)) {
+                updateAnalysisResult(jobId, TranscodingTask.TaskStatus.FAILED, null,
+                        "분석 시간 초과 (" + ladderConfig.getAnalysisTimeoutSeconds() + "초)");
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void applyPerTitleLadder(TranscodingJob job, int probeBitrate) {
+        double scale = (double) probeBitrate / ladderConfig.getReferenceProbeBitrate();
+        scale = Math.max(ladderConfig.getMinScale(), Math.min(ladderConfig.getMaxScale(), scale));
+
+        for (TranscodingTask task : job.getTasks()) {
+            int presetBitrate = task.getTargetBitrate();
+            task.setTargetBitrate(Math.max(1, (int) Math.round(presetBitrate * scale)));
+            log.debug("렌디션 비트레이트 조정: {}x{} {}k -> {}k", task.getTargetWidth(), task.getTargetHeight(),
+                    presetBitrate, task.getTargetBitrate());
+        }
+
+        log.info("타이틀별 래더 적용: jobId={}, 프로브 비트레이트={}k, 배율={}", job.getId(), probeBitrate,
+                String.format("%.2f", scale));
+    }
+
+    // 렌디션을 출력 GOP 경계에 맞춘 시간 구간으로 분할 (분할할 만큼 길지 않으면 null)
+    private List<TranscodingTask> planChunks(TranscodingTask parent, MediaMetadata metadata, Integer requestedChunkCount) {
+        if (metadata == null || metadata.getDuration() == null || metadata.getDuration() <= 0) {
+            return null;
+        }
+
+        // 클립 작업은 요청 구간만 분할
+        double offset = parent.getClipStart() != null ? parent.getClipStart() : 0;
+        double duration = parent.getClipDuration() != null
+                ? Math.min(parent.getClipDuration(), metadata.getDuration() - offset)
+                : metadata.getDuration() - offset;
+        int chunkCount = requestedChunkCount != null && requestedChunkCount > 0
+                ? requestedChunkCount : chunkingConfig.getDefaultChunkCount();
+        chunkCount = Math.min(chunkCount, (int) (duration / chunkingConfig.getMinChunkSeconds()));
+        if (chunkCount < 2) {
+            return null;
+        }
 
-            eventPublisher.publishTranscodingTask(taskEvent)
+        // 청크 길이를 GOP 길이의 배수로 맞춰 병합 결과가 단일 인코딩과 같은 키프레임 간격을 갖도록 함
+        double frameRate = metadata.getFrameRate() != null && metadata.getFrameRate() > 0
+                ? metadata.getFrameRate() : chunkingConfig.getDefaultFrameRate();
+        double gopSeconds = chunkingConfig.getGopSize() / frameRate;
+        double chunkSeconds = Math.ceil(duration / chunkCount / gopSeconds) * gopSeconds;
+
+        List<TranscodingTask> chunks = new ArrayList<>();
+        for (int index = 0; index * chunkSeconds < duration; index++) {
+            double start = index * chunkSeconds;
+            boolean last = (index + 1) * chunkSeconds >= duration;
+            // 마지막 청크는 메타데이터 길이 오차로 잘리지 않도록 끝까지 인코딩 (클립 길이가 지정되면 클립 끝까지)
+            Double chunkDuration = !last ? Double.valueOf(chunkSeconds)
+                    : parent.getClipDuration() != null ? Double.valueOf(duration - start) : null;
+
+            chunks.add(TranscodingTask.builder()
+                    .id(UUID.randomUUID().toString())
+                    .jobId(parent.getJobId())
+                    .taskType(TranscodingTask.TaskType.CHUNK)
+                    .parentTaskId(parent.getId())
+                    .chunkIndex(index)
+                    .chunkStart(offset + start)
+                    .chunkDuration(chunkDuration)
+                    .targetFormat(parent.getTargetFormat())
+                    .targetWidth(parent.getTargetWidth())
+                    .targetHeight(parent.getTargetHeight())
+                    .targetBitrate(parent.getTargetBitrate())
+                    .sourceMetadata(metadata)
+                    .status(TranscodingTask.TaskStatus.PENDING)
+                    .build());
+        }
+        chunks.forEach(chunk -> chunk.setChunkCount(chunks.size()));
+
+        log.info("청크 계획 수립: taskId={}, 청크 수={}, 청크 길이={}초", parent.getId(), chunks.size(),
+                String.format("%.3f", chunkSeconds));
+        return chunks;
+    }
+
+    private void publishChunkTasks(TranscodingTask parent, List<TranscodingTask> chunks) {
+        parent.setStatus(TranscodingTask.TaskStatus.PROCESSING);
+        parent.setStartedAt(LocalDateTime.now());
+
+        chunks.forEach(chunk -> {
+            chunk.setStartedAt(LocalDateTime.now());
+            chunk.setAttemptId(attemptTracker.dispatch(chunk.getId()));
+
+            eventPublisher.publishTranscodingTask(toChunkEvent(chunk))
                     .subscribe(
-                            VoidUnused -> log.debug("트랜스코딩 태스크 이벤트 발행 성공: {}", task.getId()),
-                            error -> log.error("트랜스코딩 태스크 이벤트 발행 실패: {}", task.getId(), error)
+                            VoidUnused -> log.debug("청크 태스크 이벤트 발행 성공: {} ({}/{})",
+                                    parent.getId(), chunk.getChunkIndex() + 1, chunk.getChunkCount()),
+                            error -> log.error("청크 태스크 이벤트 발행 실패: {}", chunk.getId(), error)
                     );
         });
     }
 
+    private TranscodingTaskEvent toChunkEvent(TranscodingTask chunk) {
+        return TranscodingTaskEvent.builder()
+                .taskId(chunk.getId())
+                .jobId(chunk.getJobId())
+                .taskType(TranscodingTask.TaskType.CHUNK)
+                .parentTaskId(chunk.getParentTaskId())
+                .chunkIndex(chunk.getChunkIndex())
+                .chunkCount(chunk.getChunkCount())
+                .chunkStart(chunk.getChunkStart())
+                .chunkDuration(chunk.getChunkDuration())
+                .targetFormat(chunk.getTargetFormat())
+                .targetWidth(chunk.getTargetWidth())
+                .targetHeight(chunk.getTargetHeight())
+                .targetBitrate(chunk.getTargetBitrate())
+                .sourceMetadata(chunk.getSourceMetadata())
+                .attemptId(chunk.getAttemptId())
+                .build();
+    }
+
+    // 예상 처리 시간을 크게 넘긴 태스크를 다른 워커에서 한 번 더 실행 (먼저 끝난 결과를 사용하고 나머지 시도는 중단)
+    public int speculateStragglers() {
+        if (!speculationConfig.isEnabled()) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int count = 0;
+        for (TranscodingJob job : jobStore.values()) {
+            if (job.getStatus() != TranscodingJob.JobStatus.PROCESSING) {
+                continue;
+            }
+            for (TranscodingTask task : job.getTasks()) {
+                // 청크 모드 렌디션은 청크 단위로 판단
+                List<TranscodingTask> chunks = subTaskStore.get(task.getId());
+                List<TranscodingTask> candidates;
+                if (chunks != null) {
+                    synchronized (chunks) {
+                        candidates = new ArrayList<>(chunks);
+                    }
+                } else {
+                    candidates = List.of(task);
+                }
+
+                for (TranscodingTask candidate : candidates) {
+                    if (isStraggler(candidate, now)) {
+                        publishSpeculativeAttempt(candidate);
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    private boolean isStraggler(TranscodingTask task, LocalDateTime now) {
+        // 결과를 기다리는 중이고 아직 추측 실행하지 않은 태스크만 (라이브 태스크는 끝이 없으므로 제외)
+        if (task.getStatus() != TranscodingTask.TaskStatus.PENDING || task.getAttemptId() == null
+                || Boolean.TRUE.equals(task.getLiveInput()) || attemptTracker.getAttemptCount(task.getId()) != 1) {
+            return false;
+        }
+        // 워커 대기열에서 기다리는 시간은 처리 시간이 아니므로 워커가 시작을 보고한 뒤부터 계산
+        LocalDateTime startedAt = attemptTracker.getStartedAt(task.getId(), task.getAttemptId());
+        if (startedAt == null) {
+            return false;
+        }
+
+        Double predicted = runtimeEstimator.predictSeconds(task);
+        if (predicted == null) {
+            return false;
+        }
+        long elapsed = Duration.between(startedAt, now).getSeconds();
+        return elapsed >= speculationConfig.getMinElapsedSeconds()
+                && elapsed > predicted * speculationConfig.getSlowdownFactor();
+    }
+
+    private void publishSpeculativeAttempt(TranscodingTask task) {
+        TranscodingTaskEvent taskEvent = task.getTaskType() == TranscodingTask.TaskType.CHUNK
+                ? toChunkEvent(task) : toTaskEvent(task);
+        taskEvent.setAttemptId(attemptTracker.dispatch(task.getId()));
+
+        log.warn("지연 태스크 추측 실행: taskId={}, 경과={}초, 예상={}초", task.getId(),
+                Duration.between(attemptTracker.getStartedAt(task.getId(), task.getAttemptId()),
+                        LocalDateTime.now()).getSeconds(),
+                String.format("%.0f", runtimeEstimator.predictSeconds(task)));
+
+        eventPublisher.publishTranscodingTask(taskEvent)
+                .subscribe(
+                        VoidUnused -> log.debug("추측 실행 태스크 이벤트 발행 성공: {}", task.getId()),
+                        error -> log.error("추측 실행 태스크 이벤트 발행 실패: {}", task.getId(), error)
+                );
+    }
+
+    // 워커가 실행 슬롯을 받아 태스크 처리를 시작했다는 보고 (지연 태스크 판단과 처리 시간 기록의 기준)
+    public void markAttemptStarted(String taskId, String attemptId, LocalDateTime startedAt) {
+        if (!attemptTracker.start(taskId, attemptId, startedAt)) {
+            log.debug("결과를 기다리지 않는 시도의 시작 보고 무시: taskId={}, attemptId={}", taskId, attemptId);
+        }
+    }
+
+    // 실행 시도별 결과를 정리하여 태스크에 반영할 결과면 true
+    private boolean acceptAttemptResult(TranscodingTask task, TranscodingTask.TaskStatus status, String attemptId) {
+        // 시도 ID가 없는 결과(병합 등)는 그대로 반영
+        if (attemptId == null) {
+            return true;
+        }
+        // 먼저 끝난 시도의 결과를 사용하고 늦게 도착한 결과는 무시
+        if (task.getStatus() == TranscodingTask.TaskStatus.COMPLETED
+                || task.getStatus() == TranscodingTask.TaskStatus.FAILED) {
+            log.debug("이미 결과가 반영된 태스크의 시도 결과 무시: taskId={}, attemptId={}", task.getId(), attemptId);
+            return false;
+        }
+
+        if (status == TranscodingTask.TaskStatus.FAILED) {
+            if (attemptTracker.failAttempt(task.getId(), attemptId)) {
+                log.warn("실행 시도 실패, 남은 시도 결과 대기: taskId={}, attemptId={}", task.getId(), attemptId);
+                return false;
+            }
+            return true;
+        }
+
+        if (status == TranscodingTask.TaskStatus.COMPLETED) {
+            LocalDateTime attemptStartedAt = attemptTracker.getStartedAt(task.getId(), attemptId);
+            if (attemptStartedAt != null) {
+                runtimeEstimator.record(task, Duration.between(attemptStartedAt, LocalDateTime.now()).toMillis() / 1000.0);
+            }
+            List<String> losers = attemptTracker.complete(task.getId(), attemptId);
+            if (!losers.isEmpty()) {
+                publishAbortAttempts(task, losers);
+            }
+        }
+        return true;
+    }
+
+    private void publishAbortAttempts(TranscodingTask task, List<String> attemptIds) {
+        TaskControlEvent controlEvent = TaskControlEvent.builder()
+                .taskId(task.getId())
+                .jobId(task.getJobId())
+                .action(TaskControlEvent.Action.ABORT_ATTEMPTS)
+                .attemptIds(attemptIds)
+                .reason("다른 실행 시도가 먼저 완료됨")
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        log.info("남은 실행 시도 중단 요청: taskId={}, 시도 수={}", task.getId(), attemptIds.size());
+        eventPublisher.publishTaskControl(controlEvent)
+                .subscribe(
+                        VoidUnused -> log.debug("태스크 제어 이벤트 발행 성공: {}", task.getId()),
+                        error -> log.error("태스크 제어 이벤트 발행 실패: {}", task.getId(), error)
+                );
+    }
+
+    public void updateSubTaskStatus(String parentTaskId, String subTaskId, TranscodingTask.TaskStatus status,
+                                    String outputPath, String errorMessage) {
+        updateSubTaskStatus(parentTaskId, subTaskId, status, outputPath, errorMessage, null);
+    }
+
+    // 청크 서브태스크 결과 처리 (모든 청크가 완료되면 병합 태스크 발행)
+    public void updateSubTaskStatus(String parentTaskId, String subTaskId, TranscodingTask.TaskStatus status,
+                                    String outputPath, String errorMessage, String attemptId) {
+        List<TranscodingTask> chunks = subTaskStore.get(parentTaskId);
+        if (chunks == null) {
+            log.warn("알 수 없는 청크 결과 무시: parentTaskId={}, taskId={}", parentTaskId, subTaskId);
+            return;
+        }
+
+        synchronized (chunks) {
+            Optional<TranscodingTask> found = chunks.stream()
+                    .filter(chunk -> chunk.getId().equals(subTaskId))
+                    .findFirst();
+            // 중복 전달된 결과는 무시
+            if (found.isEmpty() || found.get().getStatus() == TranscodingTask.TaskStatus.COMPLETED
+                    || found.get().getStatus() == TranscodingTask.TaskStatus.FAILED) {
+                return;
+            }
+
+            TranscodingTask chunk = found.get();
+            if (!acceptAttemptResult(chunk, status, attemptId)) {
+                return;
+            }
+            chunk.setStatus(status);
+            chunk.setCompletedAt(LocalDateTime.now());
+
+            if (status == TranscodingTask.TaskStatus.FAILED) {
+                chunk.setErrorMessage(errorMessage);
+                updateTaskStatus(parentTaskId, TranscodingTask.TaskStatus.FAILED, null,
+                        "청크 " + chunk.getChunkIndex() + " 실패: " + errorMessage);
+                return;
+            }
+
+            chunk.setOutputPath(outputPath);
+            long completed = chunks.stream()
+                    .filter(c -> c.getStatus() == TranscodingTask.TaskStatus.COMPLETED)
+                    .count();
+            log.info("청크 완료: parentTaskId={} ({}/{})", parentTaskId, completed, chunks.size());
+
+            if (completed == chunks.size()) {
+                findTask(parentTaskId).ifPresent(parent -> publishConcatTask(parent, chunks));
+            }
+        }
+    }
+
+    private void publishConcatTask(TranscodingTask parent, List<TranscodingTask> chunks) {
+        List<String> chunkPaths = chunks.stream()
+                .sorted(Comparator.comparing(TranscodingTask::getChunkIndex))
+                .map(TranscodingTask::getOutputPath)
+                .collect(Collectors.toList());
+
+        // 병합 결과는 렌디션 태스크 ID로 보고되어 일반 태스크와 동일하게 처리됨
+        TranscodingTaskEvent taskEvent = TranscodingTaskEvent.builder()
+                .taskId(parent.getId())
+                .jobId(parent.getJobId())
+                .taskType(TranscodingTask.TaskType.CONCAT)
+                .chunkCount(chunkPaths.size())
+                .chunkPaths(chunkPaths)
+                .sourceMetadata(parent.getSourceMetadata())
+                .packaging(parent.getPackaging())
+                .clipStart(parent.getClipStart())
+                .clipDuration(parent.getClipDuration())
+                .targetFormat(parent.getTargetFormat())
+                .targetWidth(parent.getTargetWidth())
+                .targetHeight(parent.getTargetHeight())
+                .targetBitrate(parent.getTargetBitrate())
+                .build();
+
+        eventPublisher.publishTranscodingTask(taskEvent)
+                .subscribe(
+                        VoidUnused -> log.debug("청크 병합 태스크 이벤트 발행 성공: {}", parent.getId()),
+                        error -> log.error("청크 병합 태스크 이벤트 발행 실패: {}", parent.getId(), error)
+                );
+    }
+
+    public List<TranscodingTask> getSubTasks(String parentTaskId) {
+        return subTaskStore.getOrDefault(parentTaskId, List.of());
+    }
+
+    private Optional<TranscodingTask> findTask(String taskId) {
+        return jobStore.values().stream()
+                .flatMap(job -> job.getTasks().stream())
+                .filter(task -> task.getId().equals(taskId))
+                .findFirst();
+    }
+
+    public void updateTaskArtifacts(String taskId, List<String> artifactPaths) {
+        findTask(taskId).ifPresent(task -> {
+            task.setArtifactPaths(artifactPaths);
+            log.info("부가 출력 기록: taskId={}, 파일 수={}", taskId, artifactPaths.size());
+        });
+    }
+
     public void updateTaskStoragePath(String taskId, String storagePath, String contentType) {
         // 태스크 ID로 해당 작업 찾기
         jobStore.values().stream()
@@ -184,14 +826,26 @@ public class TranscodingServiceImpl implements TranscodingService {
                 });
     }
 
-    // 트랜스코딩 작업 결과 처리를 위한 메서드 (이벤트 리스너에서 호출)
     public void updateTaskStatus(String taskId, TranscodingTask.TaskStatus status, String outputPath, String errorMessage) {
+        updateTaskStatus(taskId, status, outputPath, errorMessage, null);
+    }
+
+    // 트랜스코딩 작업 결과 처리를 위한 메서드 (이벤트 리스너에서 호출)
+    public void updateTaskStatus(String taskId, TranscodingTask.TaskStatus status, String outputPath, String errorMessage,
+                                 String attemptId) {
         // 태스크 ID로 해당 작업 찾기
         jobStore.values().stream()
                 .flatMap(job -> job.getTasks().stream())
                 .filter(task -> task.getId().equals(taskId))
                 .findFirst()
                 .ifPresent(task -> {
+                    if (cancelledJobIds.contains(task.getJobId())) {
+                        log.debug("취소된 작업의 태스크 결과 무시: taskId={}", taskId);
+                        return;
+                    }
+                    if (!acceptAttemptResult(task, status, attemptId)) {
+                        return;
+                    }
                     task.setStatus(status);
                     task.setCompletedAt(LocalDateTime.now());
 
@@ -210,6 +864,11 @@ public class TranscodingServiceImpl implements TranscodingService {
     }
 
     private synchronized void updateJobStatus(TranscodingJob job) {
+        // 취소된 작업은 취소 상태를 유지
+        if (cancelledJobIds.contains(job.getId())) {
+            return;
+        }
+
         // 모든 태스크 상태 확인
         boolean allCompleted = job.getTasks().stream()
                 .allMatch(task -> task.getStatus() == TranscodingTask.TaskStatus.COMPLETED);
@@ -235,6 +894,12 @@ public class TranscodingServiceImpl implements TranscodingService {
 
         jobStore.put(job.getId(), job);
 
+        // 세그먼트 패키징 작업은 모든 렌디션이 완료되면 마스터 플레이리스트 생성
+        if (oldStatus != TranscodingJob.JobStatus.COMPLETED && job.getStatus() == TranscodingJob.JobStatus.COMPLETED
+                && !job.getTasks().isEmpty() && job.getTasks().get(0).getPackaging() == TranscodingConfig.PackagingFormat.CMAF_HLS) {
+            publishMasterPlaylistTask(job);
+        }
+
         // 작업 상태가 변경된 경우에만 이벤트 발행
         if (oldStatus != job.getStatus()) {
             TranscodingJobEvent updateEvent = TranscodingJobEvent.builder()
@@ -247,4 +912,49 @@ public class TranscodingServiceImpl implements TranscodingService {
             eventPublisher.publishJobUpdated(updateEvent).subscribe();
         }
     }
-}
\ No newline at end of file
+
+    private void publishMasterPlaylistTask(TranscodingJob job) {
+        List<TranscodingTask.RenditionPlaylist> playlists = job.getTasks().stream()
+                .map(task -> TranscodingTask.RenditionPlaylist.builder()
+                        .playlistPath(task.getOutputPath() != null ? task.getOutputPath() : expectedPlaylistPath(task))
+                        .width(task.getTargetWidth())
+                        .height(task.getTargetHeight())
+                        .bitrate(task.getTargetBitrate())
+                        .build())
+                .collect(Collectors.toList());
+
+        TranscodingTaskEvent taskEvent = TranscodingTaskEvent.builder()
+                .taskId(job.getId() + "-master")
+                .jobId(job.getId())
+                .taskType(TranscodingTask.TaskType.PACKAGE_MASTER)
+                .packaging(TranscodingConfig.PackagingFormat.CMAF_HLS)
+                .renditionPlaylists(playlists)
+                .build();
+
+        eventPublisher.publishTranscodingTask(taskEvent)
+                .subscribe(
+                        VoidUnused -> log.debug("마스터 플레이리스트 태스크 이벤트 발행 성공: {}", job.getId()),
+                        error -> log.error("마스터 플레이리스트 태스크 이벤트 발행 실패: {}", job.getId(), error)
+                );
+    }
+
+    // 아직 완료되지 않은 렌디션의 플레이리스트 경로 (워커의 렌디션 출력 경로 규칙과 동일)
+    private String expectedPlaylistPath(TranscodingTask task) {
+        return task.getJobId() + "/" + task.getTargetWidth() + "x" + task.getTargetHeight() + "/index.m3u8";
+    }
+
+    public void updateMasterPlaylist(String jobId, TranscodingTask.TaskStatus status, String outputPath, String errorMessage) {
+        TranscodingJob job = jobStore.get(jobId);
+        if (job == null) {
+            log.warn("알 수 없는 작업의 마스터 플레이리스트 결과 무시: {}", jobId);
+            return;
+        }
+
+        if (status == TranscodingTask.TaskStatus.COMPLETED) {
+            job.setMasterPlaylistPath(outputPath);
+            log.info("마스터 플레이리스트 생성 완료: jobId={}, 경로={}", jobId, outputPath);
+        } else {
+            log.error("마스터 플레이리스트 생성 실패: jobId={}, 오류={}", jobId, errorMessage);
+        }
+    }
+}
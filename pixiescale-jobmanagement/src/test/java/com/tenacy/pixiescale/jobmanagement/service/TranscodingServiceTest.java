@@ -4,12 +4,21 @@ import com.tenacy.pixiescale.common.domain.MediaFile;
 import com.tenacy.pixiescale.common.domain.MediaMetadata;
 import com.tenacy.pixiescale.common.domain.TranscodingConfig;
 import com.tenacy.pixiescale.common.domain.TranscodingJob;
+import com.tenacy.pixiescale.common.event.TaskControlEvent;
+import com.tenacy.pixiescale.common.event.TranscodingTaskEvent;
+import com.tenacy.pixiescale.common.domain.TranscodingTask;
 import com.tenacy.pixiescale.jobmanagement.api.dto.TranscodingJobRequest;
+import com.tenacy.pixiescale.jobmanagement.config.ChunkingConfig;
+import com.tenacy.pixiescale.jobmanagement.config.LadderConfig;
+import com.tenacy.pixiescale.jobmanagement.config.SpeculationConfig;
 import com.tenacy.pixiescale.jobmanagement.event.MediaEventListener;
+import com.tenacy.pixiescale.jobmanagement.service.impl.TaskAttemptTracker;
+import com.tenacy.pixiescale.jobmanagement.service.impl.TaskRuntimeEstimator;
 import com.tenacy.pixiescale.jobmanagement.service.impl.TranscodingServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
@@ -23,9 +32,15 @@ import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -45,6 +60,7 @@ public class TranscodingServiceTest {
         lenient().when(eventPublisher.publishJobCreated(any())).thenReturn(Mono.empty());
         lenient().when(eventPublisher.publishJobUpdated(any())).thenReturn(Mono.empty());
         lenient().when(eventPublisher.publishTranscodingTask(any())).thenReturn(Mono.empty());
+        lenient().when(eventPublisher.publishTaskControl(any())).thenReturn(Mono.empty());
 
         // 미디어 정보 모킹
         MediaMetadata metadata = MediaMetadata.builder()
@@ -70,7 +86,10 @@ public class TranscodingServiceTest {
         lenient().when(mediaEventListener.getMediaInfo("test-media-id")).thenReturn(mediaFile);
 
         // 서비스 생성
-        transcodingService = new TranscodingServiceImpl(eventPublisher, mediaEventListener);
+        SpeculationConfig speculationConfig = new SpeculationConfig();
+        transcodingService = new TranscodingServiceImpl(eventPublisher, mediaEventListener, new ChunkingConfig(),
+                new LadderConfig(), speculationConfig, new TaskRuntimeEstimator(speculationConfig),
+                new TaskAttemptTracker());
     }
 
     @Test
@@ -122,6 +141,529 @@ public class TranscodingServiceTest {
                 .verifyComplete();
     }
 
+    @Test
+    void createJobInSingleDecodeModeShouldPublishOneTaskWithAllRenditions() {
+        // Arrange
+        TranscodingConfig config = TranscodingConfig.builder()
+                .targetCodec("H.264")
+                .targetFormat("MP4")
+                .executionMode(TranscodingConfig.ExecutionMode.SINGLE_DECODE)
+                .resolutions(Arrays.asList(
+                        TranscodingConfig.ResolutionPreset.builder().name("720p").width(1280).height(720).bitrate(2500).build(),
+                        TranscodingConfig.ResolutionPreset.builder().name("480p").width(854).height(480).bitrate(1500).build()
+                ))
+                .build();
+
+        TranscodingJobRequest request = TranscodingJobRequest.builder()
+                .mediaFileId("test-media-id")
+                .config(config)
+                .build();
+
+        // Act
+        TranscodingJob job = transcodingService.createJob(request).block();
+
+        // Assert - 렌디션 수와 관계없이 태스크 이벤트는 하나만 발행
+        ArgumentCaptor<TranscodingTaskEvent> captor = ArgumentCaptor.forClass(TranscodingTaskEvent.class);
+        verify(eventPublisher, times(1)).publishTranscodingTask(captor.capture());
+
+        TranscodingTaskEvent event = captor.getValue();
+        assertNotNull(job);
+        assertEquals(job.getId(), event.getJobId());
+        assertEquals(2, event.getRenditions().size());
+        assertEquals(job.getTasks().get(0).getId(), event.getRenditions().get(0).getTaskId());
+        assertEquals(854, event.getRenditions().get(1).getTargetWidth());
+    }
+
+    @Test
+    void createJobInSingleDecodeModeShouldPublishThumbnailRenditionSeparately() {
+        // Arrange
+        TranscodingConfig config = TranscodingConfig.builder()
+                .targetCodec("H.264")
+                .targetFormat("MP4")
+                .executionMode(TranscodingConfig.ExecutionMode.SINGLE_DECODE)
+                .thumbnails(true)
+                .resolutions(Arrays.asList(
+                        TranscodingConfig.ResolutionPreset.builder().name("1080p").width(1920).height(1080).bitrate(5000).build(),
+                        TranscodingConfig.ResolutionPreset.builder().name("720p").width(1280).height(720).bitrate(2500).build(),
+                        TranscodingConfig.ResolutionPreset.builder().name("480p").width(854).height(480).bitrate(1500).build()
+                ))
+                .build();
+
+        TranscodingJobRequest request = TranscodingJobRequest.builder()
+                .mediaFileId("test-media-id")
+                .config(config)
+                .build();
+
+        // Act
+        transcodingService.createJob(request).block();
+
+        // Assert - 썸네일을 맡은 480p는 개별 태스크로, 나머지는 단일 디코딩 묶음으로 발행
+        ArgumentCaptor<TranscodingTaskEvent> captor = ArgumentCaptor.forClass(TranscodingTaskEvent.class);
+        verify(eventPublisher, times(2)).publishTranscodingTask(captor.capture());
+
+        TranscodingTaskEvent thumbnailEvent = captor.getAllValues().get(0);
+        assertNull(thumbnailEvent.getRenditions());
+        assertEquals(480, thumbnailEvent.getTargetHeight());
+        assertEquals(Boolean.TRUE, thumbnailEvent.getGenerateThumbnails());
+
+        TranscodingTaskEvent groupEvent = captor.getAllValues().get(1);
+        assertEquals(2, groupEvent.getRenditions().size());
+        assertTrue(groupEvent.getRenditions().stream().allMatch(rendition -> rendition.getAttemptId() != null));
+    }
+
+    @Test
+    void createJobInChunkedModeShouldSplitOnGopBoundariesAndConcatWhenAllChunksComplete() {
+        // Arrange
+        TranscodingConfig config = TranscodingConfig.builder()
+                .targetCodec("H.264")
+                .targetFormat("MP4")
+                .executionMode(TranscodingConfig.ExecutionMode.CHUNKED)
+                .chunkCount(4)
+                .resolutions(List.of(
+                        TranscodingConfig.ResolutionPreset.builder().name("720p").width(1280).height(720).bitrate(2500).build()
+                ))
+                .build();
+
+        TranscodingJobRequest request = TranscodingJobRequest.builder()
+                .mediaFileId("test-media-id")
+                .config(config)
+                .build();
+
+        // Act
+        TranscodingJob job = transcodingService.createJob(request).block();
+
+        // Assert - 120초 원본을 GOP(48프레임 @30fps = 1.6초) 배수 길이의 청크 4개로 분할
+        ArgumentCaptor<TranscodingTaskEvent> captor = ArgumentCaptor.forClass(TranscodingTaskEvent.class);
+        verify(eventPublisher, times(4)).publishTranscodingTask(captor.capture());
+
+        List<TranscodingTaskEvent> chunkEvents = captor.getAllValues();
+        String parentTaskId = job.getTasks().get(0).getId();
+        for (int i = 0; i < chunkEvents.size(); i++) {
+            TranscodingTaskEvent event = chunkEvents.get(i);
+            assertEquals(TranscodingTask.TaskType.CHUNK, event.getTaskType());
+            assertEquals(parentTaskId, event.getParentTaskId());
+            assertEquals(i, event.getChunkIndex());
+            assertEquals(i * 30.4, event.getChunkStart(), 1e-9);
+            // 워커가 원본 길이와 스트림 번호를 알 수 있도록 원본 메타데이터 전달
+            assertNotNull(event.getSourceMetadata());
+            assertEquals(120.0, event.getSourceMetadata().getDuration());
+        }
+        assertEquals(30.4, chunkEvents.get(0).getChunkDuration(), 1e-9);
+        assertNull(chunkEvents.get(3).getChunkDuration());
+
+        // 청크 결과를 역순으로 보고해도 병합 순서는 인덱스 순
+        TranscodingServiceImpl service = (TranscodingServiceImpl) transcodingService;
+        for (int i = chunkEvents.size() - 1; i >= 0; i--) {
+            TranscodingTaskEvent event = chunkEvents.get(i);
+            service.updateSubTaskStatus(parentTaskId, event.getTaskId(), TranscodingTask.TaskStatus.COMPLETED,
+                    "chunk-" + i + ".mp4", null);
+        }
+        // 중복 결과는 병합을 다시 발행하지 않음
+        service.updateSubTaskStatus(parentTaskId, chunkEvents.get(0).getTaskId(),
+                TranscodingTask.TaskStatus.COMPLETED, "chunk-0.mp4", null);
+
+        verify(eventPublisher, times(5)).publishTranscodingTask(captor.capture());
+        TranscodingTaskEvent concatEvent = captor.getValue();
+        assertEquals(TranscodingTask.TaskType.CONCAT, concatEvent.getTaskType());
+        assertEquals(parentTaskId, concatEvent.getTaskId());
+        assertEquals(List.of("chunk-0.mp4", "chunk-1.mp4", "chunk-2.mp4", "chunk-3.mp4"), concatEvent.getChunkPaths());
+    }
+
+    @Test
+    void createChunkedJobWithThumbnailsShouldEncodeThumbnailRenditionWhole() {
+        // Arrange
+        TranscodingConfig config = TranscodingConfig.builder()
+                .targetCodec("H.264")
+                .targetFormat("MP4")
+                .executionMode(TranscodingConfig.ExecutionMode.CHUNKED)
+                .chunkCount(4)
+                .thumbnails(true)
+                .resolutions(List.of(
+                        TranscodingConfig.ResolutionPreset.builder().name("720p").width(1280).height(720).bitrate(2500).build(),
+                        TranscodingConfig.ResolutionPreset.builder().name("360p").width(640).height(360).bitrate(800).build()
+                ))
+                .build();
+
+        TranscodingJobRequest request = TranscodingJobRequest.builder()
+                .mediaFileId("test-media-id")
+                .config(config)
+                .build();
+
+        // Act
+        TranscodingJob job = transcodingService.createJob(request).block();
+
+        // Assert - 720p는 청크 4개, 썸네일을 맡은 360p는 분할하지 않고 썸네일과 함께 한 번에 인코딩
+        ArgumentCaptor<TranscodingTaskEvent> captor = ArgumentCaptor.forClass(TranscodingTaskEvent.class);
+        verify(eventPublisher, times(5)).publishTranscodingTask(captor.capture());
+
+        TranscodingTask thumbnailTask = job.getTasks().stream()
+                .filter(task -> Boolean.TRUE.equals(task.getGenerateThumbnails()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(360, thumbnailTask.getTargetHeight());
+        List<TranscodingTaskEvent> thumbnailEvents = captor.getAllValues().stream()
+                .filter(event -> thumbnailTask.getId().equals(event.getTaskId()))
+                .toList();
+        assertEquals(1, thumbnailEvents.size());
+        assertNull(thumbnailEvents.get(0).getTaskType());
+        assertEquals(Boolean.TRUE, thumbnailEvents.get(0).getGenerateThumbnails());
+        TranscodingServiceImpl service = (TranscodingServiceImpl) transcodingService;
+        assertTrue(service.getSubTasks(thumbnailTask.getId()).isEmpty());
+        assertEquals(4, captor.getAllValues().stream()
+                .filter(event -> event.getTaskType() == TranscodingTask.TaskType.CHUNK)
+                .count());
+    }
+
+    @Test
+    void createChunkedClipJobShouldSplitOnlyRequestedRange() {
+        // Arrange - 120초 원본 중 30초부터 70초 구간
+        TranscodingConfig config = TranscodingConfig.builder()
+                .targetCodec("H.264")
+                .targetFormat("MP4")
+                .executionMode(TranscodingConfig.ExecutionMode.CHUNKED)
+                .chunkCount(2)
+                .resolutions(List.of(
+                        TranscodingConfig.ResolutionPreset.builder().name("720p").width(1280).height(720).bitrate(2500).build()
+                ))
+                .build();
+
+        TranscodingJobRequest request = TranscodingJobRequest.builder()
+                .mediaFileId("test-media-id")
+                .config(config)
+                .clipStart(30.0)
+                .clipDuration(70.0)
+                .build();
+
+        // Act
+        transcodingService.createJob(request).block();
+
+        // Assert - 청크는 클립 시작 기준으로 배치되고 마지막 청크는 클립 끝에서 종료
+        ArgumentCaptor<TranscodingTaskEvent> captor = ArgumentCaptor.forClass(TranscodingTaskEvent.class);
+        verify(eventPublisher, times(2)).publishTranscodingTask(captor.capture());
+
+        List<TranscodingTaskEvent> chunkEvents = captor.getAllValues();
+        assertEquals(30.0, chunkEvents.get(0).getChunkStart(), 1e-9);
+        assertEquals(35.2, chunkEvents.get(0).getChunkDuration(), 1e-9);
+        assertEquals(65.2, chunkEvents.get(1).getChunkStart(), 1e-9);
+        assertEquals(34.8, chunkEvents.get(1).getChunkDuration(), 1e-9);
+    }
+
+    @Test
+    void createJobShouldRejectClipStartBeyondSourceDuration() {
+        // Arrange
+        TranscodingConfig config = TranscodingConfig.builder()
+                .targetCodec("H.264")
+                .targetFormat("MP4")
+                .resolutions(List.of(
+                        TranscodingConfig.ResolutionPreset.builder().name("720p").width(1280).height(720).bitrate(2500).build()
+                ))
+                .build();
+
+        TranscodingJobRequest request = TranscodingJobRequest.builder()
+                .mediaFileId("test-media-id")
+                .config(config)
+                .clipStart(150.0)
+                .build();
+
+        // Act & Assert
+        StepVerifier.create(transcodingService.createJob(request))
+                .expectError(RuntimeException.class)
+                .verify();
+        verify(eventPublisher, times(0)).publishTranscodingTask(any());
+    }
+
+    @Test
+    void createJobShouldDropRungsAboveSourceResolution() {
+        // Arrange - 원본은 1920x1080
+        TranscodingConfig config = TranscodingConfig.builder()
+                .targetCodec("H.264")
+                .targetFormat("MP4")
+                .resolutions(Arrays.asList(
+                        TranscodingConfig.ResolutionPreset.builder().name("2160p").width(3840).height(2160).bitrate(16000).build(),
+                        TranscodingConfig.ResolutionPreset.builder().name("1080p").width(1920).height(1080).bitrate(5000).build(),
+                        TranscodingConfig.ResolutionPreset.builder().name("720p").width(1280).height(720).bitrate(2500).build()
+                ))
+                .build();
+
+        TranscodingJobRequest request = TranscodingJobRequest.builder()
+                .mediaFileId("test-media-id")
+                .config(config)
+                .build();
+
+        // Act
+        TranscodingJob job = transcodingService.createJob(request).block();
+
+        // Assert
+        assertNotNull(job);
+        assertEquals(2, job.getTasks().size());
+        assertEquals(1920, job.getTasks().get(0).getTargetWidth());
+        assertEquals(1280, job.getTasks().get(1).getTargetWidth());
+    }
+
+    @Test
+    void createJobWithPerTitleLadderShouldAnalyzeFirstAndScaleBitrates() {
+        // Arrange
+        TranscodingConfig config = TranscodingConfig.builder()
+                .targetCodec("H.264")
+                .targetFormat("MP4")
+                .perTitleLadder(true)
+                .resolutions(Arrays.asList(
+                        TranscodingConfig.ResolutionPreset.builder().name("720p").width(1280).height(720).bitrate(2500).build(),
+                        TranscodingConfig.ResolutionPreset.builder().name("480p").width(854).height(480).bitrate(1500).build()
+                ))
+                .build();
+
+        TranscodingJobRequest request = TranscodingJobRequest.builder()
+                .mediaFileId("test-media-id")
+                .config(config)
+                .build();
+
+        // Act - 분석 태스크만 발행되고 작업은 대기
+        TranscodingJob job = transcodingService.createJob(request).block();
+
+        ArgumentCaptor<TranscodingTaskEvent> captor = ArgumentCaptor.forClass(TranscodingTaskEvent.class);
+        verify(eventPublisher, times(1)).publishTranscodingTask(captor.capture());
+        assertEquals(TranscodingTask.TaskType.ANALYZE, captor.getValue().getTaskType());
+        assertEquals(TranscodingJob.JobStatus.PENDING, job.getStatus());
+
+        // 단순한 콘텐츠: 기준(1200k)의 절반 비트레이트로 프로브 인코딩됨
+        TranscodingServiceImpl service = (TranscodingServiceImpl) transcodingService;
+        service.updateAnalysisResult(job.getId(), TranscodingTask.TaskStatus.COMPLETED, 600, null);
+        // 중복 결과는 무시
+        service.updateAnalysisResult(job.getId(), TranscodingTask.TaskStatus.COMPLETED, 600, null);
+
+        // Assert - 프리셋의 절반으로 조정된 렌디션 태스크 발행
+        verify(eventPublisher, times(3)).publishTranscodingTask(captor.capture());
+        List<TranscodingTaskEvent> events = captor.getAllValues();
+        assertEquals(1250, events.get(events.size() - 2).getTargetBitrate());
+        assertEquals(750, events.get(events.size() - 1).getTargetBitrate());
+        assertEquals(TranscodingJob.JobStatus.PROCESSING, job.getStatus());
+    }
+
+    @Test
+    void perTitleAnalysisPastDeadlineShouldStartJobWithPresetBitrates() {
+        // Arrange
+        TranscodingConfig config = TranscodingConfig.builder()
+                .targetCodec("H.264")
+                .targetFormat("MP4")
+                .perTitleLadder(true)
+                .resolutions(Arrays.asList(
+                        TranscodingConfig.ResolutionPreset.builder().name("720p").width(1280).height(720).bitrate(2500).build(),
+                        TranscodingConfig.ResolutionPreset.builder().name("480p").width(854).height(480).bitrate(1500).build()
+                ))
+                .build();
+
+        TranscodingJobRequest request = TranscodingJobRequest.builder()
+                .mediaFileId("test-media-id")
+                .config(config)
+                .build();
+
+        TranscodingJob job = transcodingService.createJob(request).block();
+        TranscodingServiceImpl service = (TranscodingServiceImpl) transcodingService;
+
+        // 제한 시간(기본 300초) 전에는 계속 분석 결과를 기다림
+        assertEquals(0, service.expireAnalyses());
+        assertEquals(TranscodingJob.JobStatus.PENDING, job.getStatus());
+
+        // Act - 분석 워커가 응답하지 않은 채 제한 시간이 지남
+        job.setCreatedAt(LocalDateTime.now().minusSeconds(301));
+        int expired = service.expireAnalyses();
+        // 늦게 도착한 분석 결과는 무시
+        service.updateAnalysisResult(job.getId(), TranscodingTask.TaskStatus.COMPLETED, 600, null);
+
+        // Assert - 프리셋 비트레이트 그대로 렌디션 태스크 발행
+        assertEquals(1, expired);
+        ArgumentCaptor<TranscodingTaskEvent> captor = ArgumentCaptor.forClass(TranscodingTaskEvent.class);
+        verify(eventPublisher, times(3)).publishTranscodingTask(captor.capture());
+        List<TranscodingTaskEvent> events = captor.getAllValues();
+        assertEquals(2500, events.get(1).getTargetBitrate());
+        assertEquals(1500, events.get(2).getTargetBitrate());
+        assertEquals(TranscodingJob.JobStatus.PROCESSING, job.getStatus());
+        assertEquals(0, service.expireAnalyses());
+    }
+
+    @Test
+    void completingHlsJobShouldPublishMasterPlaylistTaskOnce() {
+        // Arrange
+        TranscodingConfig config = TranscodingConfig.builder()
+                .targetCodec("H.264")
+                .targetFormat("MP4")
+                .packaging(TranscodingConfig.PackagingFormat.CMAF_HLS)
+                .resolutions(Arrays.asList(
+                        TranscodingConfig.ResolutionPreset.builder().name("720p").width(1280).height(720).bitrate(2500).build(),
+                        TranscodingConfig.ResolutionPreset.builder().name("480p").width(854).height(480).bitrate(1500).build()
+                ))
+                .build();
+
+        TranscodingJobRequest request = TranscodingJobRequest.builder()
+                .mediaFileId("test-media-id")
+                .config(config)
+                .build();
+
+        TranscodingJob job = transcodingService.createJob(request).block();
+        TranscodingServiceImpl service = (TranscodingServiceImpl) transcodingService;
+
+        // Act - 모든 렌디션 완료 후 저장 결과까지 수신
+        job.getTasks().forEach(task -> service.updateTaskStatus(task.getId(), TranscodingTask.TaskStatus.COMPLETED,
+                job.getId() + "/" + task.getTargetWidth() + "x" + task.getTargetHeight() + "/index.m3u8", null));
+        job.getTasks().forEach(task -> service.updateTaskStoragePath(task.getId(), task.getOutputPath(),
+                "application/x-mpegURL"));
+
+        // Assert - 렌디션 태스크 2개 + 마스터 플레이리스트 태스크 1개
+        ArgumentCaptor<TranscodingTaskEvent> captor = ArgumentCaptor.forClass(TranscodingTaskEvent.class);
+        verify(eventPublisher, times(3)).publishTranscodingTask(captor.capture());
+
+        TranscodingTaskEvent masterEvent = captor.getValue();
+        assertEquals(TranscodingTask.TaskType.PACKAGE_MASTER, masterEvent.getTaskType());
+        assertEquals(2, masterEvent.getRenditionPlaylists().size());
+        assertEquals(job.getId() + "/1280x720/index.m3u8", masterEvent.getRenditionPlaylists().get(0).getPlaylistPath());
+
+        service.updateMasterPlaylist(job.getId(), TranscodingTask.TaskStatus.COMPLETED, job.getId() + "/master.m3u8", null);
+        assertEquals(job.getId() + "/master.m3u8", job.getMasterPlaylistPath());
+    }
+
+    @Test
+    void createLiveJobShouldPublishSegmentedTasksAndMasterPlaylistUpfront() {
+        // Arrange - 패키징 미지정, 청크 모드 요청
+        TranscodingConfig config = TranscodingConfig.builder()
+                .targetCodec("H.264")
+                .targetFormat("MP4")
+                .executionMode(TranscodingConfig.ExecutionMode.CHUNKED)
+                .liveIngest(true)
+                .resolutions(List.of(
+                        TranscodingConfig.ResolutionPreset.builder().name("720p").width(1280).height(720).bitrate(2500).build()
+                ))
+                .build();
+
+        TranscodingJobRequest request = TranscodingJobRequest.builder()
+                .mediaFileId("test-media-id")
+                .config(config)
+                .build();
+
+        // Act
+        TranscodingJob job = transcodingService.createJob(request).block();
+
+        // Assert - 청크 없이 CMAF_HLS 렌디션 태스크 1개 + 예상 경로를 참조하는 마스터 플레이리스트 태스크 1개
+        ArgumentCaptor<TranscodingTaskEvent> captor = ArgumentCaptor.forClass(TranscodingTaskEvent.class);
+        verify(eventPublisher, times(2)).publishTranscodingTask(captor.capture());
+
+        TranscodingTaskEvent renditionEvent = captor.getAllValues().get(0);
+        assertEquals(TranscodingConfig.PackagingFormat.CMAF_HLS, renditionEvent.getPackaging());
+        assertEquals(Boolean.TRUE, renditionEvent.getLiveInput());
+        assertNull(renditionEvent.getTaskType());
+
+        TranscodingTaskEvent masterEvent = captor.getAllValues().get(1);
+        assertEquals(TranscodingTask.TaskType.PACKAGE_MASTER, masterEvent.getTaskType());
+        assertEquals(job.getId() + "/1280x720/index.m3u8", masterEvent.getRenditionPlaylists().get(0).getPlaylistPath());
+    }
+
+    @Test
+    void stragglerTaskShouldRunSpeculativelyAndFirstResultShouldWin() {
+        // Arrange - 120초 원본의 720p/480p 렌디션 중 720p만 10분째 결과 없음 (예상 약 55초)
+        TranscodingJob job = transcodingService.createJob(createTwoRenditionRequest()).block();
+        TranscodingServiceImpl service = (TranscodingServiceImpl) transcodingService;
+        TranscodingTask straggler = job.getTasks().get(0);
+        String originalAttemptId = straggler.getAttemptId();
+        service.markAttemptStarted(straggler.getId(), originalAttemptId, LocalDateTime.now().minusMinutes(10));
+
+        // Act
+        int speculated = service.speculateStragglers();
+
+        // Assert - 같은 태스크를 새 시도 ID로 한 번만 다시 발행
+        assertEquals(1, speculated);
+        assertEquals(0, service.speculateStragglers());
+        ArgumentCaptor<TranscodingTaskEvent> captor = ArgumentCaptor.forClass(TranscodingTaskEvent.class);
+        verify(eventPublisher, times(3)).publishTranscodingTask(captor.capture());
+        TranscodingTaskEvent speculativeEvent = captor.getValue();
+        assertEquals(straggler.getId(), speculativeEvent.getTaskId());
+        assertEquals(1280, speculativeEvent.getTargetWidth());
+        assertNotNull(speculativeEvent.getAttemptId());
+        assertNotEquals(originalAttemptId, speculativeEvent.getAttemptId());
+
+        // 추측 실행이 먼저 끝나면 원래 시도를 중단하고, 중단된 시도의 실패 결과는 무시
+        service.updateTaskStatus(straggler.getId(), TranscodingTask.TaskStatus.COMPLETED, "out-720.mp4", null,
+                speculativeEvent.getAttemptId());
+        ArgumentCaptor<TaskControlEvent> controlCaptor = ArgumentCaptor.forClass(TaskControlEvent.class);
+        verify(eventPublisher).publishTaskControl(controlCaptor.capture());
+        assertEquals(TaskControlEvent.Action.ABORT_ATTEMPTS, controlCaptor.getValue().getAction());
+        assertEquals(List.of(originalAttemptId), controlCaptor.getValue().getAttemptIds());
+
+        service.updateTaskStatus(straggler.getId(), TranscodingTask.TaskStatus.FAILED, null, "FFmpeg 처리 실패",
+                originalAttemptId);
+        assertEquals(TranscodingTask.TaskStatus.COMPLETED, straggler.getStatus());
+        assertEquals("out-720.mp4", straggler.getOutputPath());
+    }
+
+    @Test
+    void failedAttemptShouldNotFailTaskWhileAnotherAttemptIsRunning() {
+        // Arrange
+        TranscodingJob job = transcodingService.createJob(createTwoRenditionRequest()).block();
+        TranscodingServiceImpl service = (TranscodingServiceImpl) transcodingService;
+        TranscodingTask straggler = job.getTasks().get(0);
+        String originalAttemptId = straggler.getAttemptId();
+        service.markAttemptStarted(straggler.getId(), originalAttemptId, LocalDateTime.now().minusMinutes(10));
+        service.speculateStragglers();
+
+        // Act - 원래 시도가 실패
+        service.updateTaskStatus(straggler.getId(), TranscodingTask.TaskStatus.FAILED, null, "노드 장애",
+                originalAttemptId);
+
+        // Assert - 추측 실행 결과를 기다리며 작업은 계속 진행
+        assertEquals(TranscodingTask.TaskStatus.PENDING, straggler.getStatus());
+        assertEquals(TranscodingJob.JobStatus.PROCESSING, job.getStatus());
+        verify(eventPublisher, never()).publishTaskControl(any());
+    }
+
+    @Test
+    void tasksWithinPredictedRuntimeShouldNotBeSpeculated() {
+        // Arrange - 방금 발행된 태스크와 최소 경과 시간 전의 태스크
+        TranscodingJob job = transcodingService.createJob(createTwoRenditionRequest()).block();
+        TranscodingServiceImpl service = (TranscodingServiceImpl) transcodingService;
+        TranscodingTask recent = job.getTasks().get(1);
+        service.markAttemptStarted(recent.getId(), recent.getAttemptId(), LocalDateTime.now().minusSeconds(100));
+
+        // Act & Assert
+        assertEquals(0, service.speculateStragglers());
+        verify(eventPublisher, times(2)).publishTranscodingTask(any());
+    }
+
+    @Test
+    void queuedTaskPastThresholdShouldNotBeSpeculatedUntilWorkerStartsIt() {
+        // Arrange - 10분 전에 발행되었지만 워커 대기열에서 아직 실행 슬롯을 받지 못한 태스크
+        TranscodingJob job = transcodingService.createJob(createTwoRenditionRequest()).block();
+        TranscodingServiceImpl service = (TranscodingServiceImpl) transcodingService;
+        TranscodingTask queued = job.getTasks().get(0);
+        queued.setStartedAt(LocalDateTime.now().minusMinutes(10));
+
+        // Act & Assert - 대기 시간은 처리 시간으로 보지 않음
+        assertEquals(0, service.speculateStragglers());
+
+        // 워커가 방금 시작을 보고하면 그때부터 경과 시간을 계산
+        service.markAttemptStarted(queued.getId(), queued.getAttemptId(), LocalDateTime.now());
+        assertEquals(0, service.speculateStragglers());
+        verify(eventPublisher, times(2)).publishTranscodingTask(any());
+
+        // 알 수 없는 시도의 시작 보고는 무시
+        service.markAttemptStarted(queued.getId(), "unknown-attempt", LocalDateTime.now().minusMinutes(10));
+        assertEquals(0, service.speculateStragglers());
+    }
+
+    private TranscodingJobRequest createTwoRenditionRequest() {
+        TranscodingConfig config = TranscodingConfig.builder()
+                .targetCodec("H.264")
+                .targetFormat("MP4")
+                .resolutions(Arrays.asList(
+                        TranscodingConfig.ResolutionPreset.builder().name("720p").width(1280).height(720).bitrate(2500).build(),
+                        TranscodingConfig.ResolutionPreset.builder().name("480p").width(854).height(480).bitrate(1500).build()
+                ))
+                .build();
+
+        return TranscodingJobRequest.builder()
+                .mediaFileId("test-media-id")
+                .config(config)
+                .build();
+    }
+
     @Test
     void getJobShouldReturnJob() throws Exception {
         // Arrange
@@ -181,4 +723,33 @@ public class TranscodingServiceTest {
         assertEquals(TranscodingJob.JobStatus.FAILED, updatedJob.getStatus());
         assertEquals("사용자에 의해 취소됨", updatedJob.getErrorMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void cancelJobShouldNotifyWorkersAndIgnoreLateResults() {
+        // Arrange - 720p는 완료, 480p는 실행 중
+        TranscodingJob job = transcodingService.createJob(createTwoRenditionRequest()).block();
+        TranscodingServiceImpl service = (TranscodingServiceImpl) transcodingService;
+        TranscodingTask completed = job.getTasks().get(0);
+        TranscodingTask running = job.getTasks().get(1);
+        service.updateTaskStatus(completed.getId(), TranscodingTask.TaskStatus.COMPLETED, "out-720.mp4", null,
+                completed.getAttemptId());
+
+        // Act
+        StepVerifier.create(transcodingService.cancelJob(job.getId()))
+                .verifyComplete();
+
+        // Assert - 모든 워커에 작업 취소 브로드캐스트
+        ArgumentCaptor<TaskControlEvent> controlCaptor = ArgumentCaptor.forClass(TaskControlEvent.class);
+        verify(eventPublisher).publishTaskControl(controlCaptor.capture());
+        assertEquals(TaskControlEvent.Action.CANCEL_JOB, controlCaptor.getValue().getAction());
+        assertEquals(job.getId(), controlCaptor.getValue().getJobId());
+        assertEquals(TranscodingTask.TaskStatus.COMPLETED, completed.getStatus());
+        assertEquals(TranscodingTask.TaskStatus.FAILED, running.getStatus());
+
+        // 중단된 프로세스의 실패 결과가 늦게 도착해도 취소 상태 유지
+        service.updateTaskStatus(running.getId(), TranscodingTask.TaskStatus.FAILED, null, "FFmpeg 처리 실패", null);
+        assertEquals(TranscodingJob.JobStatus.FAILED, job.getStatus());
+        assertEquals("사용자에 의해 취소됨", job.getErrorMessage());
+        assertEquals("작업 취소됨", running.getErrorMessage());
+    }
+}
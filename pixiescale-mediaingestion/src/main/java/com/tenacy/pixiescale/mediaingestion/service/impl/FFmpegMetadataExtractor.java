@@ -50,7 +50,7 @@ public class FFmpegMetadataExtractor implements MetadataExtractor {
         });
     }
 
-    private MediaMetadata parseMetadata(List<String> ffmpegOutput) {
+    MediaMetadata parseMetadata(List<String> ffmpegOutput) {
         MediaMetadata.MediaMetadataBuilder builder = MediaMetadata.builder();
 
         // 포맷 파싱
@@ -66,6 +66,7 @@ public class FFmpegMetadataExtractor implements MetadataExtractor {
         // 비디오 스트림 정보 파싱
         Pattern videoPattern = Pattern.compile("Stream #\\d+:\\d+.*?Video:\\s+([^,]+),\\s+([^,]+),\\s+(\\d+)x(\\d+)");
         Pattern bitratePattern = Pattern.compile("(\\d+)\\s+kb/s");
+        Pattern containerBitratePattern = Pattern.compile("Duration:.*bitrate:\\s+(\\d+)\\s+kb/s");
         Pattern durationPattern = Pattern.compile("Duration:\\s+(\\d+):(\\d+):(\\d+\\.\\d+)");
         Pattern fpsPattern = Pattern.compile("(\\d+(?:\\.\\d+)?)\\s+fps");
 
@@ -78,10 +79,10 @@ public class FFmpegMetadataExtractor implements MetadataExtractor {
                 builder.height(Integer.parseInt(videoMatcher.group(4)));
             }
 
-            // 비트레이트 추출
-            Matcher bitrateMatcher = bitratePattern.matcher(line);
-            if (bitrateMatcher.find()) {
-                builder.bitrate(Integer.parseInt(bitrateMatcher.group(1)));
+            // 컨테이너 전체 비트레이트 추출 (스트림 줄의 kb/s는 오디오 등 다른 스트림 값일 수 있음)
+            Matcher containerBitrateMatcher = containerBitratePattern.matcher(line);
+            if (containerBitrateMatcher.find()) {
+                builder.bitrate(Integer.parseInt(containerBitrateMatcher.group(1)));
             }
 
             // fps 추출
@@ -91,6 +92,31 @@ public class FFmpegMetadataExtractor implements MetadataExtractor {
             }
         }
 
+        // 스트림 번호 추출 (워커가 입력 분석 없이 스트림을 번호로 지정하도록 커버 이미지를 제외한 첫 번째 영상/오디오)
+        Pattern videoStreamPattern = Pattern.compile("Stream #\\d+:(\\d+)[^:]*:\\s+Video:");
+        Pattern audioStreamPattern = Pattern.compile("Stream #\\d+:(\\d+)[^:]*:\\s+Audio:\\s+([^,\\s]+)");
+        boolean videoStreamFound = false;
+        boolean audioStreamFound = false;
+        for (String line : ffmpegOutput) {
+            Matcher videoStreamMatcher = videoStreamPattern.matcher(line);
+            if (!videoStreamFound && videoStreamMatcher.find() && !line.contains("(attached pic)")) {
+                builder.videoStreamIndex(Integer.parseInt(videoStreamMatcher.group(1)));
+                // 영상 스트림 비트레이트 (MPEG-TS 등 스트림별 값을 기록하지 않는 컨테이너는 없음)
+                Matcher bitrateMatcher = bitratePattern.matcher(line);
+                if (bitrateMatcher.find()) {
+                    builder.videoBitrate(Integer.parseInt(bitrateMatcher.group(1)));
+                }
+                videoStreamFound = true;
+            }
+
+            Matcher audioStreamMatcher = audioStreamPattern.matcher(line);
+            if (!audioStreamFound && audioStreamMatcher.find()) {
+                builder.audioStreamIndex(Integer.parseInt(audioStreamMatcher.group(1)));
+                builder.audioCodec(audioStreamMatcher.group(2));
+                audioStreamFound = true;
+            }
+        }
+
         // 길이 추출
         for (String line : ffmpegOutput) {
             Matcher durationMatcher = durationPattern.matcher(line);
@@ -0,0 +1,63 @@
+package com.tenacy.pixiescale.mediaingestion.service.impl;
+
+import com.tenacy.pixiescale.common.domain.MediaMetadata;
+import com.tenacy.pixiescale.mediaingestion.config.FFmpegConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class FFmpegMetadataExtractorTest {
+
+    private final FFmpegMetadataExtractor extractor = new FFmpegMetadataExtractor(new FFmpegConfig());
+
+    @Test
+    void parseMetadataShouldSeparateContainerAndVideoBitrate() {
+        // Arrange - 영상 뒤에 오디오 스트림이 오는 일반적인 MP4 출력 (마지막 kb/s는 오디오 비트레이트)
+        List<String> output = List.of(
+                "Input #0, mov,mp4,m4a,3gp,3g2,mj2, from 'sample.mp4':",
+                "  Metadata:",
+                "    major_brand     : isom",
+                "  Duration: 00:02:00.00, start: 0.000000, bitrate: 5128 kb/s",
+                "  Stream #0:0[0x1](und): Video: h264 (High) (avc1 / 0x31637661), yuv420p(progressive), "
+                        + "1920x1080 [SAR 1:1 DAR 16:9], 4996 kb/s, 30 fps, 30 tbr, 15360 tbn (default)",
+                "  Stream #0:1[0x2](und): Audio: aac (LC) (mp4a / 0x6134706D), 48000 Hz, stereo, fltp, "
+                        + "128 kb/s (default)",
+                "At least one output file must be specified");
+
+        // Act
+        MediaMetadata metadata = extractor.parseMetadata(output);
+
+        // Assert
+        assertEquals(5128, metadata.getBitrate());
+        assertEquals(4996, metadata.getVideoBitrate());
+        assertEquals(1920, metadata.getWidth());
+        assertEquals(1080, metadata.getHeight());
+        assertEquals(120.0, metadata.getDuration(), 1e-9);
+        assertEquals(0, metadata.getVideoStreamIndex());
+        assertEquals(1, metadata.getAudioStreamIndex());
+        assertEquals("aac", metadata.getAudioCodec());
+    }
+
+    @Test
+    void parseMetadataShouldLeaveVideoBitrateEmptyWhenStreamHasNone() {
+        // Arrange - MPEG-TS는 스트림별 비트레이트를 기록하지 않고 오디오 스트림에만 kb/s가 표시됨
+        List<String> output = List.of(
+                "Input #0, mpegts, from 'sample.ts':",
+                "  Duration: 00:00:30.00, start: 1.400000, bitrate: 3200 kb/s",
+                "  Program 1",
+                "  Stream #0:0[0x100]: Video: h264 (High) ([27][0][0][0] / 0x001B), yuv420p(progressive), "
+                        + "1280x720 [SAR 1:1 DAR 16:9], 25 fps, 25 tbr, 90k tbn",
+                "  Stream #0:1[0x101](und): Audio: aac (LC) ([15][0][0][0] / 0x000F), 44100 Hz, stereo, fltp, 130 kb/s");
+
+        // Act
+        MediaMetadata metadata = extractor.parseMetadata(output);
+
+        // Assert - 오디오 비트레이트를 영상 비트레이트로 쓰지 않음
+        assertEquals(3200, metadata.getBitrate());
+        assertNull(metadata.getVideoBitrate());
+        assertEquals(25.0, metadata.getFrameRate(), 1e-9);
+    }
+}
@@ -1,5 +1,6 @@
 package com.tenacy.pixiescale.mediastorage.event;
 
+import com.tenacy.pixiescale.common.domain.TranscodingTask;
 import com.tenacy.pixiescale.common.event.StorageResultEvent;
 import com.tenacy.pixiescale.common.event.TaskResultEvent;
 import com.tenacy.pixiescale.mediastorage.config.StorageConfig;
@@ -7,12 +8,18 @@ import com.tenacy.pixiescale.mediastorage.service.EventPublisher;
 import com.tenacy.pixiescale.mediastorage.service.StorageService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.io.File;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Component
@@ -27,12 +34,35 @@ public class TaskResultListener {
     public void handleTaskResult(TaskResultEvent event) {
         log.info("트랜스코딩 태스크 결과 이벤트 수신: {}", event.getTaskId());
 
+        // 워커의 실행 시작 보고는 저장할 출력이 없음
+        if ("PROCESSING".equals(event.getStatus())) {
+            log.debug("태스크 시작 보고는 무시합니다: {}", event.getTaskId());
+            return;
+        }
+
         // 실패한 작업은 무시
         if (!"COMPLETED".equals(event.getStatus())) {
             log.info("태스크 {}가 성공적으로 완료되지 않았습니다. 무시합니다.", event.getTaskId());
             return;
         }
 
+        // 청크 결과는 병합 태스크의 입력이므로 이동하지 않음
+        if (event.getParentTaskId() != null) {
+            log.debug("청크 태스크 결과는 무시합니다: {} (청크 {})", event.getTaskId(), event.getChunkIndex());
+            return;
+        }
+
+        // 분석 태스크는 출력 파일이 없음
+        if (event.getTaskType() == TranscodingTask.TaskType.ANALYZE) {
+            log.debug("분석 태스크 결과는 무시합니다: {}", event.getTaskId());
+            return;
+        }
+
+        // 썸네일 등 부가 출력 저장
+        if (event.getArtifactPaths() != null && !event.getArtifactPaths().isEmpty()) {
+            storeArtifacts(event);
+        }
+
         // 트랜스코딩된 파일을 영구 저장소로 이동
         String outputPath = event.getOutputPath();
         if (outputPath == null || outputPath.isEmpty()) {
@@ -41,11 +71,22 @@ public class TaskResultListener {
             return;
         }
 
+        // 세그먼트 패키징 결과는 플레이리스트 디렉토리의 파일을 개별 객체로 저장
+        if (outputPath.endsWith(".m3u8")) {
+            handleSegmentedOutput(event, outputPath);
+            return;
+        }
+
         String fileName = Paths.get(outputPath).getFileName().toString();
         Path sourcePath = Paths.get(storageConfig.getBaseDir(), fileName);
         File sourceFile = sourcePath.toFile();
 
         if (!sourceFile.exists() || !sourceFile.isFile()) {
+            // 워커가 이미 완료된 태스크의 결과를 재발행한 경우 (이전 결과 처리 시 영구 저장소로 옮기고 삭제됨)
+            if (isAlreadyStored(fileName)) {
+                log.info("이미 영구 저장소에 저장된 결과입니다. 무시합니다: {} ({})", event.getTaskId(), fileName);
+                return;
+            }
             log.error("출력 파일이 존재하지 않습니다: {} (찾은 경로: {})", outputPath, sourcePath);
             publishFailureEvent(event, "출력 파일이 존재하지 않습니다: " + outputPath);
             return;
@@ -96,6 +137,84 @@ public class TaskResultListener {
         }
     }
 
+    private boolean isAlreadyStored(String fileName) {
+        return Boolean.TRUE.equals(storageService.loadAsResource(fileName)
+                .map(Resource::exists)
+                .onErrorReturn(false)
+                .block());
+    }
+
+    private void storeArtifacts(TaskResultEvent event) {
+        Path baseDir = Paths.get(storageConfig.getBaseDir());
+
+        Flux.fromIterable(event.getArtifactPaths())
+                .filter(artifactPath -> {
+                    boolean exists = Files.isRegularFile(baseDir.resolve(artifactPath));
+                    if (!exists) {
+                        log.warn("부가 출력 파일이 존재하지 않습니다: {}", artifactPath);
+                    }
+                    return exists;
+                })
+                .concatMap(artifactPath -> storageService.store(baseDir.resolve(artifactPath), artifactPath))
+                .count()
+                .subscribe(
+                        storedCount -> log.info("부가 출력 저장 완료: {} (파일 {}개)", event.getTaskId(), storedCount),
+                        error -> log.error("부가 출력 저장 실패: {}", event.getTaskId(), error)
+                );
+    }
+
+    private void handleSegmentedOutput(TaskResultEvent event, String playlistPath) {
+        Path baseDir = Paths.get(storageConfig.getBaseDir());
+        Path sourceDir = baseDir.resolve(playlistPath).normalize().getParent();
+
+        if (sourceDir == null || !Files.isDirectory(sourceDir) || !Files.isRegularFile(baseDir.resolve(playlistPath))) {
+            log.error("플레이리스트가 존재하지 않습니다: {}", playlistPath);
+            publishFailureEvent(event, "플레이리스트가 존재하지 않습니다: " + playlistPath);
+            return;
+        }
+
+        String playlistName = Paths.get(playlistPath).getFileName().toString();
+        String prefix = playlistPath.substring(0, playlistPath.length() - playlistName.length());
+
+        Mono.fromCallable(() -> {
+                    try (var files = Files.list(sourceDir)) {
+                        // 플레이리스트는 참조하는 세그먼트가 모두 저장된 뒤 마지막에 저장
+                        return files.filter(Files::isRegularFile)
+                                .sorted(Comparator
+                                        .comparing((Path file) -> file.getFileName().toString().endsWith(".m3u8"))
+                                        .thenComparing(Path::getFileName))
+                                .collect(Collectors.toList());
+                    }
+                })
+                .flatMapMany(Flux::fromIterable)
+                .concatMap(file -> storageService.store(file, prefix + file.getFileName()))
+                .count()
+                .subscribe(
+                        storedCount -> {
+                            log.info("세그먼트 출력 저장 완료: {} (파일 {}개)", playlistPath, storedCount);
+
+                            // 세그먼트는 개별 객체로 제공되므로 원본 디렉토리를 그대로 유지
+                            StorageResultEvent resultEvent = StorageResultEvent.builder()
+                                    .taskId(event.getTaskId())
+                                    .jobId(event.getJobId())
+                                    .storagePath(prefix + playlistName)
+                                    .contentType(determineContentType(playlistName))
+                                    .success(true)
+                                    .build();
+
+                            eventPublisher.publishStorageResult(resultEvent)
+                                    .subscribe(
+                                            VoidUnused -> log.debug("저장 결과 이벤트 발행 성공: {}", event.getTaskId()),
+                                            error -> log.error("저장 결과 이벤트 발행 실패: {}", event.getTaskId(), error)
+                                    );
+                        },
+                        error -> {
+                            log.error("세그먼트 출력 저장 실패: {}", playlistPath, error);
+                            publishFailureEvent(event, "세그먼트 출력 저장 실패: " + error.getMessage());
+                        }
+                );
+    }
+
     private void publishFailureEvent(TaskResultEvent event, String errorMessage) {
         StorageResultEvent resultEvent = StorageResultEvent.builder()
                 .taskId(event.getTaskId())
@@ -135,6 +254,13 @@ public class TaskResultListener {
                 return "application/x-mpegURL";
             case "ts":
                 return "video/MP2T";
+            case "m4s":
+                return "video/iso.segment";
+            case "jpg":
+            case "jpeg":
+                return "image/jpeg";
+            case "vtt":
+                return "text/vtt";
             case "3gp":
                 return "video/3gpp";
             case "mpg":
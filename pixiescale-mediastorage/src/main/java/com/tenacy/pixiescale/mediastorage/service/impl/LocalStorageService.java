@@ -130,6 +130,9 @@ public class LocalStorageService implements StorageService {
             Files.createDirectories(destinationDir);
         }
 
-        return destinationDir.resolve(Paths.get(filename)).normalize().toAbsolutePath();
+        Path destinationFile = destinationDir.resolve(Paths.get(filename)).normalize().toAbsolutePath();
+        // 세그먼트처럼 하위 경로를 포함한 파일명 지원
+        Files.createDirectories(destinationFile.getParent());
+        return destinationFile;
     }
 }
\ No newline at end of file
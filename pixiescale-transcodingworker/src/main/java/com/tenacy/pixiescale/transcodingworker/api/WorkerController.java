@@ -1,11 +1,13 @@
 package com.tenacy.pixiescale.transcodingworker.api;
 
 import com.tenacy.pixiescale.transcodingworker.config.FFmpegConfig;
+import com.tenacy.pixiescale.transcodingworker.service.BenchmarkService;
 import com.tenacy.pixiescale.transcodingworker.service.HealthCheckService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Mono;
@@ -24,6 +26,7 @@ public class WorkerController {
 
     private final FFmpegConfig ffmpegConfig;
     private final HealthCheckService healthCheckService;
+    private final BenchmarkService benchmarkService;
 
     @GetMapping("/worker/status")
     public Mono<ResponseEntity<Map<String, Object>>> getWorkerStatus() {
@@ -48,6 +51,8 @@ public class WorkerController {
             ffmpeg.put("gpuAcceleration", ffmpegConfig.isGpuAcceleration());
             ffmpeg.put("gpuDevice", ffmpegConfig.getGpuDevice());
             ffmpeg.put("timeoutSeconds", ffmpegConfig.getTimeoutSeconds());
+            ffmpeg.put("cpuPreset", ffmpegConfig.getCpuPreset());
+            ffmpeg.put("threadCount", ffmpegConfig.getThreadCount());
 
             // 작업자 정보
             status.put("workerId", System.getProperty("worker.id", "worker-" + ManagementFactory.getRuntimeMXBean().getName()));
@@ -75,4 +80,11 @@ public class WorkerController {
             return ResponseEntity.ok(health);
         });
     }
+
+    // 인코더 설정 후보를 기준 영상으로 측정 (실행 중인 트랜스코딩과 CPU를 나눠 쓰므로 유휴 워커에서 실행)
+    @PostMapping("/worker/benchmark")
+    public Mono<ResponseEntity<Map<String, Object>>> runBenchmark() {
+        return benchmarkService.runBenchmark()
+                .map(ResponseEntity::ok);
+    }
 }
\ No newline at end of file
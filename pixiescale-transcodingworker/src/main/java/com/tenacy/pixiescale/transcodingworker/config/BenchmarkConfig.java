@@ -0,0 +1,23 @@
+package com.tenacy.pixiescale.transcodingworker.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+// 인코더 설정 후보를 기준 영상으로 측정하여 코어 시간당 처리량이 가장 높은 조합을 찾기 위한 설정
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "benchmark")
+public class BenchmarkConfig {
+    private String corpusPath = "sample.mp4";
+    private int sampleSeconds = 20; // 기준 영상에서 인코딩할 길이
+    private List<String> presets = List.of("veryfast", "faster", "medium");
+    private List<Integer> threadCounts = List.of(0, 2, 4); // 0은 FFmpeg 자동 설정
+    private List<Integer> concurrencies = List.of(1, 2, 4);
+    private int targetWidth = 1280;
+    private int targetHeight = 720;
+    private int targetBitrate = 2500;
+    private boolean applyBest = false; // 측정 후 최적 프리셋/스레드 수를 실행 중인 워커에 적용
+}
@@ -10,7 +10,12 @@ import org.springframework.context.annotation.Configuration;
 public class FFmpegConfig {
     private String binaryPath = "ffmpeg";
     private String tempDir = "/tmp";
-    private int timeoutSeconds = 3600;
+    private int timeoutSeconds = 3600; // 출력 길이를 알 수 없는 경우의 제한 시간
+    // 진행 보고의 출력 위치가 이 시간 동안 변하지 않으면 프로세스를 종료
+    private int progressStallSeconds = 60;
+    // 출력 길이를 알면 제한 시간 = 길이 / 최저 속도 + 여유 시간
+    private double deadlineMinSpeed = 0.25;
+    private int deadlineGraceSeconds = 120;
     private boolean gpuAcceleration = false;
     private String gpuDevice = "0";
     private int threadCount = 0;
@@ -18,5 +23,62 @@ public class FFmpegConfig {
     private String gpuPreset = "p4";
     private int bufferSize = 16;
     private int analyzeDuration = 5000000;
+    private int probedAnalyzeDuration = 100000; // 수집 단계에서 분석한 스트림 정보가 있으면 입력 분석 최소화
+    private int probedProbeSize = 1; // MB
     private int threadQueueSize = 256;
+    private boolean remuxPassthrough = true; // 원본이 목표 사양과 일치하면 재인코딩 없이 스트림 복사
+    private boolean audioCacheEnabled = true; // 작업 단위로 오디오를 한 번만 인코딩하여 렌디션 간 공유
+    private int audioCacheTtlMinutes = 60;
+    // 타이틀별 래더 분석용 프로브 인코딩 설정 (작업 관리 서비스의 기준 프로브 비트레이트와 함께 조정)
+    private int probeSampleCount = 3;
+    private int probeSampleSeconds = 4;
+    private int probeHeight = 360;
+    private int probeCrf = 23;
+    private int hlsSegmentSeconds = 4; // CMAF_HLS 세그먼트 길이 (GOP 길이의 배수로 잘림)
+    private int thumbnailIntervalSeconds = 10;
+    private int thumbnailWidth = 160;
+    private int spriteColumns = 10;
+    private int spriteRows = 10;
+    // 짧은 입력 배치 처리: 여러 태스크를 한 번의 FFmpeg 실행으로 묶어 프로세스 생성과 입력 분석 비용을 분산
+    private boolean batchEnabled = true;
+    private double batchMaxInputSeconds = 15; // 이 길이 이하의 원본만 배치 대상
+    private int batchMaxSize = 8;
+    private int batchWindowMillis = 500; // 배치를 채우기 위해 대기하는 최대 시간
+    private int batchAnalyzeDuration = 500000; // 짧은 입력은 0.5초 분석으로 충분
+    private int batchProbeSize = 1; // MB
+    // 라이브 수집: 입력 끝에서 새 데이터를 기다리는 최대 시간 (이후 기록 종료로 간주)
+    private int liveIdleTimeoutSeconds = 30;
+    private int liveMaxDurationSeconds = 43200; // 라이브 태스크의 프로세스 제한 시간 (12시간)
+    // 단일 파일 출력을 fragmented MP4로 표준 출력에 기록하여 임시 파일 없이 저장소로 스트리밍
+    private boolean streamOutput = false;
+    private int streamBufferKb = 1024; // 프로세스 출력과 저장소 쓰기 사이의 버퍼 크기
+    // cgroup CPU 할당량을 동시 실행 중인 프로세스에 나누어 스레드 수 결정 (false면 thread-count 고정값 사용)
+    private boolean cpuBudgetEnabled = true;
+    private boolean cpuPinning = true; // 프로세스마다 겹치지 않는 CPU 범위에 고정
+    private String tasksetPath = "taskset";
+    // 긴 출력은 출력 볼륨에 세그먼트 단위 체크포인트를 남겨 태스크가 재전달되면 마지막 완료 세그먼트부터 재개
+    private boolean checkpointEnabled = true;
+    private String checkpointDir = "/tmp/pixiescale/checkpoints"; // 재전달된 태스크를 받는 모든 워커가 공유하는 경로
+    private int checkpointSegmentSeconds = 60;
+    private int checkpointMinSeconds = 300; // 이 길이 이상의 출력만 체크포인트 사용
+    private int checkpointRetentionHours = 24; // 재개되지 않은 체크포인트 보관 시간
+    // 실행 슬롯을 기다리는 태스크의 입력을 미리 읽어 페이지 캐시에 올림
+    private boolean prefetchEnabled = true;
+    private int prefetchQueueSize = 4; // 미리 읽을 대기 태스크 수
+    private int prefetchMaxMb = 256; // 입력당 미리 읽는 최대 크기 (인코딩 시작 구간)
+    private int prefetchRateMbPerSecond = 64; // 실행 중인 태스크의 입력 읽기를 방해하지 않도록 대역폭 제한
+
+    private boolean sourceCacheEnabled = false; // 원본이 네트워크 볼륨에 있을 때 노드 로컬 디스크에 캐시
+    private String sourceCacheDir = "/tmp/pixiescale/source-cache";
+    private int sourceCacheMaxMb = 20480; // 캐시 용량 한도 (초과 시 LRU 정리)
+
+    private boolean diskBudgetEnabled = true; // 예상 출력 크기만큼 디스크 공간을 예약한 뒤 태스크 시작
+    private int diskMinFreeMb = 512; // 예약 후에도 남겨둘 여유 공간
+    private int diskRetrySeconds = 10; // 공간 부족으로 미룬 태스크의 재확인 간격
+    private int diskMaxWaitMinutes = 30; // 이 시간 안에 공간을 확보하지 못하면 태스크 실패 보고
+
+    private boolean scratchMemoryEnabled = false; // 작은 임시 출력은 메모리 기반 디렉토리(tmpfs)에 기록
+    private String scratchMemoryDir = "/dev/shm/pixiescale";
+    private int scratchMemoryMaxMb = 256; // 메모리 디렉토리에 동시에 둘 수 있는 예상 출력 합계 (초과 시 디스크)
+    private int scratchMemoryMaxFileMb = 64; // 이 크기보다 큰 출력은 항상 디스크
 }
\ No newline at end of file
@@ -47,6 +47,9 @@ public class KafkaConfig {
     @Value("${app.kafka.topics.storage-result}")
     private String storageResultTopic;
 
+    @Value("${app.kafka.topics.task-control}")
+    private String taskControlTopic;
+
     // 트랜스코딩 작업을 위한 전용 스케줄러 생성
     @Bean
     public Scheduler transcodingScheduler() {
@@ -91,7 +94,8 @@ public class KafkaConfig {
                 new NewTopic(jobUpdatedTopic, 1, (short) 1),
                 new NewTopic(transcodingTaskTopic, 10, (short) 1), // 파티션 10개
                 new NewTopic(taskResultTopic, 1, (short) 1),
-                new NewTopic(storageResultTopic, 1, (short) 1)
+                new NewTopic(storageResultTopic, 1, (short) 1),
+                new NewTopic(taskControlTopic, 1, (short) 1)
         );
     }
 
@@ -124,4 +128,9 @@ public class KafkaConfig {
     public NewTopic storageResultTopic() {
         return new NewTopic(storageResultTopic, 1, (short) 1);
     }
-}
\ No newline at end of file
+
+    @Bean
+    public NewTopic taskControlTopic() {
+        return new NewTopic(taskControlTopic, 1, (short) 1);
+    }
+}
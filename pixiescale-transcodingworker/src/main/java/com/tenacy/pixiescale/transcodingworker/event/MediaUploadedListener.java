@@ -0,0 +1,32 @@
+package com.tenacy.pixiescale.transcodingworker.event;
+
+import com.tenacy.pixiescale.common.event.MediaUploadedEvent;
+import com.tenacy.pixiescale.transcodingworker.service.impl.MediaSourceLocator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+// 업로드된 원본을 소스 인덱스에 등록 (모든 워커가 받아야 하므로 인스턴스마다 고유한 컨슈머 그룹으로 구독하고,
+// 시작 전의 업로드는 시작 시 디렉토리 나열로 인덱스에 포함됨)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MediaUploadedListener {
+
+    private final MediaSourceLocator mediaSourceLocator;
+
+    @KafkaListener(topics = "${app.kafka.topics.media-uploaded}",
+            groupId = "${spring.kafka.consumer.group-id}-uploads-${random.uuid}",
+            containerFactory = "kafkaListenerContainerFactory",
+            properties = {"auto.offset.reset=latest"})
+    public void handleMediaUploaded(MediaUploadedEvent event, Acknowledgment ack) {
+        try {
+            log.debug("업로드된 원본 인덱스 등록: {} ({})", event.getMediaId(), event.getStoragePath());
+            mediaSourceLocator.register(event.getStoragePath());
+        } finally {
+            ack.acknowledge();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.tenacy.pixiescale.transcodingworker.event;
+
+import com.tenacy.pixiescale.common.event.TaskControlEvent;
+import com.tenacy.pixiescale.transcodingworker.service.impl.RunningTaskRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+// 태스크 제어 이벤트는 모든 워커가 받아야 하므로 인스턴스마다 고유한 컨슈머 그룹으로 구독하고,
+// 재시작 전의 제어 이벤트는 다시 처리하지 않음
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskControlListener {
+
+    private final RunningTaskRegistry runningTaskRegistry;
+
+    @KafkaListener(topics = "${app.kafka.topics.task-control}",
+            groupId = "${spring.kafka.consumer.group-id}-control-${random.uuid}",
+            containerFactory = "kafkaListenerContainerFactory",
+            properties = {"auto.offset.reset=latest"})
+    public void handleTaskControl(TaskControlEvent event, Acknowledgment ack) {
+        try {
+            if (event.getAction() == TaskControlEvent.Action.ABORT_ATTEMPTS && event.getAttemptIds() != null) {
+                for (String attemptId : event.getAttemptIds()) {
+                    runningTaskRegistry.abort(event.getTaskId(), attemptId);
+                }
+            } else if (event.getAction() == TaskControlEvent.Action.CANCEL_JOB && event.getJobId() != null) {
+                log.info("작업 취소 요청 수신: jobId={}", event.getJobId());
+                runningTaskRegistry.cancelJob(event.getJobId());
+            }
+        } finally {
+            ack.acknowledge();
+        }
+    }
+}
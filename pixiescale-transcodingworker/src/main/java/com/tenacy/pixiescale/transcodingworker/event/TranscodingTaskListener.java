@@ -3,32 +3,88 @@ package com.tenacy.pixiescale.transcodingworker.event;
 import com.tenacy.pixiescale.common.domain.TranscodingTask;
 import com.tenacy.pixiescale.common.event.TaskResultEvent;
 import com.tenacy.pixiescale.common.event.TranscodingTaskEvent;
+import com.tenacy.pixiescale.transcodingworker.config.FFmpegConfig;
 import com.tenacy.pixiescale.transcodingworker.service.EventPublisher;
 import com.tenacy.pixiescale.transcodingworker.service.TranscodingWorker;
+import com.tenacy.pixiescale.transcodingworker.service.impl.DiskBudget;
+import com.tenacy.pixiescale.transcodingworker.service.impl.InputPrefetcher;
+import com.tenacy.pixiescale.transcodingworker.service.impl.RunningTaskRegistry;
+import com.tenacy.pixiescale.transcodingworker.service.impl.TaskLedger;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.core.scheduler.Scheduler;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class TranscodingTaskListener {
 
+    private static final String LISTENER_ID = "transcoding-task-listener";
+
     private final TranscodingWorker transcodingWorker;
     private final EventPublisher eventPublisher;
     private final Scheduler transcodingScheduler;
+    private final FFmpegConfig ffmpegConfig;
+    private final RunningTaskRegistry runningTaskRegistry;
+    private final InputPrefetcher inputPrefetcher;
+    private final DiskBudget diskBudget;
+    private final TaskLedger taskLedger;
+    private final KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+
+    // 짧은 입력 태스크를 모아 한 번에 처리하기 위한 대기열
+    private final Sinks.Many<BatchEntry> batchSink = Sinks.many().unicast().onBackpressureBuffer();
+    // 디스크 공간이 부족해 시작을 미룬 태스크 수 (0보다 크면 소비 일시 중지)
+    private int deferredTasks;
+
+    @PostConstruct
+    public void startBatching() {
+        batchSink.asFlux()
+                .bufferTimeout(ffmpegConfig.getBatchMaxSize(), Duration.ofMillis(ffmpegConfig.getBatchWindowMillis()))
+                .subscribe(this::handleBatch);
+    }
 
-    @KafkaListener(topics = "${app.kafka.topics.transcoding-task}",
+    @PreDestroy
+    public void stopBatching() {
+        // 대기 중인 배치를 마저 처리 (확인되지 않은 메시지는 재시작 후 다시 전달됨)
+        synchronized (batchSink) {
+            batchSink.tryEmitComplete();
+        }
+    }
+
+    @KafkaListener(id = LISTENER_ID,
+            topics = "${app.kafka.topics.transcoding-task}",
             groupId = "${spring.kafka.consumer.group-id}",
             containerFactory = "kafkaListenerContainerFactory")
     public void handleTranscodingTask(TranscodingTaskEvent event, Acknowledgment ack) {
         log.info("Received transcoding task event: {}", event.getTaskId());
 
+        // 취소된 작업의 태스크는 실행 슬롯을 차지하지 않도록 바로 확인 (작업 관리 서비스는 이미 결과를 정리함)
+        if (runningTaskRegistry.isJobCancelled(event.getJobId())) {
+            log.info("취소된 작업의 태스크 건너뜀: {}", event.getTaskId());
+            ack.acknowledge();
+            return;
+        }
+
+        if (event.getRenditions() != null && !event.getRenditions().isEmpty()) {
+            handleSingleDecodeTask(event, ack);
+            return;
+        }
+
         TranscodingTask task = TranscodingTask.builder()
                 .id(event.getTaskId())
                 .jobId(event.getJobId())
@@ -36,37 +92,274 @@ public class TranscodingTaskListener {
                 .targetWidth(event.getTargetWidth())
                 .targetHeight(event.getTargetHeight())
                 .targetBitrate(event.getTargetBitrate())
+                .taskType(event.getTaskType())
+                .parentTaskId(event.getParentTaskId())
+                .chunkIndex(event.getChunkIndex())
+                .chunkCount(event.getChunkCount())
+                .chunkStart(event.getChunkStart())
+                .chunkDuration(event.getChunkDuration())
+                .chunkPaths(event.getChunkPaths())
+                .sourceMetadata(event.getSourceMetadata())
+                .packaging(event.getPackaging())
+                .renditionPlaylists(event.getRenditionPlaylists())
+                .generateThumbnails(event.getGenerateThumbnails())
+                .clipStart(event.getClipStart())
+                .clipDuration(event.getClipDuration())
+                .liveInput(event.getLiveInput())
+                .attemptId(event.getAttemptId())
                 .status(TranscodingTask.TaskStatus.PROCESSING)
                 .startedAt(LocalDateTime.now())
                 .build();
 
-        transcodingWorker.processTask(task)
+        // 처리 도중 재시작이나 리밸런싱으로 다시 전달된 태스크가 이미 완료되었으면 인코딩하지 않고 결과만 재발행
+        TaskLedger.Entry completed = taskLedger.findCompleted(task.getId());
+        if (completed != null) {
+            log.info("이미 완료된 태스크 재전달, 저장된 결과 재발행: {}", task.getId());
+            eventPublisher.publishTaskResult(toResultEvent(taskLedger.applyTo(task, completed)))
+                    .doFinally(signal -> ack.acknowledge())
+                    .subscribe();
+            return;
+        }
+
+        // 추측 실행 시도가 원래 시도와 같은 워커로 오면 실행하지 않고 실패로 보고하여 작업 관리 서비스가 정리하도록 함
+        if (task.getAttemptId() != null && runningTaskRegistry.isRunningOtherAttempt(task)) {
+            log.info("같은 태스크의 다른 시도가 이 워커에서 실행 중이므로 건너뜀: {}", task.getId());
+            eventPublisher.publishTaskResult(toFailedResultEvent(task,
+                            new RuntimeException("같은 워커에서 다른 시도가 실행 중")))
+                    .doFinally(signal -> ack.acknowledge())
+                    .subscribe();
+            return;
+        }
+
+        if (transcodingWorker.isBatchable(task) && enqueueBatch(task, ack)) {
+            log.debug("짧은 입력 태스크를 배치 대기열에 추가: {}", task.getId());
+            return;
+        }
+
+        // 실행 슬롯을 기다리는 동안 입력을 미리 읽고, 슬롯을 받으면 FFmpeg가 직접 읽도록 미리 읽기 중단
+        inputPrefetcher.request(task);
+        reserveDisk(List.of(task))
+                .flatMap(reservation -> Mono.defer(() -> {
+                            inputPrefetcher.started(task);
+                            markStarted(List.of(task));
+                            return transcodingWorker.processTask(task);
+                        })
+                        .doFinally(signal -> diskBudget.release(reservation)))
                 .flatMap(processedTask -> {
-                    TaskResultEvent resultEvent = TaskResultEvent.builder()
-                            .taskId(processedTask.getId())
-                            .jobId(processedTask.getJobId())
-                            .status(processedTask.getStatus().name())
-                            .outputPath(processedTask.getOutputPath())
-                            .completedAt(LocalDateTime.now())
-                            .build();
-
-                    return eventPublisher.publishTaskResult(resultEvent);
+                    taskLedger.completed(processedTask);
+                    return eventPublisher.publishTaskResult(toResultEvent(processedTask));
+                })
+                .onErrorResume(error -> eventPublisher.publishTaskResult(toFailedResultEvent(task, error)))
+                .doFinally(signal -> {
+                    ack.acknowledge();
+                })
+                .subscribeOn(transcodingScheduler)
+                .subscribe();
+    }
+
+    // 디스크 예산이 부족하면 공간이 확보될 때까지 태스크를 미루고, 미룬 태스크가 있는 동안 새 태스크를 받지 않음
+    // (여러 태스크를 한 번에 실행하면 추정 크기의 합계를 예약)
+    private Mono<DiskBudget.Reservation> reserveDisk(List<TranscodingTask> tasks) {
+        int retrySeconds = Math.max(1, ffmpegConfig.getDiskRetrySeconds());
+        int maxRetries = Math.max(1, ffmpegConfig.getDiskMaxWaitMinutes() * 60 / retrySeconds);
+        boolean[] deferred = new boolean[1];
+
+        return Mono.fromSupplier(() -> diskBudget.tryReserve(tasks))
+                .repeatWhenEmpty(retries -> retries
+                        .take(maxRetries)
+                        .doOnNext(retry -> {
+                            if (retry == 0) {
+                                deferred[0] = true;
+                                deferConsumption(tasks.get(0));
+                            }
+                        })
+                        .delayElements(Duration.ofSeconds(retrySeconds)))
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("디스크 공간 부족으로 태스크를 시작하지 못함")))
+                .doFinally(signal -> {
+                    if (deferred[0]) {
+                        resumeConsumption();
+                    }
+                });
+    }
+
+    private synchronized void deferConsumption(TranscodingTask task) {
+        log.warn("디스크 공간 부족으로 태스크 시작 보류: {}", task.getId());
+        if (deferredTasks++ == 0) {
+            MessageListenerContainer container = kafkaListenerEndpointRegistry.getListenerContainer(LISTENER_ID);
+            if (container != null) {
+                container.pause();
+                log.warn("디스크 공간이 확보될 때까지 트랜스코딩 태스크 소비 일시 중지");
+            }
+        }
+    }
+
+    private synchronized void resumeConsumption() {
+        if (--deferredTasks == 0) {
+            MessageListenerContainer container = kafkaListenerEndpointRegistry.getListenerContainer(LISTENER_ID);
+            if (container != null) {
+                container.resume();
+                log.info("트랜스코딩 태스크 소비 재개");
+            }
+        }
+    }
+
+    // 컨슈머 스레드가 여러 개일 수 있으므로 발행을 직렬화 (실패 시 개별 처리)
+    private boolean enqueueBatch(TranscodingTask task, Acknowledgment ack) {
+        synchronized (batchSink) {
+            return batchSink.tryEmitNext(new BatchEntry(task, ack)).isSuccess();
+        }
+    }
+
+    // 배치로 처리해도 결과는 태스크별 결과 이벤트로 발행
+    private void handleBatch(List<BatchEntry> batch) {
+        List<TranscodingTask> tasks = batch.stream()
+                .map(entry -> entry.task)
+                .collect(Collectors.toList());
+        log.info("배치 트랜스코딩 태스크 처리: {}개", tasks.size());
+
+        reserveDisk(tasks)
+                .flatMapMany(reservation -> Flux.defer(() -> {
+                            markStarted(tasks);
+                            return transcodingWorker.processBatch(tasks);
+                        })
+                        .doFinally(signal -> diskBudget.release(reservation)))
+                .concatMap(processedTask -> {
+                    taskLedger.completed(processedTask);
+                    return eventPublisher.publishTaskResult(toResultEvent(processedTask));
                 })
-                .onErrorResume(error -> {
-                    TaskResultEvent resultEvent = TaskResultEvent.builder()
-                            .taskId(task.getId())
-                            .jobId(task.getJobId())
-                            .status(TranscodingTask.TaskStatus.FAILED.name())
-                            .errorMessage(error.getMessage())
-                            .completedAt(LocalDateTime.now())
-                            .build();
-
-                    return eventPublisher.publishTaskResult(resultEvent);
+                .onErrorResume(error -> Flux.fromIterable(tasks)
+                        .filter(task -> task.getStatus() == TranscodingTask.TaskStatus.PROCESSING)
+                        .concatMap(task -> eventPublisher.publishTaskResult(toFailedResultEvent(task, error))))
+                .doFinally(signal -> batch.forEach(entry -> entry.ack.acknowledge()))
+                .subscribeOn(transcodingScheduler)
+                .subscribe();
+    }
+
+    // 실행 슬롯을 받은 태스크를 기록하고 작업 관리 서비스에 시작을 보고
+    // (대기열에서 기다린 시간이 지연 태스크 판단에 포함되지 않도록 함, 추측 실행 대상인 시도 ID가 있는 태스크만)
+    private void markStarted(List<TranscodingTask> tasks) {
+        for (TranscodingTask task : tasks) {
+            taskLedger.started(task);
+            if (task.getAttemptId() == null) {
+                continue;
+            }
+            eventPublisher.publishTaskResult(toStartedEvent(task))
+                    .subscribe(
+                            VoidUnused -> log.debug("태스크 시작 이벤트 발행 성공: {}", task.getId()),
+                            error -> log.warn("태스크 시작 이벤트 발행 실패: {}", task.getId(), error)
+                    );
+        }
+    }
+
+    private TaskResultEvent toStartedEvent(TranscodingTask task) {
+        return TaskResultEvent.builder()
+                .taskId(task.getId())
+                .jobId(task.getJobId())
+                .status(TranscodingTask.TaskStatus.PROCESSING.name())
+                .parentTaskId(task.getParentTaskId())
+                .chunkIndex(task.getChunkIndex())
+                .taskType(task.getTaskType())
+                .attemptId(task.getAttemptId())
+                .build();
+    }
+
+    private TaskResultEvent toResultEvent(TranscodingTask processedTask) {
+        return TaskResultEvent.builder()
+                .taskId(processedTask.getId())
+                .jobId(processedTask.getJobId())
+                .status(processedTask.getStatus().name())
+                .outputPath(processedTask.getOutputPath())
+                .errorMessage(processedTask.getErrorMessage())
+                .parentTaskId(processedTask.getParentTaskId())
+                .chunkIndex(processedTask.getChunkIndex())
+                .taskType(processedTask.getTaskType())
+                .probeBitrate(processedTask.getProbeBitrate())
+                .artifactPaths(processedTask.getArtifactPaths())
+                .attemptId(processedTask.getAttemptId())
+                .resourceUsage(processedTask.getResourceUsage())
+                .completedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private TaskResultEvent toFailedResultEvent(TranscodingTask task, Throwable error) {
+        return TaskResultEvent.builder()
+                .taskId(task.getId())
+                .jobId(task.getJobId())
+                .status(TranscodingTask.TaskStatus.FAILED.name())
+                .errorMessage(error.getMessage())
+                .parentTaskId(task.getParentTaskId())
+                .chunkIndex(task.getChunkIndex())
+                .taskType(task.getTaskType())
+                .attemptId(task.getAttemptId())
+                .completedAt(LocalDateTime.now())
+                .build();
+    }
+
+    // 단일 디코딩 모드: 렌디션별 결과를 각각의 태스크 결과 이벤트로 발행
+    private void handleSingleDecodeTask(TranscodingTaskEvent event, Acknowledgment ack) {
+        List<TranscodingTask> tasks = event.getRenditions().stream()
+                .map(rendition -> TranscodingTask.builder()
+                        .id(rendition.getTaskId())
+                        .jobId(event.getJobId())
+                        .taskType(TranscodingTask.TaskType.TRANSCODE)
+                        .targetFormat(event.getTargetFormat())
+                        .targetWidth(rendition.getTargetWidth())
+                        .targetHeight(rendition.getTargetHeight())
+                        .targetBitrate(rendition.getTargetBitrate())
+                        .sourceMetadata(event.getSourceMetadata())
+                        .packaging(event.getPackaging())
+                        .clipStart(event.getClipStart())
+                        .clipDuration(event.getClipDuration())
+                        .liveInput(event.getLiveInput())
+                        .attemptId(rendition.getAttemptId())
+                        .status(TranscodingTask.TaskStatus.PROCESSING)
+                        .startedAt(LocalDateTime.now())
+                        .build())
+                .collect(Collectors.toList());
+
+        // 모든 렌디션이 이미 완료된 재전달이면 결과만 재발행 (일부만 완료되었으면 한 번의 디코딩으로 모두 다시 인코딩)
+        List<TaskLedger.Entry> completed = tasks.stream()
+                .map(task -> taskLedger.findCompleted(task.getId()))
+                .collect(Collectors.toList());
+        if (!completed.contains(null)) {
+            log.info("이미 완료된 단일 디코딩 태스크 재전달, 저장된 결과 재발행: {}", event.getJobId());
+            Flux.range(0, tasks.size())
+                    .concatMap(i -> eventPublisher.publishTaskResult(
+                            toResultEvent(taskLedger.applyTo(tasks.get(i), completed.get(i)))))
+                    .doFinally(signal -> ack.acknowledge())
+                    .subscribe();
+            return;
+        }
+
+        inputPrefetcher.request(tasks.get(0));
+        reserveDisk(tasks)
+                .flatMapMany(reservation -> Flux.defer(() -> {
+                            inputPrefetcher.started(tasks.get(0));
+                            markStarted(tasks);
+                            return transcodingWorker.processJob(tasks);
+                        })
+                        .doFinally(signal -> diskBudget.release(reservation)))
+                .concatMap(processedTask -> {
+                    taskLedger.completed(processedTask);
+                    return eventPublisher.publishTaskResult(toResultEvent(processedTask));
                 })
+                .onErrorResume(error -> Flux.fromIterable(tasks)
+                        .filter(task -> task.getStatus() == TranscodingTask.TaskStatus.PROCESSING)
+                        .concatMap(task -> eventPublisher.publishTaskResult(toFailedResultEvent(task, error))))
                 .doFinally(signal -> {
                     ack.acknowledge();
                 })
                 .subscribeOn(transcodingScheduler)
                 .subscribe();
     }
-}
\ No newline at end of file
+
+    private static class BatchEntry {
+        private final TranscodingTask task;
+        private final Acknowledgment ack;
+
+        private BatchEntry(TranscodingTask task, Acknowledgment ack) {
+            this.task = task;
+            this.ack = ack;
+        }
+    }
+}
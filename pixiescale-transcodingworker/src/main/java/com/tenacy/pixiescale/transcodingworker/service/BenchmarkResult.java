@@ -0,0 +1,23 @@
+package com.tenacy.pixiescale.transcodingworker.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BenchmarkResult {
+    private String preset;
+    private int threadCount;
+    private int concurrency;
+    private long frames; // 동시 실행한 모든 프로세스의 인코딩 프레임 합
+    private double wallSeconds;
+    private double cpuSeconds; // 사용자 + 시스템 CPU 시간 합
+    private long outputBytes; // 프로세스당 평균 출력 크기
+    private double encodeFps;
+    private double tasksPerCoreHour;
+    private String error;
+}
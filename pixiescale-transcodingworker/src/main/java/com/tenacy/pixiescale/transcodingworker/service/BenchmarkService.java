@@ -0,0 +1,9 @@
+package com.tenacy.pixiescale.transcodingworker.service;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+public interface BenchmarkService {
+    Mono<Map<String, Object>> runBenchmark();
+}
@@ -2,8 +2,11 @@ package com.tenacy.pixiescale.transcodingworker.service;
 
 import reactor.core.publisher.Mono;
 
+import java.io.InputStream;
 import java.nio.file.Path;
 
 public interface StorageService {
     Mono<String> store(Path filePath, String filename);
+    Mono<String> store(InputStream inputStream, String filename); // 스트림 끝까지 읽은 경우에만 저장 완료
+    Path resolve(String storedPath); // 저장된 파일의 로컬 경로
 }
\ No newline at end of file
@@ -1,10 +1,16 @@
 package com.tenacy.pixiescale.transcodingworker.service;
 
 import com.tenacy.pixiescale.common.domain.TranscodingTask;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 public interface TranscodingWorker {
     Mono<TranscodingTask> processTask(TranscodingTask task);
+    Flux<TranscodingTask> processJob(List<TranscodingTask> tasks);
+    Flux<TranscodingTask> processBatch(List<TranscodingTask> tasks);
+    boolean isBatchable(TranscodingTask task);
     void initialize();
     void shutdown();
 }
\ No newline at end of file
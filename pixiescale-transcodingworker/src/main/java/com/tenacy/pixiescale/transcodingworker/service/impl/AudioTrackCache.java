@@ -0,0 +1,120 @@
+package com.tenacy.pixiescale.transcodingworker.service.impl;
+
+import com.tenacy.pixiescale.transcodingworker.config.FFmpegConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 작업 단위로 인코딩한 오디오 트랙을 임시 디렉토리에 보관하여 렌디션 간에 공유
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AudioTrackCache {
+
+    public static final String AUDIO_EXTENSION = "m4a";
+
+    private final FFmpegConfig ffmpegConfig;
+
+    private final ConcurrentHashMap<String, CompletableFuture<Path>> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Instant> lastAccess = new ConcurrentHashMap<>();
+
+    @FunctionalInterface
+    public interface AudioExtractor {
+        void extract(Path outputPath) throws Exception;
+    }
+
+    // 캐시된 오디오 경로 반환 (동일 작업의 동시 요청은 한 번만 추출, 실패 시 null)
+    // 실패한 결과도 만료 전까지 작업 단위로 보관하여 오디오가 없는 원본 등에서 렌디션마다 추출을 반복하지 않음
+    public Path getOrCreate(String jobId, AudioExtractor extractor) {
+        if (!ffmpegConfig.isAudioCacheEnabled()) {
+            return null;
+        }
+
+        purgeExpired();
+        lastAccess.put(jobId, Instant.now());
+
+        CompletableFuture<Path> created = new CompletableFuture<>();
+        CompletableFuture<Path> existing = entries.putIfAbsent(jobId, created);
+        if (existing != null) {
+            Path cached = existing.join();
+            if (cached == null || Files.exists(cached)) {
+                return cached;
+            }
+            // 파일이 정리된 경우 다시 추출
+            entries.remove(jobId, existing);
+            return getOrCreate(jobId, extractor);
+        }
+
+        Path result = null;
+        try {
+            result = extract(jobId, extractor);
+        } finally {
+            created.complete(result);
+        }
+        return result;
+    }
+
+    private Path extract(String jobId, AudioExtractor extractor) {
+        Path tempFile = null;
+        try {
+            Path cacheDir = getCacheDir();
+            Files.createDirectories(cacheDir);
+
+            Path target = cacheDir.resolve(jobId + "." + AUDIO_EXTENSION);
+            if (Files.exists(target)) {
+                return target;
+            }
+
+            // 추출 중인 파일을 다른 태스크가 읽지 않도록 임시 파일에 쓴 뒤 원자적으로 이동
+            tempFile = Files.createTempFile(cacheDir, jobId + "-", ".partial." + AUDIO_EXTENSION);
+            extractor.extract(tempFile);
+            Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            log.info("오디오 트랙 캐시 생성: {} ({} bytes)", jobId, Files.size(target));
+            return target;
+        } catch (Exception e) {
+            log.warn("오디오 트랙 추출 실패, 렌디션별 오디오 인코딩으로 대체: {}", jobId, e);
+            return null;
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException e) {
+                    log.warn("임시 파일 삭제 실패", e);
+                }
+            }
+        }
+    }
+
+    // 마지막 사용 후 TTL이 지난 오디오 트랙 정리
+    public void purgeExpired() {
+        Instant threshold = Instant.now().minus(Duration.ofMinutes(ffmpegConfig.getAudioCacheTtlMinutes()));
+        lastAccess.forEach((jobId, accessedAt) -> {
+            if (accessedAt.isBefore(threshold) && lastAccess.remove(jobId, accessedAt)) {
+                CompletableFuture<Path> entry = entries.remove(jobId);
+                if (entry != null && entry.isDone() && entry.join() != null) {
+                    try {
+                        Files.deleteIfExists(entry.join());
+                        log.debug("오디오 트랙 캐시 만료: {}", jobId);
+                    } catch (IOException e) {
+                        log.warn("오디오 트랙 캐시 삭제 실패: {}", jobId, e);
+                    }
+                }
+            }
+        });
+    }
+
+    private Path getCacheDir() {
+        return Paths.get(ffmpegConfig.getTempDir()).resolve("audio-cache");
+    }
+}
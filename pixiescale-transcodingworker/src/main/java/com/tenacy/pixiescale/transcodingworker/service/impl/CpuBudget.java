@@ -0,0 +1,269 @@
+package com.tenacy.pixiescale.transcodingworker.service.impl;
+
+import com.tenacy.pixiescale.transcodingworker.config.FFmpegConfig;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// 컨테이너 CPU 할당량을 실행 중인 FFmpeg 프로세스에 나누어 스레드 수와 CPU 고정 범위를 정함
+@Slf4j
+@Component
+public class CpuBudget {
+
+    private static final Path CGROUP_V2_CPU_MAX = Paths.get("/sys/fs/cgroup/cpu.max");
+    private static final Path CGROUP_V1_QUOTA = Paths.get("/sys/fs/cgroup/cpu/cpu.cfs_quota_us");
+    private static final Path CGROUP_V1_PERIOD = Paths.get("/sys/fs/cgroup/cpu/cpu.cfs_period_us");
+    private static final Path CGROUP_V2_CPUSET = Paths.get("/sys/fs/cgroup/cpuset.cpus.effective");
+    private static final Path CGROUP_V1_CPUSET = Paths.get("/sys/fs/cgroup/cpuset/cpuset.effective_cpus");
+
+    private final FFmpegConfig ffmpegConfig;
+    @Getter
+    private final int cpuLimit;
+    @Getter
+    private final List<Integer> allowedCpus;
+    private final boolean pinningAvailable;
+    private final List<Lease> leases = new ArrayList<>();
+
+    @Autowired
+    public CpuBudget(FFmpegConfig ffmpegConfig) {
+        this(ffmpegConfig, readCpuLimit(), readAllowedCpus(), ffmpegConfig.isCpuPinning() && checkTaskset(ffmpegConfig));
+    }
+
+    CpuBudget(FFmpegConfig ffmpegConfig, int cpuLimit, List<Integer> allowedCpus, boolean pinningAvailable) {
+        this.ffmpegConfig = ffmpegConfig;
+        this.cpuLimit = cpuLimit;
+        this.allowedCpus = allowedCpus;
+        this.pinningAvailable = pinningAvailable;
+        log.info("CPU 예산: {}코어, 사용 가능 CPU {}, CPU 고정 {}", cpuLimit, formatCpuList(allowedCpus),
+                pinningAvailable ? "사용" : "미사용");
+    }
+
+    // 새 프로세스는 시작 시점의 실행 중 프로세스 수로 예산을 나눈 만큼의 스레드를 받음
+    public synchronized Lease acquire() {
+        Lease lease = new Lease();
+        leases.add(lease);
+        if (ffmpegConfig.isCpuBudgetEnabled()) {
+            lease.threads = Math.max(1, cpuLimit / leases.size());
+        } else {
+            lease.threads = ffmpegConfig.getThreadCount();
+        }
+        rebalance();
+        return lease;
+    }
+
+    public synchronized void release(Lease lease) {
+        if (leases.remove(lease)) {
+            rebalance();
+        }
+    }
+
+    public synchronized int getActiveCount() {
+        return leases.size();
+    }
+
+    // -threads 값을 할당된 스레드 수로 바꾸고, CPU 고정 시 taskset으로 실행
+    public List<String> apply(List<String> command, Lease lease) {
+        List<String> result = new ArrayList<>();
+        List<Integer> cpus;
+        synchronized (this) {
+            cpus = lease.cpus;
+            lease.appliedCpus = cpus;
+        }
+        if (!cpus.isEmpty()) {
+            result.add(ffmpegConfig.getTasksetPath());
+            result.add("-c");
+            result.add(formatCpuList(cpus));
+        }
+        for (int i = 0; i < command.size(); i++) {
+            result.add(command.get(i));
+            if ("-threads".equals(command.get(i)) && i + 1 < command.size()) {
+                result.add(String.valueOf(lease.threads));
+                i++;
+            }
+        }
+        return result;
+    }
+
+    // taskset은 명령을 exec하므로 시작된 프로세스의 pid가 곧 FFmpeg의 pid
+    public synchronized void attach(Lease lease, Process process) {
+        lease.pid = process.pid();
+        // 명령 생성 후 시작 전에 재분배가 있었다면 바뀐 범위로 다시 고정
+        if (pinningAvailable && !lease.cpus.equals(lease.appliedCpus)) {
+            repin(lease.pid, lease.cpus);
+        }
+    }
+
+    // 실행 중인 프로세스 수에 맞춰 CPU를 겹치지 않게 다시 나누고 이미 실행 중인 프로세스의 CPU 고정 범위도 갱신
+    // (FFmpeg 스레드 수는 실행 중 변경할 수 없으므로 새로 시작하는 프로세스부터 반영)
+    private void rebalance() {
+        if (!pinningAvailable || leases.isEmpty() || allowedCpus.isEmpty()) {
+            return;
+        }
+        List<List<Integer>> slices = partition(allowedCpus, leases.size());
+        for (int i = 0; i < leases.size(); i++) {
+            Lease lease = leases.get(i);
+            List<Integer> slice = slices.get(i);
+            if (slice.equals(lease.cpus)) {
+                continue;
+            }
+            lease.cpus = slice;
+            if (lease.pid > 0) {
+                repin(lease.pid, slice);
+            }
+        }
+    }
+
+    private void repin(long pid, List<Integer> cpus) {
+        try {
+            Process process = new ProcessBuilder(ffmpegConfig.getTasksetPath(), "-a", "-p", "-c",
+                    formatCpuList(cpus), String.valueOf(pid))
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            if (!process.waitFor(5, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (IOException e) {
+            log.debug("CPU 고정 범위 변경 실패: pid={}", pid, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // CPU 목록을 최대한 고르게 연속 구간으로 나눔 (프로세스가 CPU보다 많으면 순서대로 공유)
+    static List<List<Integer>> partition(List<Integer> cpus, int count) {
+        List<List<Integer>> slices = new ArrayList<>();
+        if (count > cpus.size()) {
+            for (int i = 0; i < count; i++) {
+                slices.add(List.of(cpus.get(i % cpus.size())));
+            }
+            return slices;
+        }
+        int base = cpus.size() / count;
+        int remainder = cpus.size() % count;
+        int index = 0;
+        for (int i = 0; i < count; i++) {
+            int size = base + (i < remainder ? 1 : 0);
+            slices.add(List.copyOf(cpus.subList(index, index + size)));
+            index += size;
+        }
+        return slices;
+    }
+
+    // cgroup v2 "cpu.max" 형식 ("<quota> <period>" 또는 "max <period>"), 제한이 없으면 0
+    static int parseCpuMax(String content) {
+        String[] parts = content.trim().split("\\s+");
+        if (parts.length < 2 || "max".equals(parts[0])) {
+            return 0;
+        }
+        return quotaToCpus(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+    }
+
+    static int quotaToCpus(long quota, long period) {
+        if (quota <= 0 || period <= 0) {
+            return 0;
+        }
+        return (int) Math.max(1, (quota + period - 1) / period);
+    }
+
+    // "0-3,6,8-9" 형식의 CPU 목록
+    static List<Integer> parseCpuList(String content) {
+        List<Integer> cpus = new ArrayList<>();
+        for (String range : content.trim().split(",")) {
+            if (range.isEmpty()) {
+                continue;
+            }
+            int dash = range.indexOf('-');
+            if (dash < 0) {
+                cpus.add(Integer.parseInt(range.trim()));
+            } else {
+                int start = Integer.parseInt(range.substring(0, dash).trim());
+                int end = Integer.parseInt(range.substring(dash + 1).trim());
+                for (int cpu = start; cpu <= end; cpu++) {
+                    cpus.add(cpu);
+                }
+            }
+        }
+        return cpus;
+    }
+
+    static String formatCpuList(List<Integer> cpus) {
+        return cpus.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    private static int readCpuLimit() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        int quotaCpus = 0;
+        try {
+            if (Files.exists(CGROUP_V2_CPU_MAX)) {
+                quotaCpus = parseCpuMax(Files.readString(CGROUP_V2_CPU_MAX));
+            } else if (Files.exists(CGROUP_V1_QUOTA) && Files.exists(CGROUP_V1_PERIOD)) {
+                quotaCpus = quotaToCpus(Long.parseLong(Files.readString(CGROUP_V1_QUOTA).trim()),
+                        Long.parseLong(Files.readString(CGROUP_V1_PERIOD).trim()));
+            }
+        } catch (IOException | NumberFormatException e) {
+            log.warn("cgroup CPU 할당량 읽기 실패, 프로세서 수 사용", e);
+        }
+        return quotaCpus > 0 ? Math.min(quotaCpus, processors) : processors;
+    }
+
+    private static List<Integer> readAllowedCpus() {
+        try {
+            for (Path path : List.of(CGROUP_V2_CPUSET, CGROUP_V1_CPUSET)) {
+                if (Files.exists(path)) {
+                    List<Integer> cpus = parseCpuList(Files.readString(path));
+                    if (!cpus.isEmpty()) {
+                        return Collections.unmodifiableList(cpus);
+                    }
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            log.warn("cgroup CPU 목록 읽기 실패, 전체 프로세서 사용", e);
+        }
+        List<Integer> cpus = new ArrayList<>();
+        for (int cpu = 0; cpu < Runtime.getRuntime().availableProcessors(); cpu++) {
+            cpus.add(cpu);
+        }
+        return Collections.unmodifiableList(cpus);
+    }
+
+    private static boolean checkTaskset(FFmpegConfig ffmpegConfig) {
+        try {
+            Process process = new ProcessBuilder(ffmpegConfig.getTasksetPath(), "-V")
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            return process.waitFor(5, TimeUnit.SECONDS) && process.exitValue() == 0;
+        } catch (IOException e) {
+            log.warn("taskset을 찾을 수 없어 CPU 고정 없이 스레드 수만 제한: {}", ffmpegConfig.getTasksetPath());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // 실행 중인 FFmpeg 프로세스 하나에 할당된 스레드 수와 CPU 범위
+    public static class Lease {
+        @Getter
+        private int threads;
+        private volatile List<Integer> cpus = List.of();
+        private List<Integer> appliedCpus = List.of();
+        private long pid;
+
+        public List<Integer> getCpus() {
+            return cpus;
+        }
+    }
+}
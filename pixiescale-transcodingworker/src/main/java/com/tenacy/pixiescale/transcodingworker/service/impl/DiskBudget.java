@@ -0,0 +1,168 @@
+package com.tenacy.pixiescale.transcodingworker.service.impl;
+
+import com.tenacy.pixiescale.common.domain.MediaMetadata;
+import com.tenacy.pixiescale.common.domain.TranscodingTask;
+import com.tenacy.pixiescale.transcodingworker.config.FFmpegConfig;
+import com.tenacy.pixiescale.transcodingworker.config.StorageConfig;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+// 태스크가 쓸 임시 파일과 출력 크기를 추정하여 시작 전에 디스크 공간을 예약
+// (공간이 부족한 볼륨에서 인코딩을 시작했다가 몇 분 뒤 쓰기 오류로 실패하지 않도록 함)
+@Slf4j
+@Component
+public class DiskBudget {
+
+    // 오디오 트랙, 컨테이너 오버헤드 등을 포함한 추정 여유율
+    private static final double ESTIMATE_MARGIN = 1.2;
+    private static final long AUDIO_BITS_PER_SECOND = 128_000;
+    // 분석/마스터 플레이리스트 태스크는 작은 임시 파일만 사용
+    private static final long SMALL_TASK_BYTES = 16L * 1024 * 1024;
+
+    private final FFmpegConfig ffmpegConfig;
+    private final StorageConfig storageConfig;
+    private final MediaSourceLocator mediaSourceLocator;
+    // 볼륨별로 실행 중인 태스크가 예약한 크기
+    private final Map<FileStore, Long> reserved = new HashMap<>();
+
+    public DiskBudget(FFmpegConfig ffmpegConfig, StorageConfig storageConfig, MediaSourceLocator mediaSourceLocator) {
+        this.ffmpegConfig = ffmpegConfig;
+        this.storageConfig = storageConfig;
+        this.mediaSourceLocator = mediaSourceLocator;
+    }
+
+    // 임시 디렉토리(작업 중 출력)와 저장소(최종 출력) 양쪽에 공간을 예약, 부족하면 null
+    // (실행 중인 태스크가 이미 쓴 만큼은 여유 공간과 예약에 모두 반영되므로 보수적으로 판단)
+    public synchronized Reservation tryReserve(Collection<TranscodingTask> tasks) {
+        if (!ffmpegConfig.isDiskBudgetEnabled()) {
+            return new Reservation(Map.of(), 0);
+        }
+
+        long bytes = 0;
+        for (TranscodingTask task : tasks) {
+            bytes += estimateBytes(task);
+        }
+
+        Map<FileStore, Long> needed = new HashMap<>();
+        try {
+            needed.merge(getFileStore(Paths.get(ffmpegConfig.getTempDir())), bytes, Long::sum);
+            needed.merge(getFileStore(Paths.get(storageConfig.getBaseDir())), bytes, Long::sum);
+        } catch (IOException e) {
+            // 볼륨을 확인할 수 없으면 예약 없이 진행 (실제 쓰기 오류는 태스크 실패로 보고됨)
+            log.warn("디스크 공간 확인 실패, 예약 없이 태스크 시작", e);
+            return new Reservation(Map.of(), bytes);
+        }
+
+        long minFreeBytes = ffmpegConfig.getDiskMinFreeMb() * 1024L * 1024L;
+        for (Map.Entry<FileStore, Long> entry : needed.entrySet()) {
+            long available = getUsableSpace(entry.getKey()) - reserved.getOrDefault(entry.getKey(), 0L);
+            if (available - entry.getValue() < minFreeBytes) {
+                log.debug("디스크 예산 부족: {} (필요 {} bytes, 사용 가능 {} bytes)",
+                        entry.getKey(), entry.getValue(), available);
+                return null;
+            }
+        }
+
+        needed.forEach((store, size) -> reserved.merge(store, size, Long::sum));
+        return new Reservation(needed, bytes);
+    }
+
+    public synchronized void release(Reservation reservation) {
+        if (reservation == null || reservation.released) {
+            return;
+        }
+        reservation.released = true;
+        reservation.sizes.forEach((store, size) -> reserved.computeIfPresent(store,
+                (key, total) -> total - size > 0 ? total - size : null));
+    }
+
+    public synchronized long getReservedBytes() {
+        return reserved.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    // 목표 비트레이트와 출력 길이로 추정, 알 수 없으면 원본 크기에서 출력 구간 비율만큼
+    long estimateBytes(TranscodingTask task) {
+        if (task.getTaskType() == TranscodingTask.TaskType.ANALYZE
+                || task.getTaskType() == TranscodingTask.TaskType.PACKAGE_MASTER) {
+            return SMALL_TASK_BYTES;
+        }
+
+        long sourceBytes = 0;
+        try {
+            Path source = mediaSourceLocator.find(task.getJobId());
+            if (source != null && Files.isRegularFile(source)) {
+                sourceBytes = Files.size(source);
+            }
+        } catch (IOException e) {
+            log.debug("원본 크기 확인 실패: {}", task.getJobId(), e);
+        }
+        return estimateBytes(task, sourceBytes);
+    }
+
+    static long estimateBytes(TranscodingTask task, long sourceBytes) {
+        MediaMetadata source = task.getSourceMetadata();
+        Double sourceSeconds = source != null ? source.getDuration() : null;
+        Double outputSeconds = getOutputSeconds(task, sourceSeconds);
+
+        double bytes;
+        if (task.getTargetBitrate() != null && task.getTargetBitrate() > 0 && outputSeconds != null) {
+            // 목표 비트레이트(kbps)는 평균값이므로 최대 비트레이트가 아닌 여유율로 보정
+            bytes = (task.getTargetBitrate() * 1000.0 + AUDIO_BITS_PER_SECOND) / 8 * outputSeconds;
+        } else if (sourceSeconds != null && sourceSeconds > 0 && outputSeconds != null) {
+            bytes = sourceBytes * Math.min(1.0, outputSeconds / sourceSeconds);
+        } else {
+            bytes = sourceBytes;
+        }
+        return (long) (bytes * ESTIMATE_MARGIN);
+    }
+
+    private static Double getOutputSeconds(TranscodingTask task, Double sourceSeconds) {
+        if (task.getTaskType() == TranscodingTask.TaskType.CHUNK) {
+            return task.getChunkDuration();
+        }
+        if (task.getClipDuration() != null) {
+            return task.getClipDuration();
+        }
+        if (sourceSeconds != null && task.getClipStart() != null) {
+            return Math.max(0, sourceSeconds - task.getClipStart());
+        }
+        return sourceSeconds;
+    }
+
+    private FileStore getFileStore(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        return Files.getFileStore(dir);
+    }
+
+    private long getUsableSpace(FileStore store) {
+        try {
+            return store.getUsableSpace();
+        } catch (IOException e) {
+            log.warn("디스크 여유 공간 확인 실패: {}", store, e);
+            return Long.MAX_VALUE;
+        }
+    }
+
+    // 태스크 하나(단일 디코딩이면 렌디션 전체)가 예약한 볼륨별 크기
+    public static class Reservation {
+        private final Map<FileStore, Long> sizes;
+        @Getter
+        private final long estimatedBytes;
+        private boolean released;
+
+        private Reservation(Map<FileStore, Long> sizes, long estimatedBytes) {
+            this.sizes = sizes;
+            this.estimatedBytes = estimatedBytes;
+        }
+    }
+}
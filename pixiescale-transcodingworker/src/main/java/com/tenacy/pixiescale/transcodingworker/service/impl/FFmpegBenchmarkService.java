@@ -0,0 +1,240 @@
+package com.tenacy.pixiescale.transcodingworker.service.impl;
+
+import com.tenacy.pixiescale.common.domain.TranscodingTask;
+import com.tenacy.pixiescale.transcodingworker.config.BenchmarkConfig;
+import com.tenacy.pixiescale.transcodingworker.config.FFmpegConfig;
+import com.tenacy.pixiescale.transcodingworker.service.BenchmarkResult;
+import com.tenacy.pixiescale.transcodingworker.service.BenchmarkService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// 프리셋 × 스레드 수 × 동시 실행 수 조합을 기준 영상으로 인코딩하여 코어 시간당 처리 태스크 수를 비교
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FFmpegBenchmarkService implements BenchmarkService {
+
+    private static final Pattern FRAME_PATTERN = Pattern.compile("frame=\\s*(\\d+)");
+    private static final Pattern BENCH_PATTERN = Pattern.compile("bench: utime=([0-9.]+)s stime=([0-9.]+)s");
+
+    private final FFmpegConfig ffmpegConfig;
+    private final BenchmarkConfig benchmarkConfig;
+
+    @Override
+    public Mono<Map<String, Object>> runBenchmark() {
+        return Mono.fromCallable(() -> {
+                    Path corpus = Paths.get(benchmarkConfig.getCorpusPath());
+                    if (!Files.exists(corpus)) {
+                        throw new RuntimeException("벤치마크 기준 영상을 찾을 수 없음: " + corpus);
+                    }
+
+                    int cores = Runtime.getRuntime().availableProcessors();
+                    List<BenchmarkResult> results = new ArrayList<>();
+                    for (String preset : benchmarkConfig.getPresets()) {
+                        for (int threadCount : benchmarkConfig.getThreadCounts()) {
+                            for (int concurrency : benchmarkConfig.getConcurrencies()) {
+                                // 코어 수보다 많은 동시 실행은 처리량을 높이지 못하므로 측정하지 않음
+                                if (concurrency > cores) {
+                                    continue;
+                                }
+                                results.add(runVariant(corpus, preset, threadCount, concurrency, cores));
+                            }
+                        }
+                    }
+
+                    BenchmarkResult best = selectBest(results);
+                    Map<String, Object> report = new HashMap<>();
+                    report.put("cores", cores);
+                    report.put("corpus", corpus.toString());
+                    report.put("sampleSeconds", benchmarkConfig.getSampleSeconds());
+                    report.put("results", results);
+                    report.put("recommended", best);
+                    report.put("applied", best != null && benchmarkConfig.isApplyBest());
+
+                    if (best != null) {
+                        log.info("벤치마크 완료: 권장 프리셋={}, 스레드={}, 동시 실행={} (코어 시간당 {} 태스크)",
+                                best.getPreset(), best.getThreadCount(), best.getConcurrency(),
+                                String.format("%.1f", best.getTasksPerCoreHour()));
+                        if (benchmarkConfig.isApplyBest()) {
+                            // 동시 실행 수는 스케줄러 생성 시 고정되므로 app.transcoding.max-concurrent-tasks로 반영
+                            ffmpegConfig.setCpuPreset(best.getPreset());
+                            ffmpegConfig.setThreadCount(best.getThreadCount());
+                            log.info("벤치마크 결과 적용: cpuPreset={}, threadCount={}", best.getPreset(), best.getThreadCount());
+                        }
+                    }
+                    return report;
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private BenchmarkResult runVariant(Path corpus, String preset, int threadCount, int concurrency, int cores) {
+        log.info("벤치마크 실행: 프리셋={}, 스레드={}, 동시 실행={}", preset, threadCount, concurrency);
+
+        // 운영 설정을 복사해 후보 값만 바꾸고 CPU 인코더로 측정
+        FFmpegConfig variantConfig = new FFmpegConfig();
+        BeanUtils.copyProperties(ffmpegConfig, variantConfig);
+        variantConfig.setCpuPreset(preset);
+        variantConfig.setThreadCount(threadCount);
+        variantConfig.setGpuAcceleration(false);
+        variantConfig.setStreamOutput(false);
+        FFmpegCommandBuilder commandBuilder = new FFmpegCommandBuilder(variantConfig);
+
+        List<Path> outputs = new ArrayList<>();
+        List<Process> processes = new ArrayList<>();
+        List<CompletableFuture<List<String>>> logs = new ArrayList<>();
+        try {
+            Path tempDir = Paths.get(ffmpegConfig.getTempDir());
+            Files.createDirectories(tempDir);
+
+            Instant startTime = Instant.now();
+            for (int i = 0; i < concurrency; i++) {
+                Path output = Files.createTempFile(tempDir, "benchmark-", ".mp4");
+                outputs.add(output);
+
+                List<String> command = commandBuilder.buildFFmpegCommand(
+                        corpus.toString(), output.toString(), createBenchmarkTask(i));
+                // 프로세스 종료 시 사용자/시스템 CPU 시간 출력
+                command.add(1, "-benchmark");
+
+                Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+                processes.add(process);
+                logs.add(CompletableFuture.supplyAsync(() -> readOutput(process)));
+            }
+
+            for (Process process : processes) {
+                if (!process.waitFor(ffmpegConfig.getTimeoutSeconds(), TimeUnit.SECONDS)) {
+                    throw new RuntimeException("벤치마크 처리 시간 초과");
+                }
+                if (process.exitValue() != 0) {
+                    throw new RuntimeException("벤치마크 FFmpeg 처리 실패: 종료 코드 " + process.exitValue());
+                }
+            }
+            double wallSeconds = Duration.between(startTime, Instant.now()).toMillis() / 1000.0;
+
+            long frames = 0;
+            double cpuSeconds = 0;
+            for (CompletableFuture<List<String>> processLog : logs) {
+                frames += parseFrames(processLog.join());
+                cpuSeconds += parseCpuSeconds(processLog.join());
+            }
+            long outputBytes = 0;
+            for (Path output : outputs) {
+                outputBytes += Files.size(output);
+            }
+
+            return BenchmarkResult.builder()
+                    .preset(preset)
+                    .threadCount(threadCount)
+                    .concurrency(concurrency)
+                    .frames(frames)
+                    .wallSeconds(wallSeconds)
+                    .cpuSeconds(cpuSeconds)
+                    .outputBytes(outputBytes / concurrency)
+                    .encodeFps(wallSeconds > 0 ? frames / wallSeconds : 0)
+                    .tasksPerCoreHour(tasksPerCoreHour(concurrency, wallSeconds, cores))
+                    .build();
+        } catch (Exception e) {
+            log.warn("벤치마크 실패: 프리셋={}, 스레드={}, 동시 실행={}", preset, threadCount, concurrency, e);
+            return BenchmarkResult.builder()
+                    .preset(preset)
+                    .threadCount(threadCount)
+                    .concurrency(concurrency)
+                    .error(e.getMessage())
+                    .build();
+        } finally {
+            processes.stream().filter(Process::isAlive).forEach(Process::destroyForcibly);
+            for (Path output : outputs) {
+                try {
+                    Files.deleteIfExists(output);
+                } catch (IOException e) {
+                    log.warn("임시 파일 삭제 실패", e);
+                }
+            }
+        }
+    }
+
+    private TranscodingTask createBenchmarkTask(int index) {
+        return TranscodingTask.builder()
+                .id("benchmark-" + index)
+                .jobId("benchmark")
+                .targetFormat("MP4")
+                .targetWidth(benchmarkConfig.getTargetWidth())
+                .targetHeight(benchmarkConfig.getTargetHeight())
+                .targetBitrate(benchmarkConfig.getTargetBitrate())
+                .clipDuration((double) benchmarkConfig.getSampleSeconds())
+                .build();
+    }
+
+    private List<String> readOutput(Process process) {
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        } catch (IOException e) {
+            log.warn("벤치마크 출력 읽기 실패", e);
+        }
+        return lines;
+    }
+
+    // 마지막 진행 상황의 인코딩 프레임 수
+    static long parseFrames(List<String> lines) {
+        long frames = 0;
+        for (String line : lines) {
+            Matcher matcher = FRAME_PATTERN.matcher(line);
+            while (matcher.find()) {
+                frames = Long.parseLong(matcher.group(1));
+            }
+        }
+        return frames;
+    }
+
+    // -benchmark 출력의 사용자 + 시스템 CPU 시간
+    static double parseCpuSeconds(List<String> lines) {
+        for (String line : lines) {
+            Matcher matcher = BENCH_PATTERN.matcher(line);
+            if (matcher.find()) {
+                return Double.parseDouble(matcher.group(1)) + Double.parseDouble(matcher.group(2));
+            }
+        }
+        return 0;
+    }
+
+    // 호스트 전체 처리량을 코어 수로 나눈 값 (동시 실행 수만큼의 태스크가 wallSeconds에 완료)
+    static double tasksPerCoreHour(int concurrency, double wallSeconds, int cores) {
+        if (wallSeconds <= 0 || cores <= 0) {
+            return 0;
+        }
+        return concurrency * 3600.0 / wallSeconds / cores;
+    }
+
+    static BenchmarkResult selectBest(List<BenchmarkResult> results) {
+        return results.stream()
+                .filter(result -> result.getError() == null && result.getFrames() > 0)
+                .max(Comparator.comparingDouble(BenchmarkResult::getTasksPerCoreHour))
+                .orElse(null);
+    }
+}
@@ -0,0 +1,777 @@
+package com.tenacy.pixiescale.transcodingworker.service.impl;
+
+import com.tenacy.pixiescale.common.domain.MediaMetadata;
+import com.tenacy.pixiescale.common.domain.TranscodingConfig;
+import com.tenacy.pixiescale.common.domain.TranscodingTask;
+import com.tenacy.pixiescale.transcodingworker.config.FFmpegConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+public class FFmpegCommandBuilder {
+
+    public static final String HLS_PLAYLIST_FILENAME = "index.m3u8";
+    public static final String HLS_INIT_FILENAME = "init.mp4";
+    public static final String HLS_SEGMENT_PATTERN = "segment_%05d.m4s";
+    public static final String THUMBNAIL_PATTERN = "thumb_%05d.jpg";
+    public static final String SPRITE_PATTERN = "sprite_%03d.jpg";
+    public static final String PIPE_OUTPUT = "pipe:1"; // 표준 출력으로 기록하여 저장소로 직접 스트리밍
+    public static final String PROGRESS_OUTPUT = "pipe:2"; // 표준 출력은 스트리밍 출력이 사용하므로 표준 에러로 진행 보고
+
+    private final FFmpegConfig ffmpegConfig;
+
+    public List<String> buildFFmpegCommand(String inputPath, String outputPath, TranscodingTask task) {
+        return buildFFmpegCommand(inputPath, outputPath, task, null);
+    }
+
+    // audioPath가 주어지면 미리 인코딩된 오디오 트랙을 재인코딩 없이 병합
+    public List<String> buildFFmpegCommand(String inputPath, String outputPath, TranscodingTask task, String audioPath) {
+        return buildFFmpegCommand(inputPath, outputPath, task, audioPath, null);
+    }
+
+    // thumbnailDir가 주어지면 같은 필터 그래프에서 간격 썸네일과 스프라이트 시트를 함께 출력
+    public List<String> buildFFmpegCommand(String inputPath, String outputPath, TranscodingTask task, String audioPath,
+                                           String thumbnailDir) {
+        if (canRemux(task)) {
+            return buildRemuxCommand(inputPath, outputPath, audioPath, task);
+        }
+        if (task.getTaskType() == TranscodingTask.TaskType.CHUNK) {
+            thumbnailDir = null;
+        }
+
+        List<String> command = new ArrayList<>();
+        command.add(ffmpegConfig.getBinaryPath());
+        if (isLive(task)) {
+            addFollowOptions(command);
+        }
+
+        // 청크는 계획된 구간, 그 외에는 클립 구간만 디코딩
+        if (task.getTaskType() == TranscodingTask.TaskType.CHUNK) {
+            addInputOptions(command, inputPath, task, task.getChunkStart(), task.getChunkDuration());
+        } else {
+            addInputOptions(command, inputPath, task, task.getClipStart(), task.getClipDuration());
+        }
+        if (audioPath != null && task.getTaskType() != TranscodingTask.TaskType.CHUNK) {
+            if (thumbnailDir == null) {
+                addCachedAudioInput(command, audioPath, task);
+            } else {
+                command.add("-i");
+                command.add(audioPath);
+            }
+        } else {
+            audioPath = null;
+        }
+
+        if (thumbnailDir != null) {
+            // 한 번의 디코딩 결과를 렌디션 인코딩과 썸네일 추출로 분기
+            command.add("-filter_complex");
+            command.add(buildThumbnailFilterGraph(task));
+            command.add("-map");
+            command.add("[vout]");
+            command.add("-map");
+            command.add(audioPath != null ? "1:a:0" : getAudioStream(task));
+        } else if (audioPath == null && hasProbedSource(task)) {
+            // 분석 범위를 줄였으므로 기본 스트림 선택 대신 수집 단계에서 확인한 스트림 지정
+            command.add("-map");
+            command.add(getVideoStream(task));
+            if (task.getTaskType() != TranscodingTask.TaskType.CHUNK) {
+                command.add("-map");
+                command.add(getAudioStream(task));
+            }
+        }
+        addVideoEncoderOptions(command, task);
+
+        // 해상도 설정 (썸네일 출력 시 필터 그래프에서 스케일링)
+        if (thumbnailDir == null) {
+            command.add("-s");
+            command.add(task.getTargetWidth() + "x" + task.getTargetHeight());
+        }
+
+        addRateControlOptions(command, task);
+        if (task.getTaskType() == TranscodingTask.TaskType.CHUNK) {
+            // 청크는 영상만 인코딩하고 오디오는 병합 단계에서 한 번만 처리
+            command.add("-an");
+        } else if (audioPath != null) {
+            command.add("-c:a");
+            command.add("copy");
+        } else {
+            addAudioOptions(command);
+        }
+        addOutputOptions(command, task.getPackaging(), isLive(task), outputPath);
+        addPipeFormat(command, task.getTargetFormat(), outputPath);
+
+        command.add(outputPath);
+
+        if (thumbnailDir != null) {
+            addThumbnailOutputs(command, thumbnailDir);
+        }
+
+        return command;
+    }
+
+    // 썸네일 높이는 렌디션 종횡비를 유지하며 짝수로 맞춤 (WebVTT 좌표 계산에도 사용)
+    public int getThumbnailHeight(TranscodingTask task) {
+        int width = ffmpegConfig.getThumbnailWidth();
+        int height = (int) Math.round((double) width * task.getTargetHeight() / task.getTargetWidth() / 2) * 2;
+        return Math.max(2, height);
+    }
+
+    private String buildThumbnailFilterGraph(TranscodingTask task) {
+        return getVideoInputLabel(task) + "split=2[main][thumb];" +
+                "[main]scale=" + task.getTargetWidth() + ":" + task.getTargetHeight() + "[vout];" +
+                "[thumb]fps=1/" + ffmpegConfig.getThumbnailIntervalSeconds() +
+                ",scale=" + ffmpegConfig.getThumbnailWidth() + ":" + getThumbnailHeight(task) +
+                ",split=2[thumbs][tiles];" +
+                "[tiles]tile=" + ffmpegConfig.getSpriteColumns() + "x" + ffmpegConfig.getSpriteRows() + "[sprite]";
+    }
+
+    private void addThumbnailOutputs(List<String> command, String thumbnailDir) {
+        Path outputDir = Paths.get(thumbnailDir);
+
+        command.add("-map");
+        command.add("[thumbs]");
+        command.add("-q:v");
+        command.add("5");
+        command.add("-f");
+        command.add("image2");
+        command.add("-y");
+        command.add(outputDir.resolve(THUMBNAIL_PATTERN).toString());
+
+        command.add("-map");
+        command.add("[sprite]");
+        command.add("-q:v");
+        command.add("5");
+        command.add("-f");
+        command.add("image2");
+        command.add("-y");
+        command.add(outputDir.resolve(SPRITE_PATTERN).toString());
+    }
+
+    // 원본 코덱과 해상도가 목표와 같고 비트레이트가 목표 이하이면 재인코딩이 불필요
+    public boolean canRemux(TranscodingTask task) {
+        if (!ffmpegConfig.isRemuxPassthrough()) {
+            return false;
+        }
+        // 청크/병합 태스크는 구간 인코딩 흐름을 유지
+        if (task.getTaskType() != null && task.getTaskType() != TranscodingTask.TaskType.TRANSCODE) {
+            return false;
+        }
+        // 썸네일 추출에는 디코딩이 필요하므로 함께 인코딩
+        if (Boolean.TRUE.equals(task.getGenerateThumbnails())) {
+            return false;
+        }
+        // 스트림 복사는 키프레임 단위로만 자를 수 있으므로 클립은 인코딩
+        if (isClip(task) || isLive(task)) {
+            return false;
+        }
+
+        MediaMetadata source = task.getSourceMetadata();
+        if (source == null || source.getCodec() == null || source.getWidth() == null || source.getHeight() == null) {
+            return false;
+        }
+        // 영상 스트림 비트레이트를 모르면 컨테이너 비트레이트(오디오 포함, 영상 비트레이트의 상한)로 비교
+        Integer videoBitrate = source.getVideoBitrate() != null ? source.getVideoBitrate() : source.getBitrate();
+        if (videoBitrate == null) {
+            return false;
+        }
+
+        String targetCodec = getTargetCodecName(task.getTargetFormat());
+        return targetCodec.equals(normalizeCodecName(source.getCodec()))
+                && source.getWidth().equals(task.getTargetWidth())
+                && source.getHeight().equals(task.getTargetHeight())
+                && videoBitrate <= task.getTargetBitrate();
+    }
+
+    // 한 번의 디코딩으로 여러 렌디션을 인코딩하는 명령은 단일 파일 출력만 지원 (세그먼트/썸네일/라이브는 렌디션별 처리)
+    public boolean isSingleDecodable(TranscodingTask task) {
+        return task.getPackaging() != TranscodingConfig.PackagingFormat.CMAF_HLS
+                && !Boolean.TRUE.equals(task.getGenerateThumbnails()) && !isLive(task);
+    }
+
+    // 원본 길이가 짧은 단일 파일 출력 태스크만 배치로 묶음 (세그먼트/썸네일/스트림 복사는 개별 처리)
+    public boolean isBatchable(TranscodingTask task) {
+        if (!ffmpegConfig.isBatchEnabled()) {
+            return false;
+        }
+        if (task.getTaskType() != null && task.getTaskType() != TranscodingTask.TaskType.TRANSCODE) {
+            return false;
+        }
+        if (task.getPackaging() == TranscodingConfig.PackagingFormat.CMAF_HLS
+                || Boolean.TRUE.equals(task.getGenerateThumbnails()) || canRemux(task)) {
+            return false;
+        }
+
+        MediaMetadata source = task.getSourceMetadata();
+        return source != null && source.getDuration() != null && source.getDuration() > 0
+                && source.getDuration() <= ffmpegConfig.getBatchMaxInputSeconds();
+    }
+
+    // 영상은 스트림 복사하고 컨테이너만 다시 작성
+    public List<String> buildRemuxCommand(String inputPath, String outputPath, String audioPath, TranscodingTask task) {
+        List<String> command = new ArrayList<>();
+        command.add(ffmpegConfig.getBinaryPath());
+
+        addProbeOptions(command, task);
+        command.add("-i");
+        command.add(inputPath);
+
+        if (audioPath != null) {
+            addCachedAudioInput(command, audioPath, task);
+        } else {
+            command.add("-map");
+            command.add(getVideoStream(task));
+            command.add("-map");
+            command.add(getAudioStream(task));
+        }
+
+        command.add("-c:v");
+        command.add("copy");
+        if (audioPath != null) {
+            command.add("-c:a");
+            command.add("copy");
+        } else {
+            addAudioOptions(command);
+        }
+
+        addContainerOptions(command, task.getPackaging(), outputPath);
+        addPipeFormat(command, task.getTargetFormat(), outputPath);
+        command.add("-y");
+
+        command.add(outputPath);
+
+        return command;
+    }
+
+    // 출력이 긴 일반 트랜스코딩 태스크는 세그먼트 체크포인트를 남기며 인코딩
+    // (썸네일은 같은 디코딩에서 함께 추출하므로 재개할 수 없고, 스트림 복사와 라이브는 대상이 아님)
+    public boolean canCheckpoint(TranscodingTask task, Double outputSeconds) {
+        return ffmpegConfig.isCheckpointEnabled()
+                && (task.getTaskType() == null || task.getTaskType() == TranscodingTask.TaskType.TRANSCODE)
+                && !isLive(task) && !canRemux(task) && !Boolean.TRUE.equals(task.getGenerateThumbnails())
+                && outputSeconds != null && outputSeconds >= ffmpegConfig.getCheckpointMinSeconds();
+    }
+
+    // 영상만 일정 길이의 독립 세그먼트로 인코딩하여 체크포인트 디렉토리에 기록 (오디오는 병합 단계에서 추가)
+    // resumeSeconds: 이미 완료된 출력 길이, 입력 탐색으로 그 지점부터 이어서 인코딩
+    public List<String> buildCheckpointSegmentCommand(String inputPath, String checkpointDir, String segmentListPath,
+                                                      int startNumber, double resumeSeconds, TranscodingTask task) {
+        List<String> command = new ArrayList<>();
+        command.add(ffmpegConfig.getBinaryPath());
+
+        double clipStart = task.getClipStart() != null ? task.getClipStart() : 0;
+        Double seekStart = resumeSeconds > 0 || task.getClipStart() != null ? clipStart + resumeSeconds : null;
+        Double seekDuration = task.getClipDuration() != null ? task.getClipDuration() - resumeSeconds : null;
+        addInputOptions(command, inputPath, task, seekStart, seekDuration);
+
+        command.add("-map");
+        command.add(getVideoStream(task));
+        addVideoEncoderOptions(command, task);
+        command.add("-s");
+        command.add(task.getTargetWidth() + "x" + task.getTargetHeight());
+        addRateControlOptions(command, task);
+        command.add("-an");
+        command.add("-g");
+        command.add("48");
+        command.add("-sc_threshold");
+        command.add("0");
+
+        // 세그먼트를 닫을 때마다 목록 파일에 항목이 추가되므로 목록에 있는 세그먼트는 완성된 것
+        command.add("-f");
+        command.add("segment");
+        command.add("-segment_time");
+        command.add(String.valueOf(ffmpegConfig.getCheckpointSegmentSeconds()));
+        command.add("-segment_format");
+        command.add("mp4");
+        command.add("-segment_list");
+        command.add(segmentListPath);
+        command.add("-segment_list_type");
+        command.add("csv");
+        command.add("-segment_start_number");
+        command.add(String.valueOf(startNumber));
+        command.add("-reset_timestamps");
+        command.add("1");
+        command.add("-y");
+
+        command.add(Paths.get(checkpointDir).resolve(SegmentCheckpoint.SEGMENT_PATTERN).toString());
+
+        return command;
+    }
+
+    // 단일 파일 출력을 임시 파일 없이 표준 출력으로 내보낼 수 있는 태스크 (세그먼트/청크/라이브는 파일로 기록)
+    public boolean canStreamOutput(TranscodingTask task) {
+        return ffmpegConfig.isStreamOutput()
+                && task.getPackaging() != TranscodingConfig.PackagingFormat.CMAF_HLS
+                && (task.getTaskType() == null || task.getTaskType() == TranscodingTask.TaskType.TRANSCODE)
+                && !isLive(task);
+    }
+
+    // 콘텐츠 복잡도 측정용: 샘플 구간을 저해상도 고정 품질(CRF)로 빠르게 인코딩
+    public List<String> buildProbeCommand(String inputPath, String outputPath, double start, double duration) {
+        List<String> command = new ArrayList<>();
+        command.add(ffmpegConfig.getBinaryPath());
+
+        command.add("-ss");
+        command.add(String.format(Locale.ROOT, "%.3f", start));
+        command.add("-t");
+        command.add(String.format(Locale.ROOT, "%.3f", duration));
+        command.add("-i");
+        command.add(inputPath);
+
+        command.add("-map");
+        command.add("0:v:0");
+        command.add("-vf");
+        command.add("scale=-2:" + ffmpegConfig.getProbeHeight());
+        command.add("-c:v");
+        command.add("libx264");
+        command.add("-preset");
+        command.add("veryfast");
+        command.add("-crf");
+        command.add(String.valueOf(ffmpegConfig.getProbeCrf()));
+        command.add("-an");
+        command.add("-y");
+
+        command.add(outputPath);
+
+        return command;
+    }
+
+    // 원본의 첫 번째 오디오 트랙만 인코딩하여 렌디션 간 공유할 오디오 파일 생성
+    public List<String> buildAudioExtractCommand(String inputPath, String outputPath) {
+        List<String> command = new ArrayList<>();
+        command.add(ffmpegConfig.getBinaryPath());
+
+        command.add("-i");
+        command.add(inputPath);
+
+        command.add("-map");
+        command.add("0:a:0");
+        command.add("-vn");
+        addAudioOptions(command);
+        command.add("-y");
+
+        command.add(outputPath);
+
+        return command;
+    }
+
+    public List<String> buildConcatCommand(String concatListPath, String sourcePath, String outputPath) {
+        return buildConcatCommand(concatListPath, sourcePath, null, outputPath, null);
+    }
+
+    public boolean isLive(TranscodingTask task) {
+        return Boolean.TRUE.equals(task.getLiveInput());
+    }
+
+    public boolean isClip(TranscodingTask task) {
+        return task.getClipStart() != null || task.getClipDuration() != null;
+    }
+
+    // 원본 분석 결과 오디오 스트림이 없으면 false (분석 정보가 없으면 있다고 가정)
+    public boolean hasAudio(TranscodingTask task) {
+        return !hasProbedSource(task) || task.getSourceMetadata().getAudioStreamIndex() != null;
+    }
+
+    // 청크 영상을 스트림 복사로 이어 붙이고 오디오를 병합 (캐시된 오디오가 없으면 원본에서 한 번만 인코딩)
+    public List<String> buildConcatCommand(String concatListPath, String sourcePath, String audioPath, String outputPath,
+                                           TranscodingTask task) {
+        TranscodingConfig.PackagingFormat packaging = task != null ? task.getPackaging() : null;
+
+        List<String> command = new ArrayList<>();
+        command.add(ffmpegConfig.getBinaryPath());
+
+        command.add("-f");
+        command.add("concat");
+        command.add("-safe");
+        command.add("0");
+        command.add("-i");
+        command.add(concatListPath);
+
+        // 클립 작업은 원본 오디오도 같은 구간만 사용
+        if (audioPath == null && task != null) {
+            addSeekOptions(command, task.getClipStart(), task.getClipDuration());
+        }
+        command.add("-i");
+        command.add(audioPath != null ? audioPath : sourcePath);
+
+        command.add("-map");
+        command.add("0:v:0");
+        command.add("-map");
+        command.add("1:a:0?");
+
+        command.add("-c:v");
+        command.add("copy");
+        if (audioPath != null) {
+            command.add("-c:a");
+            command.add("copy");
+        } else {
+            addAudioOptions(command);
+        }
+
+        addContainerOptions(command, packaging, outputPath);
+        command.add("-y");
+
+        command.add(outputPath);
+
+        return command;
+    }
+
+    // 한 번의 디코딩 결과를 split 필터로 나눠 렌디션별로 스케일링 및 인코딩
+    public List<String> buildSingleDecodeCommand(String inputPath, Map<TranscodingTask, String> outputs) {
+        return buildSingleDecodeCommand(inputPath, outputs, null);
+    }
+
+    // audioPath가 주어지면 미리 인코딩된 오디오 트랙을 모든 출력에 재인코딩 없이 병합 (없으면 출력마다 같은 설정으로 인코딩)
+    public List<String> buildSingleDecodeCommand(String inputPath, Map<TranscodingTask, String> outputs,
+                                                 String audioPath) {
+        List<String> command = new ArrayList<>();
+        command.add(ffmpegConfig.getBinaryPath());
+
+        TranscodingTask firstTask = outputs.keySet().iterator().next();
+        addInputOptions(command, inputPath, firstTask, firstTask.getClipStart(), firstTask.getClipDuration());
+        if (audioPath != null) {
+            command.add("-i");
+            command.add(audioPath);
+        }
+
+        List<TranscodingTask> tasks = new ArrayList<>(outputs.keySet());
+        StringBuilder filterGraph = new StringBuilder(getVideoInputLabel(firstTask)).append("split=")
+                .append(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            filterGraph.append("[s").append(i).append("]");
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            TranscodingTask task = tasks.get(i);
+            filterGraph.append(";[s").append(i).append("]scale=")
+                    .append(task.getTargetWidth()).append(":").append(task.getTargetHeight())
+                    .append("[v").append(i).append("]");
+        }
+
+        command.add("-filter_complex");
+        command.add(filterGraph.toString());
+
+        // 출력별 옵션은 해당 출력 파일 앞에 위치해야 함
+        for (int i = 0; i < tasks.size(); i++) {
+            TranscodingTask task = tasks.get(i);
+
+            command.add("-map");
+            command.add("[v" + i + "]");
+            command.add("-map");
+            command.add(audioPath != null ? "1:a:0" : getAudioStream(firstTask));
+
+            addVideoEncoderOptions(command, task);
+            addRateControlOptions(command, task);
+            if (audioPath != null) {
+                command.add("-c:a");
+                command.add("copy");
+            } else {
+                addAudioOptions(command);
+            }
+            addOutputOptions(command, null, outputs.get(task));
+
+            command.add(outputs.get(task));
+        }
+
+        return command;
+    }
+
+    // 서로 다른 짧은 입력 여러 개를 한 프로세스에서 인코딩 (입력 i는 출력 i에만 매핑)
+    public List<String> buildBatchCommand(Map<TranscodingTask, String> inputs, Map<TranscodingTask, String> outputs) {
+        List<String> command = new ArrayList<>();
+        command.add(ffmpegConfig.getBinaryPath());
+
+        // 짧은 입력은 기본 분석 길이/프로브 크기보다 작으므로 분석 범위를 줄여 입력 열기 시간 단축
+        List<TranscodingTask> tasks = new ArrayList<>(outputs.keySet());
+        for (TranscodingTask task : tasks) {
+            addInputOptions(command, inputs.get(task), task.getClipStart(), task.getClipDuration(),
+                    ffmpegConfig.getBatchAnalyzeDuration(), ffmpegConfig.getBatchProbeSize());
+        }
+
+        for (int i = 0; i < tasks.size(); i++) {
+            TranscodingTask task = tasks.get(i);
+
+            command.add("-map");
+            command.add(i + ":v:0");
+            command.add("-map");
+            command.add(i + ":a:0?");
+
+            addVideoEncoderOptions(command, task);
+            command.add("-s");
+            command.add(task.getTargetWidth() + "x" + task.getTargetHeight());
+            addRateControlOptions(command, task);
+            addAudioOptions(command);
+            addOutputOptions(command, null, outputs.get(task));
+
+            command.add(outputs.get(task));
+        }
+
+        return command;
+    }
+
+    // 수집 단계에서 분석한 원본 정보가 있으면 입력 분석 범위를 최소화
+    private void addInputOptions(List<String> command, String inputPath, TranscodingTask task, Double seekStart,
+                                 Double seekDuration) {
+        if (hasProbedSource(task)) {
+            addInputOptions(command, inputPath, seekStart, seekDuration,
+                    ffmpegConfig.getProbedAnalyzeDuration(), ffmpegConfig.getProbedProbeSize());
+        } else {
+            addInputOptions(command, inputPath, seekStart, seekDuration,
+                    ffmpegConfig.getAnalyzeDuration(), ffmpegConfig.getBufferSize());
+        }
+    }
+
+    private void addProbeOptions(List<String> command, TranscodingTask task) {
+        if (hasProbedSource(task)) {
+            command.add("-analyzeduration");
+            command.add(String.valueOf(ffmpegConfig.getProbedAnalyzeDuration()));
+            command.add("-probesize");
+            command.add(ffmpegConfig.getProbedProbeSize() + "M");
+        }
+    }
+
+    // 태스크 이벤트로 전달된 원본 스트림 정보 (라이브 입력은 기록 중이므로 매번 분석)
+    private boolean hasProbedSource(TranscodingTask task) {
+        MediaMetadata source = task.getSourceMetadata();
+        return source != null && source.getVideoStreamIndex() != null && source.getCodec() != null
+                && source.getDuration() != null && !isLive(task);
+    }
+
+    // 스트림 번호를 알면 번호로, 모르면 첫 번째 영상/모든 오디오(없어도 됨)
+    private String getVideoStream(TranscodingTask task) {
+        return hasProbedSource(task) ? "0:" + task.getSourceMetadata().getVideoStreamIndex() : "0:v:0";
+    }
+
+    private String getVideoInputLabel(TranscodingTask task) {
+        return hasProbedSource(task) ? "[" + getVideoStream(task) + "]" : "[0:v]";
+    }
+
+    private String getAudioStream(TranscodingTask task) {
+        if (hasProbedSource(task) && task.getSourceMetadata().getAudioStreamIndex() != null) {
+            return "0:" + task.getSourceMetadata().getAudioStreamIndex();
+        }
+        return "0:a?";
+    }
+
+    private void addInputOptions(List<String> command, String inputPath, Double seekStart, Double seekDuration,
+                                 int analyzeDuration, int probeSize) {
+        // 메모리 최적화
+        command.add("-threads");
+        command.add(String.valueOf(ffmpegConfig.getThreadCount()));
+
+        // GPU 가속 설정
+        if (ffmpegConfig.isGpuAcceleration()) {
+            command.add("-hwaccel");
+            command.add("cuda");
+            command.add("-hwaccel_device");
+            command.add(ffmpegConfig.getGpuDevice());
+        }
+
+        // 입력 파일 분석 설정
+        command.add("-analyzeduration");
+        command.add(String.valueOf(analyzeDuration));
+
+        command.add("-probesize");
+        command.add(probeSize + "M");
+
+        // 스레드 큐 크기 설정
+        command.add("-thread_queue_size");
+        command.add(String.valueOf(ffmpegConfig.getThreadQueueSize()));
+
+        // 청크/클립 구간 설정 (입력 앞에 두어 해당 구간만 디코딩)
+        addSeekOptions(command, seekStart, seekDuration);
+
+        // 입력 파일
+        command.add("-i");
+        command.add(inputPath);
+    }
+
+    // 기록 중인 입력: 끝에 도달해도 종료하지 않고 새 데이터를 기다리며, 일정 시간 늘어나지 않으면 입력 종료로 처리
+    private void addFollowOptions(List<String> command) {
+        command.add("-follow");
+        command.add("1");
+        command.add("-rw_timeout");
+        command.add(String.valueOf(ffmpegConfig.getLiveIdleTimeoutSeconds() * 1000000L));
+    }
+
+    // 기계가 읽을 수 있는 진행 보고(out_time_us, speed 등)를 추가하고 사람용 통계 줄은 끔
+    public List<String> withProgressOutput(List<String> command) {
+        List<String> result = new ArrayList<>(command);
+        result.addAll(1, List.of("-progress", PROGRESS_OUTPUT, "-nostats"));
+        return result;
+    }
+
+    // 표준 출력은 확장자로 컨테이너를 추론할 수 없으므로 명시
+    private void addPipeFormat(List<String> command, String targetFormat, String outputPath) {
+        if (!PIPE_OUTPUT.equals(outputPath)) {
+            return;
+        }
+        command.add("-f");
+        command.add("VP9".equalsIgnoreCase(targetFormat) || "WebM".equalsIgnoreCase(targetFormat) ? "webm" : "mp4");
+    }
+
+    // 입력 탐색: 구간 앞 키프레임부터 디코딩하고 시작 시점 이전 프레임은 버려 프레임 단위로 정확하게 자름
+    private void addSeekOptions(List<String> command, Double seekStart, Double seekDuration) {
+        if (seekStart != null) {
+            command.add("-ss");
+            command.add(String.format(Locale.ROOT, "%.3f", seekStart));
+        }
+        if (seekDuration != null) {
+            command.add("-t");
+            command.add(String.format(Locale.ROOT, "%.3f", seekDuration));
+        }
+    }
+
+    // 두 번째 입력으로 캐시된 오디오를 추가하고 영상은 첫 번째 입력에서 사용
+    private void addCachedAudioInput(List<String> command, String audioPath, TranscodingTask task) {
+        command.add("-i");
+        command.add(audioPath);
+        command.add("-map");
+        command.add(getVideoStream(task));
+        command.add("-map");
+        command.add("1:a:0");
+    }
+
+    private void addVideoEncoderOptions(List<String> command, TranscodingTask task) {
+        // 인코딩 설정
+        command.add("-c:v");
+        if (ffmpegConfig.isGpuAcceleration()) {
+            // GPU 가속 인코더 설정
+            if ("H.264".equalsIgnoreCase(task.getTargetFormat()) || "MP4".equalsIgnoreCase(task.getTargetFormat())) {
+                command.add("h264_nvenc");
+                command.add("-preset");
+                command.add(ffmpegConfig.getGpuPreset());
+            } else if ("H.265".equalsIgnoreCase(task.getTargetFormat()) || "HEVC".equalsIgnoreCase(task.getTargetFormat())) {
+                command.add("hevc_nvenc");
+                command.add("-preset");
+                command.add(ffmpegConfig.getGpuPreset());
+            }
+        } else {
+            // CPU 인코더 설정
+            if ("H.264".equalsIgnoreCase(task.getTargetFormat()) || "MP4".equalsIgnoreCase(task.getTargetFormat())) {
+                command.add("libx264");
+                command.add("-preset");
+                command.add(ffmpegConfig.getCpuPreset());
+                command.add("-tune");
+                command.add("fastdecode");
+                command.add("-crf");
+                command.add("28");
+            } else if ("H.265".equalsIgnoreCase(task.getTargetFormat()) || "HEVC".equalsIgnoreCase(task.getTargetFormat())) {
+                command.add("libx265");
+                command.add("-preset");
+                command.add(ffmpegConfig.getCpuPreset());
+                command.add("-x265-params");
+                command.add("log-level=error");
+            } else if ("VP9".equalsIgnoreCase(task.getTargetFormat()) || "WebM".equalsIgnoreCase(task.getTargetFormat())) {
+                command.add("libvpx-vp9");
+                command.add("-speed");
+                command.add("4");
+                command.add("-tile-columns");
+                command.add("2");
+                command.add("-frame-parallel");
+                command.add("1");
+            } else {
+                command.add("libx264");
+                command.add("-preset");
+                command.add(ffmpegConfig.getCpuPreset());
+            }
+            // 인코더 스레드 수 (지정하지 않으면 인코더가 호스트 전체 코어 수만큼 스레드를 생성)
+            command.add("-threads");
+            command.add(String.valueOf(ffmpegConfig.getThreadCount()));
+        }
+    }
+
+    private String getTargetCodecName(String format) {
+        if ("H.265".equalsIgnoreCase(format) || "HEVC".equalsIgnoreCase(format)) {
+            return "hevc";
+        } else if ("VP9".equalsIgnoreCase(format) || "WebM".equalsIgnoreCase(format)) {
+            return "vp9";
+        } else {
+            return "h264"; // H.264, MP4 및 기본값
+        }
+    }
+
+    // ffmpeg 스트림 정보의 코덱 표기 (예: "h264 (High) (avc1 / 0x31637661)") 에서 코덱 이름만 추출
+    private String normalizeCodecName(String codec) {
+        String name = codec.trim().split("\\s+")[0].toLowerCase(Locale.ROOT);
+        if ("avc".equals(name) || "avc1".equals(name)) {
+            return "h264";
+        } else if ("h265".equals(name) || "hvc1".equals(name) || "hev1".equals(name)) {
+            return "hevc";
+        }
+        return name;
+    }
+
+    private void addRateControlOptions(List<String> command, TranscodingTask task) {
+        // 비트레이트 설정
+        command.add("-b:v");
+        command.add(task.getTargetBitrate() + "k");
+        command.add("-maxrate");
+        command.add((int)(task.getTargetBitrate() * 1.2) + "k");
+        command.add("-bufsize");
+        command.add((int)(task.getTargetBitrate() * 1.5) + "k");
+    }
+
+    private void addAudioOptions(List<String> command) {
+        // 오디오 설정
+        command.add("-c:a");
+        command.add("aac");
+        command.add("-b:a");
+        command.add("96k");
+        command.add("-ar");
+        command.add("44100");
+    }
+
+    private void addOutputOptions(List<String> command, TranscodingConfig.PackagingFormat packaging, String outputPath) {
+        addOutputOptions(command, packaging, false, outputPath);
+    }
+
+    private void addOutputOptions(List<String> command, TranscodingConfig.PackagingFormat packaging, boolean live,
+                                  String outputPath) {
+        // 기타 설정
+        addContainerOptions(command, packaging, live, outputPath);
+        command.add("-g");
+        command.add("48");
+        command.add("-sc_threshold");
+        command.add("0");
+        command.add("-y");
+    }
+
+    private void addContainerOptions(List<String> command, TranscodingConfig.PackagingFormat packaging, String outputPath) {
+        addContainerOptions(command, packaging, false, outputPath);
+    }
+
+    private void addContainerOptions(List<String> command, TranscodingConfig.PackagingFormat packaging, boolean live,
+                                     String outputPath) {
+        if (packaging != TranscodingConfig.PackagingFormat.CMAF_HLS) {
+            command.add("-movflags");
+            // 표준 출력은 되돌아가 쓸 수 없으므로 moov를 앞에 두고 키프레임 단위 조각으로 기록 (faststart 재작성 불필요)
+            command.add(PIPE_OUTPUT.equals(outputPath) ? "frag_keyframe+empty_moov+default_base_moof" : "+faststart");
+            return;
+        }
+
+        // CMAF: 초기화 세그먼트 + fMP4 미디어 세그먼트와 미디어 플레이리스트를 출력 디렉토리에 기록
+        // (라이브는 세그먼트가 완성될 때마다 항목이 추가되는 EVENT 플레이리스트)
+        Path outputDir = Paths.get(outputPath).toAbsolutePath().getParent();
+        command.add("-f");
+        command.add("hls");
+        command.add("-hls_time");
+        command.add(String.valueOf(ffmpegConfig.getHlsSegmentSeconds()));
+        command.add("-hls_playlist_type");
+        command.add(live ? "event" : "vod");
+        command.add("-hls_segment_type");
+        command.add("fmp4");
+        command.add("-hls_fmp4_init_filename");
+        command.add(HLS_INIT_FILENAME);
+        command.add("-hls_segment_filename");
+        command.add(outputDir.resolve(HLS_SEGMENT_PATTERN).toString());
+        command.add("-hls_flags");
+        command.add("independent_segments");
+    }
+}
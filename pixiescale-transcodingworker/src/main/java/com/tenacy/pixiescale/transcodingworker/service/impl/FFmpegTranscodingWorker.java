@@ -1,5 +1,7 @@
 package com.tenacy.pixiescale.transcodingworker.service.impl;
 
+import com.tenacy.pixiescale.common.domain.ResourceUsage;
+import com.tenacy.pixiescale.common.domain.TranscodingConfig;
 import com.tenacy.pixiescale.common.domain.TranscodingTask;
 import com.tenacy.pixiescale.transcodingworker.config.FFmpegConfig;
 import com.tenacy.pixiescale.transcodingworker.service.MetricsService;
@@ -7,13 +9,15 @@ import com.tenacy.pixiescale.transcodingworker.service.StorageService;
 import com.tenacy.pixiescale.transcodingworker.service.TranscodingWorker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Scheduler;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -22,70 +26,150 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class FFmpegTranscodingWorker implements TranscodingWorker {
 
+    private static final long PROGRESS_CHECK_MILLIS = 1000;
+
     private final FFmpegConfig ffmpegConfig;
+    private final FFmpegCommandBuilder commandBuilder;
+    private final AudioTrackCache audioTrackCache;
+    private final MasterPlaylistBuilder masterPlaylistBuilder;
+    private final ThumbnailVttBuilder thumbnailVttBuilder;
+    private final LiveSegmentPublisher liveSegmentPublisher;
+    private final CpuBudget cpuBudget;
+    private final RunningTaskRegistry runningTaskRegistry;
+    private final MediaSourceLocator mediaSourceLocator;
+    private final SourceCache sourceCache;
+    private final ScratchSpace scratchSpace;
     private final StorageService storageService;
     private final MetricsService metricsService;
     private final Scheduler transcodingScheduler;
 
-    @Value("${app.media.source-dir}")
-    private String sourceMediaDir;
-
     @Override
     public Mono<TranscodingTask> processTask(TranscodingTask task) {
         metricsService.taskReceived(task);
 
+        if (task.getTaskType() == TranscodingTask.TaskType.CONCAT) {
+            return processConcat(task);
+        }
+        if (task.getTaskType() == TranscodingTask.TaskType.ANALYZE) {
+            return processAnalysis(task);
+        }
+        if (task.getTaskType() == TranscodingTask.TaskType.PACKAGE_MASTER) {
+            return processMasterPlaylist(task);
+        }
+        return processTranscode(task);
+    }
+
+    private Mono<TranscodingTask> processTranscode(TranscodingTask task) {
+        Path[] thumbnailDir = new Path[1];
+        Path[] tempOutput = new Path[1];
+        Path[] checkpointDir = new Path[1];
+
         return Mono.fromCallable(() -> {
+                    // 취소된 작업이나 다른 워커의 시도가 먼저 완료되어 중단 요청된 시도는 실행하지 않음
+                    startTask(task);
+
                     // 작업 시작 시간 측정
                     Instant startTime = Instant.now();
                     metricsService.taskStarted(task);
                     log.info("트랜스코딩 작업 시작: {} (포맷: {}, 해상도: {}x{})",
                             task.getId(), task.getTargetFormat(), task.getTargetWidth(), task.getTargetHeight());
+                    if (commandBuilder.canRemux(task)) {
+                        log.info("원본이 목표 사양과 일치하여 스트림 복사로 처리: {}", task.getId());
+                    }
 
                     // 입력 파일 경로 결정
-                    String mediaId = extractMediaId(task.getJobId());
-                    Path mediaDir = Paths.get(sourceMediaDir);
-                    Path inputPath = findMediaFile(mediaDir, mediaId);
-
-                    if (inputPath == null) {
-                        throw new RuntimeException("미디어 파일을 찾을 수 없음: " + mediaId);
-                    }
+                    Path inputPath = resolveInputPath(task);
 
                     // 입력 파일 크기 측정 (로깅용)
                     long fileSize = Files.size(inputPath);
                     log.info("입력 파일 크기: {} bytes", fileSize);
 
-                    // 임시 출력 파일 생성
-                    Path tempOutputPath = createTempFile(null, "output", task);
+                    // 임시 출력 파일 생성 (세그먼트 패키징은 임시 디렉토리, 스트리밍 출력은 임시 파일 없음,
+                    // 체크포인트 출력은 세그먼트를 병합한 결과를 임시 파일에 기록)
+                    boolean checkpointing = commandBuilder.canCheckpoint(task, getOutputDuration(task));
+                    boolean streaming = !checkpointing && commandBuilder.canStreamOutput(task);
+                    Path tempOutputPath = streaming ? null : createTempOutput(task, fileSize);
+                    tempOutput[0] = tempOutputPath;
+
+                    // 작업 단위로 공유하는 오디오 트랙 (청크는 오디오를 사용하지 않고, 클립은 구간 오디오만 인코딩하며,
+                    // 라이브는 원본 전체를 미리 읽을 수 없음)
+                    Path audioPath = task.getTaskType() == TranscodingTask.TaskType.CHUNK || commandBuilder.isClip(task)
+                            || commandBuilder.isLive(task)
+                            ? null : resolveSharedAudio(task, inputPath);
+
+                    // 썸네일 출력 디렉토리 (같은 디코딩 결과에서 추출)
+                    if (Boolean.TRUE.equals(task.getGenerateThumbnails())
+                            && task.getTaskType() != TranscodingTask.TaskType.CHUNK) {
+                        thumbnailDir[0] = Files.createTempDirectory(Paths.get(ffmpegConfig.getTempDir()), "thumbs-");
+                    }
+
+                    // 긴 출력: 출력 볼륨에 세그먼트 체크포인트를 남기며 인코딩하고, 재전달되면 마지막 완료 세그먼트부터 이어서 처리
+                    if (checkpointing) {
+                        checkpointDir[0] = resolveCheckpointDir(task);
+                        executeCheckpointedCommand(task, inputPath, audioPath, checkpointDir[0], tempOutputPath);
+
+                        long outputSize = getOutputSize(tempOutputPath);
+                        log.info("출력 파일 크기: {} bytes (체크포인트 세그먼트 병합)", outputSize);
+                        return new Object[] {tempOutputPath, generateOutputFilename(task), startTime, fileSize, outputSize};
+                    }
 
                     // FFmpeg 명령 구성 및 실행
-                    List<String> command = buildFFmpegCommand(
+                    List<String> command = commandBuilder.buildFFmpegCommand(
                             inputPath.toString(),
-                            tempOutputPath.toString(),
-                            task
+                            streaming ? FFmpegCommandBuilder.PIPE_OUTPUT : resolveOutputFile(tempOutputPath).toString(),
+                            task,
+                            audioPath != null ? audioPath.toString() : null,
+                            thumbnailDir[0] != null ? thumbnailDir[0].toString() : null
                     );
 
+                    // 출력 파일 이름 생성
+                    String outputFilename = generateOutputFilename(task);
+
+                    // 스트리밍 출력: 표준 출력을 저장소에 바로 기록하여 출력당 디스크 쓰기를 한 번으로 줄임
+                    if (streaming) {
+                        String storedPath = executeStreamingCommand(task, command, outputFilename,
+                                getExpectedDuration(task));
+                        if (thumbnailDir[0] != null) {
+                            writeThumbnailIndex(task, thumbnailDir[0]);
+                        }
+
+                        long outputSize = Files.size(storageService.resolve(storedPath));
+                        log.info("출력 파일 크기: {} bytes (저장소로 직접 기록)", outputSize);
+                        return new Object[] {null, storedPath, startTime, fileSize, outputSize};
+                    }
+
                     // FFmpeg 프로세스 실행 및 결과 처리
-                    executeFFmpegCommand(command, tempOutputPath);
+                    if (commandBuilder.isLive(task) && Files.isDirectory(tempOutputPath)) {
+                        executeLiveCommand(task, command, tempOutputPath);
+                    } else {
+                        executeFFmpegCommand(task, command, tempOutputPath, getExpectedDuration(task));
+                    }
+                    if (thumbnailDir[0] != null) {
+                        writeThumbnailIndex(task, thumbnailDir[0]);
+                    }
 
                     // 출력 파일 크기 측정
-                    long outputSize = Files.size(tempOutputPath);
+                    long outputSize = getOutputSize(tempOutputPath);
                     log.info("출력 파일 크기: {} bytes, 압축률: {}",
                             outputSize,
                             String.format("%.2f%%", (1 - (double)outputSize/fileSize) * 100));
 
-                    // 출력 파일 이름 생성
-                    String outputFilename = generateOutputFilename(task);
-
                     // 저장 경로 및 임시 파일 반환
                     return new Object[] {tempOutputPath, outputFilename, startTime, fileSize, outputSize};
                 })
@@ -96,65 +180,824 @@ public class FFmpegTranscodingWorker implements TranscodingWorker {
                     long fileSize = (long) resultArray[3];
                     long outputSize = (long) resultArray[4];
 
-                    // 저장소에 파일 저장
-                    return storageService.store(tempOutputPath, outputFilename)
-                            .doOnNext(storedPath -> {
-                                // 태스크 상태 업데이트
-                                task.setOutputPath(storedPath);
-                                task.setStatus(TranscodingTask.TaskStatus.COMPLETED);
-                                task.setCompletedAt(LocalDateTime.now());
-                            })
-                            .doOnSuccess(storedPath -> {
-                                try {
-                                    // 임시 파일 정리
-                                    Files.deleteIfExists(tempOutputPath);
-                                } catch (IOException e) {
-                                    log.warn("임시 파일 삭제 실패", e);
-                                }
-
-                                // 작업 완료 메트릭 기록
-                                Duration processingTime = Duration.between(startTime, Instant.now());
-                                metricsService.taskCompleted(task, processingTime);
-                                log.info("트랜스코딩 완료: {} - 입력: {} bytes, 출력: {} bytes, 소요시간: {} ms",
-                                        task.getId(), fileSize, outputSize, processingTime.toMillis());
-                            })
-                            .thenReturn(task);
+                    // 스트리밍 출력은 이미 저장소에 기록됨
+                    if (tempOutputPath == null) {
+                        return Mono.just(completeTask(task, outputFilename, startTime, fileSize, outputSize));
+                    }
+                    return storeOutput(task, tempOutputPath, outputFilename, startTime, fileSize, outputSize);
                 })
+                .doOnNext(completedTask -> {
+                    // 저장까지 끝난 뒤에만 체크포인트 삭제
+                    if (checkpointDir[0] != null) {
+                        SegmentCheckpoint.delete(checkpointDir[0]);
+                    }
+                })
+                .flatMap(completedTask -> thumbnailDir[0] != null
+                        ? storeThumbnails(completedTask, thumbnailDir[0]) : Mono.just(completedTask))
                 .onErrorResume(e -> {
                     log.error("트랜스코딩 작업 실패: {}", task.getId(), e);
                     task.setStatus(TranscodingTask.TaskStatus.FAILED);
-                    task.setErrorMessage(e.getMessage());
+                    task.setErrorMessage(getFailureMessage(task, e));
                     task.setCompletedAt(LocalDateTime.now());
                     metricsService.taskFailed(task);
+                    // 중단되거나 실패한 출력은 저장하지 않으므로 임시 출력 정리 (저장 후에는 이미 삭제됨)
+                    if (tempOutput[0] != null) {
+                        deleteTempOutput(tempOutput[0]);
+                    }
+                    // 체크포인트는 재전달에 대비해 남기되 (보관 시간 후 정리), 취소되거나 다른 시도가 완료된 태스크는 재개되지 않음
+                    if (checkpointDir[0] != null && (runningTaskRegistry.isJobCancelled(task.getJobId())
+                            || runningTaskRegistry.isAborted(task))) {
+                        SegmentCheckpoint.delete(checkpointDir[0]);
+                    }
                     return Mono.just(task);
                 })
+                .doFinally(signal -> {
+                    runningTaskRegistry.finish(task);
+                    releaseInput(task);
+                    scratchSpace.release(task.getId());
+                    if (thumbnailDir[0] != null) {
+                        deleteTempOutput(thumbnailDir[0]);
+                    }
+                })
+                .subscribeOn(transcodingScheduler);
+    }
+
+    @Override
+    public Flux<TranscodingTask> processJob(List<TranscodingTask> tasks) {
+        // 세그먼트 패키징, 썸네일, 라이브 입력은 단일 디코딩 명령으로 처리할 수 없으므로 렌디션별로 처리
+        if (!tasks.stream().allMatch(commandBuilder::isSingleDecodable)) {
+            log.warn("단일 디코딩으로 처리할 수 없는 렌디션이 있어 렌디션별로 처리: {}", tasks.get(0).getJobId());
+            return Flux.fromIterable(tasks).concatMap(this::processTask);
+        }
+        tasks.forEach(metricsService::taskReceived);
+
+        Map<TranscodingTask, Path> tempOutputs = new LinkedHashMap<>();
+        Instant startTime = Instant.now();
+
+        return Mono.fromCallable(() -> {
+                    // 모든 렌디션을 등록하여 작업 취소 시 공유 프로세스를 종료할 수 있도록 함
+                    for (TranscodingTask task : tasks) {
+                        startTask(task);
+                    }
+                    tasks.forEach(metricsService::taskStarted);
+                    TranscodingTask firstTask = tasks.get(0);
+                    log.info("단일 디코딩 트랜스코딩 시작: {} (포맷: {}, 렌디션 수: {})",
+                            firstTask.getJobId(), firstTask.getTargetFormat(), tasks.size());
+
+                    // 입력 파일 경로 결정 (모든 렌디션이 같은 원본을 사용)
+                    Path inputPath = resolveInputPath(firstTask);
+
+                    long fileSize = Files.size(inputPath);
+                    log.info("입력 파일 크기: {} bytes", fileSize);
+
+                    // 렌디션별 임시 출력 파일 생성
+                    Map<TranscodingTask, String> outputs = new LinkedHashMap<>();
+                    for (TranscodingTask task : tasks) {
+                        Path tempOutputPath = createTempOutput(task, fileSize);
+                        tempOutputs.put(task, tempOutputPath);
+                        outputs.put(task, tempOutputPath.toString());
+                    }
+
+                    // 하나의 필터 그래프로 모든 렌디션을 인코딩 (오디오는 작업 단위로 한 번 인코딩한 트랙을 복사)
+                    Path audioPath = commandBuilder.isClip(firstTask) ? null : resolveSharedAudio(firstTask, inputPath);
+                    List<String> command = commandBuilder.buildSingleDecodeCommand(inputPath.toString(), outputs,
+                            audioPath != null ? audioPath.toString() : null);
+                    Double expectedSeconds = getOutputDuration(firstTask);
+                    ResourceUsage usage = executeFFmpegCommand(tasks, command,
+                            tempOutputs.values().iterator().next(), expectedSeconds,
+                            getDeadlineSeconds(expectedSeconds), ffmpegConfig.getProgressStallSeconds());
+                    shareUsage(tasks, usage);
+
+                    return fileSize;
+                })
+                .flatMapMany(fileSize -> Flux.fromIterable(tempOutputs.entrySet())
+                        .concatMap(entry -> {
+                            TranscodingTask task = entry.getKey();
+                            Path tempOutputPath = entry.getValue();
+
+                            // 렌디션 단위로 저장하고 실패도 렌디션 단위로 보고
+                            return Mono.fromCallable(() -> Files.size(tempOutputPath))
+                                    .doOnNext(outputSize -> log.info("출력 파일 크기: {} bytes ({}x{})",
+                                            outputSize, task.getTargetWidth(), task.getTargetHeight()))
+                                    .flatMap(outputSize -> storeOutput(task, tempOutputPath,
+                                            generateOutputFilename(task), startTime, fileSize, outputSize))
+                                    .onErrorResume(e -> Mono.just(failTask(task, tempOutputPath, e)));
+                        }))
+                .onErrorResume(e -> Flux.fromIterable(tasks)
+                        .map(task -> failTask(task, tempOutputs.get(task), e)))
+                .doFinally(signal -> {
+                    tasks.forEach(runningTaskRegistry::finish);
+                    releaseInput(tasks.get(0));
+                    tasks.forEach(task -> scratchSpace.release(task.getId()));
+                })
+                .subscribeOn(transcodingScheduler);
+    }
+
+    // 기록 중인 입력을 따라가며 인코딩하는 동안 완성된 세그먼트를 주기적으로 저장소에 게시
+    private void executeLiveCommand(TranscodingTask task, List<String> command, Path outputDir) throws Exception {
+        String playlistName = generateOutputFilename(task);
+        Set<String> published = new HashSet<>();
+        int interval = Math.max(1, ffmpegConfig.getHlsSegmentSeconds());
+
+        Disposable publishing = transcodingScheduler.schedulePeriodically(() -> {
+            try {
+                liveSegmentPublisher.publish(outputDir, playlistName, published);
+            } catch (Exception e) {
+                log.warn("라이브 세그먼트 저장 실패, 다음 주기에 재시도: {}", task.getId(), e);
+            }
+        }, interval, interval, TimeUnit.SECONDS);
+
+        log.info("라이브 트랜스코딩 시작: {} (세그먼트 게시 주기: {}초)", task.getId(), interval);
+        try {
+            // 입력 끝에서 새 데이터를 기다리는 동안은 출력 위치가 멈추므로 대기 시간만큼 정체 판단을 늦춤
+            addUsage(task, executeFFmpegCommand(List.of(task), command, outputDir, null,
+                    ffmpegConfig.getLiveMaxDurationSeconds(),
+                    ffmpegConfig.getLiveIdleTimeoutSeconds() + ffmpegConfig.getProgressStallSeconds()));
+        } finally {
+            publishing.dispose();
+        }
+
+        // 마지막 세그먼트까지 게시 (나머지 파일과 종료된 플레이리스트는 일반 저장 단계에서 저장)
+        liveSegmentPublisher.publish(outputDir, playlistName, published);
+    }
+
+    @Override
+    public boolean isBatchable(TranscodingTask task) {
+        return commandBuilder.isBatchable(task);
+    }
+
+    // 짧은 입력의 태스크 여러 개를 한 번의 FFmpeg 실행으로 처리하고 결과는 태스크별로 반환
+    @Override
+    public Flux<TranscodingTask> processBatch(List<TranscodingTask> tasks) {
+        tasks.forEach(metricsService::taskReceived);
+
+        Map<TranscodingTask, Path> inputs = new LinkedHashMap<>();
+        Map<TranscodingTask, Path> tempOutputs = new LinkedHashMap<>();
+        List<TranscodingTask> failedTasks = new ArrayList<>();
+        Instant startTime = Instant.now();
+
+        return Mono.fromCallable(() -> {
+                    tasks.forEach(metricsService::taskStarted);
+                    log.info("배치 트랜스코딩 시작: 태스크 수 {}", tasks.size());
+
+                    // 시작할 수 없거나 입력을 찾지 못한 태스크만 실패 처리하고 나머지는 계속 진행
+                    // (모든 태스크를 등록하여 어느 태스크가 취소되어도 공유 프로세스를 종료)
+                    for (TranscodingTask task : tasks) {
+                        try {
+                            startTask(task);
+                            inputs.put(task, mediaSourceLocator.resolve(task.getJobId()));
+                        } catch (Exception e) {
+                            failedTasks.add(failTask(task, null, e));
+                        }
+                    }
+                    if (inputs.isEmpty()) {
+                        return false;
+                    }
+
+                    Map<TranscodingTask, String> inputPaths = new LinkedHashMap<>();
+                    Map<TranscodingTask, String> outputPaths = new LinkedHashMap<>();
+                    for (Map.Entry<TranscodingTask, Path> entry : inputs.entrySet()) {
+                        Path tempOutputPath = createTempFile(null, "output", entry.getKey());
+                        tempOutputs.put(entry.getKey(), tempOutputPath);
+                        inputPaths.put(entry.getKey(), entry.getValue().toString());
+                        outputPaths.put(entry.getKey(), tempOutputPath.toString());
+                    }
+
+                    List<String> command = commandBuilder.buildBatchCommand(inputPaths, outputPaths);
+                    Double expectedSeconds = getBatchDuration(inputs.keySet());
+                    ResourceUsage usage = executeFFmpegCommand(inputs.keySet(), command,
+                            tempOutputs.values().iterator().next(), expectedSeconds,
+                            getDeadlineSeconds(expectedSeconds), ffmpegConfig.getProgressStallSeconds());
+                    shareUsage(inputs.keySet(), usage);
+                    return true;
+                })
+                .flatMapMany(executed -> Flux.concat(
+                        Flux.fromIterable(failedTasks),
+                        Flux.fromIterable(tempOutputs.entrySet())
+                                .concatMap(entry -> {
+                                    TranscodingTask task = entry.getKey();
+                                    Path tempOutputPath = entry.getValue();
+
+                                    return Mono.fromCallable(() -> new long[] {
+                                                    Files.size(inputs.get(task)), Files.size(tempOutputPath)})
+                                            .flatMap(sizes -> storeOutput(task, tempOutputPath,
+                                                    generateOutputFilename(task), startTime, sizes[0], sizes[1]))
+                                            .onErrorResume(e -> Mono.just(failTask(task, tempOutputPath, e)));
+                                })))
+                .onErrorResume(e -> {
+                    // 입력 하나의 문제나 한 태스크의 취소로 배치 전체가 실패하지 않도록 태스크별 처리로 재시도
+                    // (취소되었거나 중단 요청된 태스크는 재시도하지 않고 실패로 보고)
+                    log.warn("배치 트랜스코딩 실패, 태스크별 처리로 전환: {}", e.getMessage());
+                    tempOutputs.values().forEach(this::deleteTempOutput);
+                    return Flux.concat(
+                            Flux.fromIterable(failedTasks),
+                            Flux.fromIterable(inputs.keySet()).concatMap(task -> {
+                                if (runningTaskRegistry.isJobCancelled(task.getJobId())
+                                        || runningTaskRegistry.isAborted(task)) {
+                                    return Mono.just(failTask(task, null, e));
+                                }
+                                runningTaskRegistry.finish(task);
+                                // 개별 처리에서 다시 시작으로 집계되므로 대기 상태로 되돌림
+                                metricsService.taskReceived(task);
+                                return processTranscode(task);
+                            }));
+                })
+                .doFinally(signal -> tasks.forEach(runningTaskRegistry::finish))
                 .subscribeOn(transcodingScheduler);
     }
 
-    private void executeFFmpegCommand(List<String> command, Path tempOutputPath) throws Exception {
-        log.debug("FFmpeg 명령 실행: {}", String.join(" ", command));
+    // 청크 결과를 순서대로 이어 붙여 최종 렌디션 생성
+    private Mono<TranscodingTask> processConcat(TranscodingTask task) {
+        List<Path> chunkPaths = new ArrayList<>();
+        Path[] tempPaths = new Path[2];
+
+        return Mono.fromCallable(() -> {
+                    startTask(task);
+                    Instant startTime = Instant.now();
+                    metricsService.taskStarted(task);
+                    log.info("청크 병합 시작: {} (청크 수: {})", task.getId(), task.getChunkPaths().size());
+
+                    Path inputPath = resolveInputPath(task);
+                    long fileSize = Files.size(inputPath);
+
+                    for (String storedPath : task.getChunkPaths()) {
+                        Path chunkPath = storageService.resolve(storedPath);
+                        if (!Files.exists(chunkPath)) {
+                            throw new RuntimeException("청크 파일을 찾을 수 없음: " + storedPath);
+                        }
+                        chunkPaths.add(chunkPath);
+                    }
+
+                    tempPaths[0] = writeConcatList(chunkPaths);
+
+                    tempPaths[1] = createTempOutput(task, fileSize);
+                    Path audioPath = commandBuilder.isClip(task) ? null : resolveSharedAudio(task, inputPath);
+                    List<String> command = commandBuilder.buildConcatCommand(
+                            tempPaths[0].toString(), inputPath.toString(),
+                            audioPath != null ? audioPath.toString() : null,
+                            resolveOutputFile(tempPaths[1]).toString(), task);
+                    executeFFmpegCommand(task, command, tempPaths[1], getOutputDuration(task));
 
-        ProcessBuilder processBuilder = new ProcessBuilder(command);
-        processBuilder.redirectErrorStream(true);
-        Process process = processBuilder.start();
+                    long outputSize = getOutputSize(tempPaths[1]);
+                    log.info("병합 출력 파일 크기: {} bytes", outputSize);
 
-        // 비동기로 출력 모니터링
+                    return new Object[] {startTime, fileSize, outputSize};
+                })
+                .flatMap(resultArray -> storeOutput(task, tempPaths[1], generateOutputFilename(task),
+                        (Instant) resultArray[0], (long) resultArray[1], (long) resultArray[2]))
+                .doOnNext(completedTask -> {
+                    // 병합이 끝난 청크 파일 정리
+                    for (Path chunkPath : chunkPaths) {
+                        try {
+                            Files.deleteIfExists(chunkPath);
+                        } catch (IOException e) {
+                            log.warn("청크 파일 삭제 실패: {}", chunkPath, e);
+                        }
+                    }
+                })
+                .onErrorResume(e -> Mono.just(failTask(task, tempPaths[1], e)))
+                .doFinally(signal -> {
+                    runningTaskRegistry.finish(task);
+                    releaseInput(task);
+                    scratchSpace.release(task.getId());
+                    if (tempPaths[0] != null) {
+                        try {
+                            Files.deleteIfExists(tempPaths[0]);
+                        } catch (IOException e) {
+                            log.warn("임시 파일 삭제 실패", e);
+                        }
+                    }
+                })
+                .subscribeOn(transcodingScheduler);
+    }
+
+    // concat demuxer용 목록 파일 작성
+    private Path writeConcatList(List<Path> files) throws IOException {
+        Path tempDir = Paths.get(ffmpegConfig.getTempDir());
+        Files.createDirectories(tempDir);
+        Path listPath = Files.createTempFile(tempDir, "concat-", ".txt");
+        List<String> lines = new ArrayList<>();
+        for (Path file : files) {
+            lines.add("file '" + file.toString().replace("'", "'\\''") + "'");
+        }
+        Files.write(listPath, lines);
+        return listPath;
+    }
+
+    // 재전달된 같은 시도는 같은 디렉토리를 사용하고, 추측 실행 시도는 별도 디렉토리를 사용
+    private Path resolveCheckpointDir(TranscodingTask task) {
+        Path root = Paths.get(ffmpegConfig.getCheckpointDir());
+        SegmentCheckpoint.purgeExpired(root, Duration.ofHours(ffmpegConfig.getCheckpointRetentionHours()));
+        return root.resolve(task.getAttemptId() != null ? task.getId() + "-" + task.getAttemptId() : task.getId());
+    }
+
+    // 체크포인트 이후 구간만 세그먼트로 인코딩한 뒤 모든 세그먼트를 스트림 복사로 병합하며 오디오 추가
+    private void executeCheckpointedCommand(TranscodingTask task, Path inputPath, Path audioPath, Path checkpointDir,
+                                            Path tempOutputPath) throws Exception {
+        double outputSeconds = getOutputDuration(task);
+        SegmentCheckpoint checkpoint = SegmentCheckpoint.load(checkpointDir);
+        if (checkpoint.isComplete(outputSeconds)) {
+            log.info("모든 세그먼트가 체크포인트에 있어 병합만 수행: {}", checkpoint);
+        } else {
+            if (checkpoint.getNextNumber() > 0) {
+                log.info("체크포인트에서 재개: {} - {}", task.getId(), checkpoint);
+            }
+            List<String> command = commandBuilder.buildCheckpointSegmentCommand(inputPath.toString(),
+                    checkpointDir.toString(), checkpoint.getNextListFile().toString(), checkpoint.getNextNumber(),
+                    checkpoint.getCompletedSeconds(), task);
+            executeFFmpegCommand(task, command, checkpointDir, outputSeconds - checkpoint.getCompletedSeconds());
+            checkpoint = SegmentCheckpoint.load(checkpointDir);
+        }
+
+        Path concatList = writeConcatList(checkpoint.getSegments());
+        try {
+            List<String> command = commandBuilder.buildConcatCommand(concatList.toString(), inputPath.toString(),
+                    audioPath != null ? audioPath.toString() : null, resolveOutputFile(tempOutputPath).toString(), task);
+            executeFFmpegCommand(task, command, tempOutputPath, outputSeconds);
+        } finally {
+            Files.deleteIfExists(concatList);
+        }
+    }
+
+    // 원본 전체에 고르게 분포한 샘플 구간을 프로브 인코딩하여 평균 비트레이트 측정
+    private Mono<TranscodingTask> processAnalysis(TranscodingTask task) {
+        return Mono.fromCallable(() -> {
+                    startTask(task);
+                    Instant startTime = Instant.now();
+                    metricsService.taskStarted(task);
+
+                    Path inputPath = resolveInputPath(task);
+                    double duration = task.getSourceMetadata() != null && task.getSourceMetadata().getDuration() != null
+                            ? task.getSourceMetadata().getDuration() : 0;
+                    if (duration <= 0) {
+                        throw new RuntimeException("원본 길이를 알 수 없어 분석할 수 없음: " + task.getJobId());
+                    }
+
+                    int sampleCount = Math.max(1, ffmpegConfig.getProbeSampleCount());
+                    double sampleSeconds = ffmpegConfig.getProbeSampleSeconds();
+                    if (duration <= sampleCount * sampleSeconds) {
+                        // 짧은 원본은 전체를 한 번에 분석
+                        sampleCount = 1;
+                        sampleSeconds = duration;
+                    }
+
+                    long totalBytes = 0;
+                    double totalSeconds = 0;
+                    for (int i = 0; i < sampleCount; i++) {
+                        double center = duration * (i + 1) / (sampleCount + 1);
+                        double start = Math.max(0, Math.min(duration - sampleSeconds, center - sampleSeconds / 2));
+
+                        Path probeOutput = createTempFile(null, "probe", task);
+                        try {
+                            executeFFmpegCommand(task, commandBuilder.buildProbeCommand(
+                                    inputPath.toString(), probeOutput.toString(), start, sampleSeconds), probeOutput,
+                                    sampleSeconds);
+                            totalBytes += Files.size(probeOutput);
+                            totalSeconds += sampleSeconds;
+                        } finally {
+                            Files.deleteIfExists(probeOutput);
+                        }
+                    }
+
+                    int probeBitrate = (int) Math.round(totalBytes * 8 / 1000.0 / totalSeconds);
+                    task.setProbeBitrate(probeBitrate);
+                    task.setStatus(TranscodingTask.TaskStatus.COMPLETED);
+                    task.setCompletedAt(LocalDateTime.now());
+
+                    Duration processingTime = Duration.between(startTime, Instant.now());
+                    metricsService.taskCompleted(task, processingTime);
+                    log.info("콘텐츠 복잡도 분석 완료: {} - 샘플 {}개, 프로브 비트레이트: {}k, 소요시간: {} ms",
+                            task.getJobId(), sampleCount, probeBitrate, processingTime.toMillis());
+                    return task;
+                })
+                .onErrorResume(e -> Mono.just(failTask(task, null, e)))
+                .doFinally(signal -> {
+                    runningTaskRegistry.finish(task);
+                    releaseInput(task);
+                    scratchSpace.release(task.getId());
+                })
+                .subscribeOn(transcodingScheduler);
+    }
+
+    // 생성된 썸네일 수로 스프라이트 시트 좌표를 담은 WebVTT 인덱스 작성
+    private void writeThumbnailIndex(TranscodingTask task, Path thumbnailDir) throws IOException {
+        long thumbnailCount;
+        try (var files = Files.list(thumbnailDir)) {
+            thumbnailCount = files.filter(file -> file.getFileName().toString().startsWith("thumb_")).count();
+        }
+
+        String vtt = thumbnailVttBuilder.build((int) thumbnailCount,
+                ffmpegConfig.getThumbnailIntervalSeconds(),
+                ffmpegConfig.getThumbnailWidth(),
+                commandBuilder.getThumbnailHeight(task),
+                ffmpegConfig.getSpriteColumns(),
+                ffmpegConfig.getSpriteRows(),
+                getOutputDuration(task));
+        Files.writeString(thumbnailDir.resolve(ThumbnailVttBuilder.VTT_FILENAME), vtt);
+    }
+
+    // 출력 영상의 길이 (클립이면 잘라낸 구간 길이)
+    private Double getOutputDuration(TranscodingTask task) {
+        if (task.getClipDuration() != null) {
+            return task.getClipDuration();
+        }
+        Double sourceDuration = task.getSourceMetadata() != null ? task.getSourceMetadata().getDuration() : null;
+        if (sourceDuration != null && task.getClipStart() != null) {
+            return Math.max(0, sourceDuration - task.getClipStart());
+        }
+        return sourceDuration;
+    }
+
+    // 진행 보고로 추적할 출력 길이 (청크는 청크 구간 길이)
+    private Double getExpectedDuration(TranscodingTask task) {
+        if (task.getTaskType() == TranscodingTask.TaskType.CHUNK) {
+            return task.getChunkDuration();
+        }
+        return getOutputDuration(task);
+    }
+
+    // 배치의 입력은 병렬로 인코딩되므로 가장 긴 출력 기준, 하나라도 길이를 모르면 null
+    private Double getBatchDuration(Collection<TranscodingTask> tasks) {
+        double longest = 0;
+        for (TranscodingTask task : tasks) {
+            Double duration = getOutputDuration(task);
+            if (duration == null) {
+                return null;
+            }
+            longest = Math.max(longest, duration);
+        }
+        return longest;
+    }
+
+    // 썸네일 출력은 부가 결과이므로 저장에 실패해도 렌디션 결과는 유지
+    private Mono<TranscodingTask> storeThumbnails(TranscodingTask task, Path thumbnailDir) {
+        String prefix = task.getJobId() + "/thumbnails/";
+
+        return Mono.fromCallable(() -> {
+                    try (var files = Files.list(thumbnailDir)) {
+                        return files.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+                    }
+                })
+                .flatMapMany(Flux::fromIterable)
+                .concatMap(file -> storageService.store(file, prefix + file.getFileName()))
+                .collectList()
+                .map(storedPaths -> {
+                    task.setArtifactPaths(storedPaths);
+                    log.info("썸네일 출력 저장 완료: {} (파일 {}개)", task.getId(), storedPaths.size());
+                    return task;
+                })
+                .onErrorResume(e -> {
+                    log.warn("썸네일 출력 저장 실패: {}", task.getId(), e);
+                    return Mono.just(task);
+                });
+    }
+
+    private Path resolveSharedAudio(TranscodingTask task, Path inputPath) {
+        // 오디오가 없는 원본은 추출할 트랙이 없으므로 렌디션 명령에서 오디오를 생략
+        if (!commandBuilder.hasAudio(task)) {
+            return null;
+        }
+        Double sourceDuration = task.getSourceMetadata() != null ? task.getSourceMetadata().getDuration() : null;
+        return audioTrackCache.getOrCreate(task.getJobId(), audioOutputPath -> executeFFmpegCommand(
+                commandBuilder.buildAudioExtractCommand(inputPath.toString(), audioOutputPath.toString()),
+                audioOutputPath, sourceDuration));
+    }
+
+    // 완료된 렌디션 플레이리스트를 참조하는 HLS 마스터 플레이리스트 생성
+    private Mono<TranscodingTask> processMasterPlaylist(TranscodingTask task) {
+        Path[] tempPath = new Path[1];
+
+        return Mono.fromCallable(() -> {
+                    Instant startTime = Instant.now();
+                    metricsService.taskStarted(task);
+                    String playlist = masterPlaylistBuilder.build(task.getJobId(), task.getRenditionPlaylists());
+
+                    Path tempDir = Paths.get(ffmpegConfig.getTempDir());
+                    Files.createDirectories(tempDir);
+                    tempPath[0] = Files.createTempFile(tempDir, "master-", ".m3u8");
+                    Files.writeString(tempPath[0], playlist);
+                    return startTime;
+                })
+                .flatMap(startTime -> storeOutput(task, tempPath[0],
+                        task.getJobId() + "/" + MasterPlaylistBuilder.MASTER_PLAYLIST_FILENAME,
+                        startTime, 0, playlistSize(tempPath[0])))
+                .onErrorResume(e -> Mono.just(failTask(task, tempPath[0], e)))
+                .subscribeOn(transcodingScheduler);
+    }
+
+    private long playlistSize(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private Mono<TranscodingTask> storeOutput(TranscodingTask task, Path tempOutputPath, String outputFilename,
+                                              Instant startTime, long fileSize, long outputSize) {
+        // 저장소에 파일 저장 (세그먼트 패키징은 디렉토리의 각 파일을 개별 객체로 저장)
+        Mono<String> stored = Files.isDirectory(tempOutputPath)
+                ? storeSegments(tempOutputPath, outputFilename)
+                : storageService.store(tempOutputPath, outputFilename);
+
+        return stored
+                .map(storedPath -> {
+                    // 임시 파일 정리
+                    deleteTempOutput(tempOutputPath);
+                    return completeTask(task, storedPath, startTime, fileSize, outputSize);
+                });
+    }
+
+    private TranscodingTask completeTask(TranscodingTask task, String storedPath, Instant startTime,
+                                         long fileSize, long outputSize) {
+        // 태스크 상태 업데이트
+        task.setOutputPath(storedPath);
+        task.setStatus(TranscodingTask.TaskStatus.COMPLETED);
+        task.setCompletedAt(LocalDateTime.now());
+
+        // 작업 완료 메트릭 기록
+        Duration processingTime = Duration.between(startTime, Instant.now());
+        metricsService.taskCompleted(task, processingTime);
+        log.info("트랜스코딩 완료: {} - 입력: {} bytes, 출력: {} bytes, 소요시간: {} ms",
+                task.getId(), fileSize, outputSize, processingTime.toMillis());
+        return task;
+    }
+
+    private void startTask(TranscodingTask task) {
+        if (!runningTaskRegistry.start(task)) {
+            throw new RuntimeException(runningTaskRegistry.isJobCancelled(task.getJobId())
+                    ? "작업이 취소되어 실행하지 않음" : "다른 실행 시도가 먼저 완료되어 실행하지 않음");
+        }
+    }
+
+    // 프로세스가 강제 종료된 경우 종료 코드 대신 중단 사유를 보고
+    private String getFailureMessage(TranscodingTask task, Throwable e) {
+        if (runningTaskRegistry.isJobCancelled(task.getJobId())) {
+            return "작업이 취소되어 중단됨";
+        }
+        if (runningTaskRegistry.isAborted(task)) {
+            return "다른 실행 시도가 먼저 완료되어 중단됨";
+        }
+        return e.getMessage();
+    }
+
+    private TranscodingTask failTask(TranscodingTask task, Path tempOutputPath, Throwable e) {
+        log.error("트랜스코딩 작업 실패: {}", task.getId(), e);
+        task.setStatus(TranscodingTask.TaskStatus.FAILED);
+        task.setErrorMessage(getFailureMessage(task, e));
+        task.setCompletedAt(LocalDateTime.now());
+        metricsService.taskFailed(task);
+
+        if (tempOutputPath != null) {
+            deleteTempOutput(tempOutputPath);
+        }
+        return task;
+    }
+
+    // 세그먼트를 먼저 저장하고 플레이리스트를 마지막에 저장하여 플레이리스트가 참조하는 세그먼트가 항상 존재하도록 함
+    private Mono<String> storeSegments(Path outputDir, String playlistName) {
+        String prefix = playlistName.substring(0, playlistName.lastIndexOf('/') + 1);
+
+        return Mono.fromCallable(() -> {
+                    try (var files = Files.list(outputDir)) {
+                        return files.filter(Files::isRegularFile)
+                                .sorted(Comparator
+                                        .comparing((Path file) -> file.getFileName().toString()
+                                                .equals(FFmpegCommandBuilder.HLS_PLAYLIST_FILENAME))
+                                        .thenComparing(Path::getFileName))
+                                .collect(Collectors.toList());
+                    }
+                })
+                .flatMapMany(Flux::fromIterable)
+                .concatMap(file -> storageService.store(file, prefix + file.getFileName()))
+                .last();
+    }
+
+    private boolean isSegmented(TranscodingTask task) {
+        return task.getPackaging() == TranscodingConfig.PackagingFormat.CMAF_HLS
+                && task.getTaskType() != TranscodingTask.TaskType.CHUNK;
+    }
+
+    // 예상 출력 크기가 작으면 메모리 기반 임시 디렉토리에 생성 (기록 중인 입력은 길이를 알 수 없으므로 디스크)
+    private Path createTempOutput(TranscodingTask task, long sourceBytes) throws IOException {
+        long predictedBytes = Boolean.TRUE.equals(task.getLiveInput()) ? -1 : DiskBudget.estimateBytes(task, sourceBytes);
+        Path scratchDir = scratchSpace.allocate(task.getId(), predictedBytes);
+        if (!isSegmented(task)) {
+            return Files.createTempFile(scratchDir, "output-", "." + getFileExtension(task.getTargetFormat()));
+        }
+        return Files.createTempDirectory(scratchDir, "hls-");
+    }
+
+    // FFmpeg에 전달할 출력 경로 (세그먼트 패키징은 디렉토리 안의 미디어 플레이리스트)
+    private Path resolveOutputFile(Path tempOutputPath) {
+        return Files.isDirectory(tempOutputPath)
+                ? tempOutputPath.resolve(FFmpegCommandBuilder.HLS_PLAYLIST_FILENAME) : tempOutputPath;
+    }
+
+    private long getOutputSize(Path tempOutputPath) throws IOException {
+        if (!Files.isDirectory(tempOutputPath)) {
+            return Files.size(tempOutputPath);
+        }
+
+        long total = 0;
+        try (var files = Files.list(tempOutputPath)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                total += Files.size(file);
+            }
+        }
+        return total;
+    }
+
+    private void deleteTempOutput(Path tempOutputPath) {
+        try {
+            if (Files.isDirectory(tempOutputPath)) {
+                try (var files = Files.list(tempOutputPath)) {
+                    for (Path file : (Iterable<Path>) files::iterator) {
+                        Files.deleteIfExists(file);
+                    }
+                }
+            }
+            Files.deleteIfExists(tempOutputPath);
+        } catch (IOException e) {
+            log.warn("임시 파일 삭제 실패", e);
+        }
+    }
+
+    private ResourceUsage executeFFmpegCommand(List<String> command, Path tempOutputPath, Double expectedSeconds)
+            throws Exception {
+        return executeFFmpegCommand(List.of(), command, tempOutputPath, expectedSeconds,
+                getDeadlineSeconds(expectedSeconds), ffmpegConfig.getProgressStallSeconds());
+    }
+
+    // 프로세스 자원 사용량을 owner 태스크에 합산
+    private void executeFFmpegCommand(TranscodingTask owner, List<String> command, Path tempOutputPath,
+                                      Double expectedSeconds) throws Exception {
+        addUsage(owner, executeFFmpegCommand(owner != null ? List.of(owner) : List.of(), command, tempOutputPath,
+                expectedSeconds, getDeadlineSeconds(expectedSeconds), ffmpegConfig.getProgressStallSeconds()));
+    }
+
+    // owners: 다른 워커의 시도가 먼저 완료되거나 작업이 취소되면 프로세스를 중단할 수 있도록 등록할 태스크
+    // (여러 태스크가 공유하는 프로세스는 모든 태스크로 등록하여 어느 태스크가 취소되어도 중단)
+    // 반환값: 프로세스의 CPU 시간, 최대 메모리, 입출력 바이트 (여러 태스크가 공유한 프로세스는 호출한 쪽에서 배분)
+    private ResourceUsage executeFFmpegCommand(Collection<TranscodingTask> owners, List<String> command,
+                                               Path tempOutputPath, Double expectedSeconds, int deadlineSeconds,
+                                               int stallSeconds) throws Exception {
+        // 실행 중인 프로세스 수에 맞춰 스레드 수와 CPU 범위를 할당받고 종료 시 반납
+        CpuBudget.Lease lease = cpuBudget.acquire();
+        try {
+            List<String> budgetedCommand = cpuBudget.apply(commandBuilder.withProgressOutput(command), lease);
+            log.debug("FFmpeg 명령 실행: {}", String.join(" ", budgetedCommand));
+
+            ProcessBuilder processBuilder = new ProcessBuilder(budgetedCommand);
+            processBuilder.redirectErrorStream(true);
+            Process process = processBuilder.start();
+            cpuBudget.attach(lease, process);
+            for (TranscodingTask owner : owners) {
+                runningTaskRegistry.attach(owner, process);
+            }
+
+            // 비동기로 출력 및 진행 상황 모니터링
+            ProgressTracker tracker = new ProgressTracker(expectedSeconds, stallSeconds, currentMillis());
+            startOutputMonitor(process.getInputStream(), tracker);
+            ProcessResourceSampler sampler = new ProcessResourceSampler(process.toHandle());
+
+            // 프로세스 완료 대기 (진행이 멈추거나 제한 시간을 넘기면 종료)
+            String failure = awaitProcess(process, tracker, sampler, deadlineSeconds, stallSeconds);
+            if (failure != null) {
+                throw new RuntimeException(failure);
+            }
+
+            int exitCode = process.exitValue();
+            if (exitCode != 0) {
+                throw new RuntimeException("FFmpeg 처리 실패: 종료 코드 " + exitCode);
+            }
+            return sampler.getUsage();
+        } finally {
+            cpuBudget.release(lease);
+        }
+    }
+
+    // 표준 출력은 저장소로 스트리밍하고 로그와 진행 보고는 표준 에러에서 분리해 모니터링
+    private String executeStreamingCommand(TranscodingTask owner, List<String> command, String outputFilename,
+                                           Double expectedSeconds) throws Exception {
+        CpuBudget.Lease lease = cpuBudget.acquire();
+        List<String> budgetedCommand = cpuBudget.apply(commandBuilder.withProgressOutput(command), lease);
+        log.debug("FFmpeg 명령 실행 (스트리밍 출력): {}", String.join(" ", budgetedCommand));
+
+        Process process;
+        try {
+            process = new ProcessBuilder(budgetedCommand).start();
+        } catch (IOException e) {
+            cpuBudget.release(lease);
+            throw e;
+        }
+        cpuBudget.attach(lease, process);
+        runningTaskRegistry.attach(owner, process);
+        int stallSeconds = ffmpegConfig.getProgressStallSeconds();
+        ProgressTracker tracker = new ProgressTracker(expectedSeconds, stallSeconds, currentMillis());
+        startOutputMonitor(process.getErrorStream(), tracker);
+        ProcessResourceSampler sampler = new ProcessResourceSampler(process.toHandle());
+
+        // 저장소 쓰기가 끝나지 않아도 진행이 멈추거나 제한 시간이 지나면 프로세스를 종료하여 스트림을 닫음
+        AtomicReference<String> failure = new AtomicReference<>();
+        Thread watchdog = new Thread(() -> {
+            try {
+                failure.set(awaitProcess(process, tracker, sampler, getDeadlineSeconds(expectedSeconds),
+                        stallSeconds));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        watchdog.setDaemon(true);
+        watchdog.start();
+
+        // 버퍼가 가득 차면 FFmpeg 쓰기가 블록되어 메모리 사용량이 버퍼 크기로 제한됨
+        try (ProcessOutputStream output = new ProcessOutputStream(process, ffmpegConfig.getStreamBufferKb() * 1024)) {
+            String storedPath = storageService.store(output, outputFilename).block();
+            addUsage(owner, sampler.getUsage());
+            return storedPath;
+        } catch (RuntimeException e) {
+            if (failure.get() != null) {
+                throw new RuntimeException(failure.get(), e);
+            }
+            throw e;
+        } finally {
+            if (process.isAlive()) {
+                process.destroyForcibly();
+            }
+            cpuBudget.release(lease);
+        }
+    }
+
+    // 태스크가 실행한 프로세스들의 사용량 합산 (메모리는 프로세스별 최대값 중 최대)
+    private static void addUsage(TranscodingTask task, ResourceUsage usage) {
+        if (task == null || usage == null) {
+            return;
+        }
+        ResourceUsage total = task.getResourceUsage();
+        if (total == null) {
+            task.setResourceUsage(usage);
+            return;
+        }
+        task.setResourceUsage(ResourceUsage.builder()
+                .cpuSeconds(total.getCpuSeconds() + usage.getCpuSeconds())
+                .peakRssBytes(Math.max(total.getPeakRssBytes(), usage.getPeakRssBytes()))
+                .readBytes(total.getReadBytes() + usage.getReadBytes())
+                .writtenBytes(total.getWrittenBytes() + usage.getWrittenBytes())
+                .build());
+    }
+
+    // 여러 렌디션이 공유한 프로세스의 CPU 시간과 입출력은 균등하게 나누고 메모리는 공유 프로세스 전체 값으로 기록
+    private static void shareUsage(Collection<TranscodingTask> tasks, ResourceUsage usage) {
+        int count = tasks.size();
+        for (TranscodingTask task : tasks) {
+            addUsage(task, ResourceUsage.builder()
+                    .cpuSeconds(usage.getCpuSeconds() / count)
+                    .peakRssBytes(usage.getPeakRssBytes())
+                    .readBytes(usage.getReadBytes() / count)
+                    .writtenBytes(usage.getWrittenBytes() / count)
+                    .build());
+        }
+    }
+
+    private int getDeadlineSeconds(Double expectedSeconds) {
+        return ProgressTracker.deadlineSeconds(expectedSeconds, ffmpegConfig.getDeadlineMinSpeed(),
+                ffmpegConfig.getDeadlineGraceSeconds(), ffmpegConfig.getTimeoutSeconds());
+    }
+
+    // 종료될 때까지 주기적으로 진행 상황을 확인하고, 정체 또는 시간 초과로 종료시킨 경우 실패 사유를 반환
+    // (종료 후에는 /proc 항목이 사라지므로 확인 주기마다 자원 사용량도 함께 읽음)
+    private String awaitProcess(Process process, ProgressTracker tracker, ProcessResourceSampler sampler,
+                                int deadlineSeconds, int stallSeconds) throws InterruptedException {
+        long deadline = currentMillis() + deadlineSeconds * 1000L;
+        while (!process.waitFor(PROGRESS_CHECK_MILLIS, TimeUnit.MILLISECONDS)) {
+            sampler.sample();
+            long now = currentMillis();
+            if (tracker.isStalled(now)) {
+                process.destroyForcibly();
+                log.warn("FFmpeg 진행 정체로 종료: {}초 동안 출력 위치 {}초에서 변화 없음",
+                        stallSeconds, String.format("%.1f", tracker.getOutTimeSeconds()));
+                return "FFmpeg 진행 정체: " + stallSeconds + "초 동안 진행 없음";
+            }
+            if (now > deadline) {
+                process.destroyForcibly();
+                return "FFmpeg 처리 시간 초과 (" + deadlineSeconds + "초)";
+            }
+        }
+        return null;
+    }
+
+    private static long currentMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    }
+
+    private void startOutputMonitor(InputStream processOutput, ProgressTracker tracker) {
         Thread outputMonitor = new Thread(() -> {
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(processOutput))) {
                 String line;
-                Pattern timePattern = Pattern.compile("time=([0-9:.]+)");
-                Pattern speedPattern = Pattern.compile("speed=([0-9.]+)x");
-
                 while ((line = reader.readLine()) != null) {
-                    // 중요 정보만 로깅
-                    if (line.contains("time=") && line.contains("speed=")) {
-                        Matcher timeMatcher = timePattern.matcher(line);
-                        Matcher speedMatcher = speedPattern.matcher(line);
-
-                        if (timeMatcher.find() && speedMatcher.find()) {
-                            log.debug("진행 상황 - 시간: {}, 속도: {}x",
-                                    timeMatcher.group(1), speedMatcher.group(1));
-                        }
+                    if (tracker.accept(line, currentMillis())) {
+                        logProgress(tracker);
                     } else if (line.contains("Error") || line.contains("error")) {
                         log.error("FFmpeg 오류: {}", line);
                     }
@@ -165,18 +1008,19 @@ public class FFmpegTranscodingWorker implements TranscodingWorker {
         });
         outputMonitor.setDaemon(true);
         outputMonitor.start();
+    }
 
-        // 프로세스 완료 대기
-        boolean completed = process.waitFor(ffmpegConfig.getTimeoutSeconds(), TimeUnit.SECONDS);
-        if (!completed) {
-            process.destroyForcibly();
-            throw new RuntimeException("FFmpeg 처리 시간 초과");
-        }
-
-        int exitCode = process.exitValue();
-        if (exitCode != 0) {
-            throw new RuntimeException("FFmpeg 처리 실패: 종료 코드 " + exitCode);
+    private void logProgress(ProgressTracker tracker) {
+        if (!log.isDebugEnabled()) {
+            return;
         }
+        Double fraction = tracker.getFraction();
+        Double remaining = tracker.getRemainingSeconds();
+        log.debug("진행 상황 - 위치: {}초{}, 속도: {}x{}",
+                String.format("%.1f", tracker.getOutTimeSeconds()),
+                fraction != null ? String.format(" (%.0f%%)", fraction * 100) : "",
+                String.format("%.2f", tracker.getSpeed()),
+                remaining != null ? String.format(", 남은 시간: %.0f초", remaining) : "");
     }
 
     @Override
@@ -196,7 +1040,7 @@ public class FFmpegTranscodingWorker implements TranscodingWorker {
         }
 
         // 소스 미디어 디렉토리 확인
-        Path mediaPath = Paths.get(sourceMediaDir);
+        Path mediaPath = mediaSourceLocator.getSourceDir();
         if (!Files.exists(mediaPath)) {
             try {
                 Files.createDirectories(mediaPath);
@@ -213,115 +1057,6 @@ public class FFmpegTranscodingWorker implements TranscodingWorker {
         log.info("FFmpeg 워커 종료");
     }
 
-    private List<String> buildFFmpegCommand(String inputPath, String outputPath, TranscodingTask task) {
-        List<String> command = new ArrayList<>();
-        command.add(ffmpegConfig.getBinaryPath());
-
-        // 메모리 최적화
-        command.add("-threads");
-        command.add(String.valueOf(ffmpegConfig.getThreadCount()));
-
-        // GPU 가속 설정
-        if (ffmpegConfig.isGpuAcceleration()) {
-            command.add("-hwaccel");
-            command.add("cuda");
-            command.add("-hwaccel_device");
-            command.add(ffmpegConfig.getGpuDevice());
-        }
-
-        // 입력 파일 분석 설정
-        command.add("-analyzeduration");
-        command.add(String.valueOf(ffmpegConfig.getAnalyzeDuration()));
-
-        command.add("-probesize");
-        command.add(ffmpegConfig.getBufferSize() + "M");
-
-        // 스레드 큐 크기 설정
-        command.add("-thread_queue_size");
-        command.add(String.valueOf(ffmpegConfig.getThreadQueueSize()));
-
-        // 입력 파일
-        command.add("-i");
-        command.add(inputPath);
-
-        // 인코딩 설정
-        command.add("-c:v");
-        if (ffmpegConfig.isGpuAcceleration()) {
-            // GPU 가속 인코더 설정
-            if ("H.264".equalsIgnoreCase(task.getTargetFormat()) || "MP4".equalsIgnoreCase(task.getTargetFormat())) {
-                command.add("h264_nvenc");
-                command.add("-preset");
-                command.add(ffmpegConfig.getGpuPreset());
-            } else if ("H.265".equalsIgnoreCase(task.getTargetFormat()) || "HEVC".equalsIgnoreCase(task.getTargetFormat())) {
-                command.add("hevc_nvenc");
-                command.add("-preset");
-                command.add(ffmpegConfig.getGpuPreset());
-            }
-        } else {
-            // CPU 인코더 설정
-            if ("H.264".equalsIgnoreCase(task.getTargetFormat()) || "MP4".equalsIgnoreCase(task.getTargetFormat())) {
-                command.add("libx264");
-                command.add("-preset");
-                command.add(ffmpegConfig.getCpuPreset());
-                command.add("-tune");
-                command.add("fastdecode");
-                command.add("-crf");
-                command.add("28");
-            } else if ("H.265".equalsIgnoreCase(task.getTargetFormat()) || "HEVC".equalsIgnoreCase(task.getTargetFormat())) {
-                command.add("libx265");
-                command.add("-preset");
-                command.add(ffmpegConfig.getCpuPreset());
-                command.add("-x265-params");
-                command.add("log-level=error");
-            } else if ("VP9".equalsIgnoreCase(task.getTargetFormat()) || "WebM".equalsIgnoreCase(task.getTargetFormat())) {
-                command.add("libvpx-vp9");
-                command.add("-speed");
-                command.add("4");
-                command.add("-tile-columns");
-                command.add("2");
-                command.add("-frame-parallel");
-                command.add("1");
-            } else {
-                command.add("libx264");
-                command.add("-preset");
-                command.add(ffmpegConfig.getCpuPreset());
-            }
-        }
-
-        // 해상도 설정
-        command.add("-s");
-        command.add(task.getTargetWidth() + "x" + task.getTargetHeight());
-
-        // 비트레이트 설정
-        command.add("-b:v");
-        command.add(task.getTargetBitrate() + "k");
-        command.add("-maxrate");
-        command.add((int)(task.getTargetBitrate() * 1.2) + "k");
-        command.add("-bufsize");
-        command.add((int)(task.getTargetBitrate() * 1.5) + "k");
-
-        // 오디오 설정
-        command.add("-c:a");
-        command.add("aac");
-        command.add("-b:a");
-        command.add("96k");
-        command.add("-ar");
-        command.add("44100");
-
-        // 기타 설정
-        command.add("-movflags");
-        command.add("+faststart");
-        command.add("-g");
-        command.add("48");
-        command.add("-sc_threshold");
-        command.add("0");
-        command.add("-y");
-
-        command.add(outputPath);
-
-        return command;
-    }
-
     private Path createTempFile(Path sourcePath, String prefix, TranscodingTask task) throws IOException {
         Path tempDir = Paths.get(ffmpegConfig.getTempDir());
         if (!Files.exists(tempDir)) {
@@ -340,8 +1075,18 @@ public class FFmpegTranscodingWorker implements TranscodingWorker {
     }
 
     private String generateOutputFilename(TranscodingTask task) {
-        return task.getJobId() + "-" + task.getTargetWidth() + "x" + task.getTargetHeight() + "." +
-                getFileExtension(task.getTargetFormat());
+        if (isSegmented(task)) {
+            // 렌디션별 디렉토리에 세그먼트와 미디어 플레이리스트 저장
+            return task.getJobId() + "/" + task.getTargetWidth() + "x" + task.getTargetHeight() + "/" +
+                    FFmpegCommandBuilder.HLS_PLAYLIST_FILENAME;
+        }
+
+        String baseName = task.getJobId() + "-" + task.getTargetWidth() + "x" + task.getTargetHeight();
+        if (task.getTaskType() == TranscodingTask.TaskType.CHUNK) {
+            // 청크는 병합 전 중간 결과이므로 인덱스를 붙여 구분
+            baseName += String.format(".chunk%03d", task.getChunkIndex());
+        }
+        return baseName + "." + getFileExtension(task.getTargetFormat());
     }
 
     private String getFileExtension(String format) {
@@ -367,30 +1112,16 @@ public class FFmpegTranscodingWorker implements TranscodingWorker {
         }
     }
 
-    // 작업 ID에서 미디어 ID 추출 (형식: mediaId-jobUuid)
-    private String extractMediaId(String jobId) {
-        int separatorIndex = jobId.indexOf('-');
-        if (separatorIndex > 0) {
-            return jobId.substring(0, separatorIndex);
+    // 녹화 중인 입력이 아니면 노드 로컬 캐시의 원본 사용 (태스크 종료 시 releaseInput 호출)
+    private Path resolveInputPath(TranscodingTask task) throws IOException {
+        Path source = mediaSourceLocator.resolve(task.getJobId());
+        if (Boolean.TRUE.equals(task.getLiveInput())) {
+            return source;
         }
-
-        // 분리자가 없는 경우 전체 ID를 반환
-        return jobId;
+        return sourceCache.acquire(task.getId(), MediaSourceLocator.extractMediaId(task.getJobId()), source);
     }
 
-    // 미디어 디렉토리에서 미디어 ID에 해당하는 파일 찾기
-    private Path findMediaFile(Path mediaDir, String mediaId) throws IOException {
-        if (!Files.exists(mediaDir)) {
-            return null;
-        }
-
-        // 미디어 ID로 시작하는 파일 찾기 (예: mediaId-originalname.mp4)
-        try (var files = Files.list(mediaDir)) {
-            return files
-                    .filter(Files::isRegularFile)
-                    .filter(p -> p.getFileName().toString().startsWith(mediaId + "-"))
-                    .findFirst()
-                    .orElse(null);
-        }
+    private void releaseInput(TranscodingTask task) {
+        sourceCache.release(task.getId());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,237 @@
+package com.tenacy.pixiescale.transcodingworker.service.impl;
+
+import com.tenacy.pixiescale.common.domain.MediaMetadata;
+import com.tenacy.pixiescale.common.domain.TranscodingTask;
+import com.tenacy.pixiescale.transcodingworker.config.FFmpegConfig;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 실행 슬롯을 기다리는 태스크의 입력을 백그라운드에서 순차로 읽어 페이지 캐시에 올림
+// (네트워크 볼륨에서 FFmpeg가 시작 직후 입력을 기다리지 않도록 함, 읽기 대역폭은 제한)
+@Slf4j
+@Component
+public class InputPrefetcher {
+
+    private static final int READ_BUFFER_BYTES = 1024 * 1024;
+    // 최근에 읽은 구간은 다른 렌디션 태스크가 요청해도 다시 읽지 않음
+    private static final Duration WARM_RETENTION = Duration.ofMinutes(5);
+
+    private final FFmpegConfig ffmpegConfig;
+    private final MediaSourceLocator mediaSourceLocator;
+    private final SourceCache sourceCache;
+    private final Scheduler prefetchScheduler = Schedulers.newSingle("input-prefetch", true);
+    // 읽기를 기다리는 구간 (요청 순서 = 실행 대기 순서)
+    private final LinkedHashMap<Range, TranscodingTask> pending = new LinkedHashMap<>();
+    private final ConcurrentHashMap<Range, Instant> warmed = new ConcurrentHashMap<>();
+    private volatile Range current;
+
+    public InputPrefetcher(FFmpegConfig ffmpegConfig, MediaSourceLocator mediaSourceLocator, SourceCache sourceCache) {
+        this.ffmpegConfig = ffmpegConfig;
+        this.mediaSourceLocator = mediaSourceLocator;
+        this.sourceCache = sourceCache;
+    }
+
+    // 실행 대기열에 들어가는 태스크의 입력 읽기 예약 (대기 중인 예약이 가득 차면 뒤쪽 태스크는 건너뜀)
+    public void request(TranscodingTask task) {
+        if (!ffmpegConfig.isPrefetchEnabled() || Boolean.TRUE.equals(task.getLiveInput())) {
+            return;
+        }
+
+        Range range;
+        try {
+            Path inputPath = findPrefetchInput(task);
+            if (inputPath == null) {
+                return;
+            }
+            range = new Range(inputPath, estimateOffset(task, Files.size(inputPath)));
+        } catch (IOException e) {
+            log.debug("미리 읽을 입력 확인 실패: {}", task.getId(), e);
+            return;
+        }
+
+        Instant now = Instant.now();
+        warmed.values().removeIf(warmedAt -> warmedAt.isBefore(now.minus(WARM_RETENTION)));
+        synchronized (pending) {
+            if (range.equals(current) || pending.containsKey(range) || warmed.containsKey(range)
+                    || pending.size() >= ffmpegConfig.getPrefetchQueueSize()) {
+                return;
+            }
+            pending.put(range, task);
+        }
+        prefetchScheduler.schedule(this::prefetchNext);
+    }
+
+    // 태스크가 실행 슬롯을 받으면 FFmpeg가 직접 읽으므로 예약을 취소하고 진행 중인 읽기도 중단
+    public void started(TranscodingTask task) {
+        synchronized (pending) {
+            pending.values().removeIf(pendingTask -> pendingTask.getId().equals(task.getId()));
+            Range reading = current;
+            if (reading != null && task.getId().equals(reading.taskId)) {
+                reading.cancelled = true;
+            }
+        }
+    }
+
+    // 미리 읽을 공유 볼륨의 입력 경로 (읽을 필요가 없으면 null)
+    Path findPrefetchInput(TranscodingTask task) throws IOException {
+        Path inputPath = mediaSourceLocator.find(task.getJobId());
+        // 라이브 수집의 named pipe 등 일반 파일이 아니면 읽으면 안 됨
+        if (inputPath == null || !Files.isRegularFile(inputPath)) {
+            return null;
+        }
+        // 노드 로컬 사본이 있으면 FFmpeg는 공유 볼륨을 읽지 않음 (사본이 없으면 미리 읽은 페이지 캐시가 사본 복사에도 쓰임)
+        if (sourceCache.contains(MediaSourceLocator.extractMediaId(task.getJobId()), inputPath)) {
+            return null;
+        }
+        return inputPath;
+    }
+
+    public int getPendingCount() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    private void prefetchNext() {
+        Range range;
+        synchronized (pending) {
+            var iterator = pending.entrySet().iterator();
+            if (!iterator.hasNext()) {
+                return;
+            }
+            Map.Entry<Range, TranscodingTask> next = iterator.next();
+            iterator.remove();
+            range = next.getKey().withTask(next.getValue().getId());
+            current = range;
+        }
+
+        try {
+            long bytes = warm(range);
+            warmed.put(range, Instant.now());
+            log.debug("입력 미리 읽기 완료: {} (오프셋 {}, {} bytes)", range.path, range.offset, bytes);
+        } catch (IOException e) {
+            log.debug("입력 미리 읽기 실패: {}", range.path, e);
+        } finally {
+            synchronized (pending) {
+                if (current == range) {
+                    current = null;
+                }
+            }
+        }
+    }
+
+    // 오프셋부터 최대 크기까지 순차로 읽으며 설정된 대역폭을 넘지 않도록 대기 (태스크가 시작되면 중단)
+    long warm(Range range) throws IOException {
+        long maxBytes = ffmpegConfig.getPrefetchMaxMb() * 1024L * 1024L;
+        long bytesPerSecond = ffmpegConfig.getPrefetchRateMbPerSecond() * 1024L * 1024L;
+        ByteBuffer buffer = ByteBuffer.allocateDirect(READ_BUFFER_BYTES);
+        long startNanos = System.nanoTime();
+        long total = 0;
+
+        try (FileChannel channel = FileChannel.open(range.path, StandardOpenOption.READ)) {
+            long position = range.offset;
+            while (total < maxBytes && !range.cancelled) {
+                buffer.clear();
+                int read = channel.read(buffer, position);
+                if (read <= 0) {
+                    break;
+                }
+                position += read;
+                total += read;
+
+                if (bytesPerSecond > 0) {
+                    long expectedNanos = total * 1_000_000_000L / bytesPerSecond;
+                    long aheadNanos = expectedNanos - (System.nanoTime() - startNanos);
+                    if (aheadNanos > 0) {
+                        try {
+                            Thread.sleep(aheadNanos / 1_000_000L, (int) (aheadNanos % 1_000_000L));
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+        return total;
+    }
+
+    // 청크/클립은 원본 길이 대비 시작 위치로 파일 내 오프셋을 추정 (비트레이트가 고르다고 가정)
+    static long estimateOffset(TranscodingTask task, long fileSize) {
+        Double start = task.getTaskType() == TranscodingTask.TaskType.CHUNK ? task.getChunkStart() : task.getClipStart();
+        MediaMetadata source = task.getSourceMetadata();
+        if (start == null || start <= 0 || source == null || source.getDuration() == null
+                || source.getDuration() <= 0) {
+            return 0;
+        }
+        double fraction = Math.min(1.0, start / source.getDuration());
+        // 페이지 경계에 맞춤
+        return (long) (fileSize * fraction) & ~4095L;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        synchronized (pending) {
+            pending.clear();
+            if (current != null) {
+                current.cancelled = true;
+            }
+        }
+        prefetchScheduler.dispose();
+    }
+
+    // 미리 읽을 파일 구간 (같은 입력의 같은 위치를 요청한 태스크는 하나로 합침)
+    static final class Range {
+        private final Path path;
+        private final long offset;
+        private final String taskId;
+        private volatile boolean cancelled;
+
+        Range(Path path, long offset) {
+            this(path, offset, null);
+        }
+
+        private Range(Path path, long offset, String taskId) {
+            this.path = path;
+            this.offset = offset;
+            this.taskId = taskId;
+        }
+
+        private Range withTask(String taskId) {
+            return new Range(path, offset, taskId);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Range)) {
+                return false;
+            }
+            Range other = (Range) o;
+            return offset == other.offset && path.equals(other.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, offset);
+        }
+    }
+}
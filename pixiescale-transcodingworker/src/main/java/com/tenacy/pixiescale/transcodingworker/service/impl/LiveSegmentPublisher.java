@@ -0,0 +1,86 @@
+package com.tenacy.pixiescale.transcodingworker.service.impl;
+
+import com.tenacy.pixiescale.transcodingworker.service.StorageService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+// 라이브 트랜스코딩 중 완성된 세그먼트를 저장소에 먼저 저장하고 그 시점의 미디어 플레이리스트를 갱신
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LiveSegmentPublisher {
+
+    private static final String MAP_TAG = "#EXT-X-MAP:";
+
+    private final StorageService storageService;
+
+    // FFmpeg는 세그먼트 기록을 마친 뒤 플레이리스트에 추가하므로 플레이리스트에 있는 세그먼트만 완성된 것으로 판단
+    public int publish(Path outputDir, String playlistName, Set<String> published) throws IOException {
+        synchronized (published) {
+            Path playlistPath = outputDir.resolve(FFmpegCommandBuilder.HLS_PLAYLIST_FILENAME);
+            if (!Files.exists(playlistPath)) {
+                return 0;
+            }
+
+            // 저장하는 동안 플레이리스트가 갱신될 수 있으므로 읽은 시점의 내용을 기준으로 처리
+            String snapshot = Files.readString(playlistPath);
+            String prefix = playlistName.substring(0, playlistName.lastIndexOf('/') + 1);
+
+            int count = 0;
+            for (String name : parseReferencedFiles(snapshot)) {
+                if (published.contains(name)) {
+                    continue;
+                }
+                Path file = outputDir.resolve(name);
+                storageService.store(file, prefix + name).block();
+                published.add(name);
+                count++;
+
+                // 저장이 끝난 미디어 세그먼트는 임시 디렉토리에서 제거 (초기화 세그먼트는 마지막 저장 시 함께 저장)
+                if (!name.equals(FFmpegCommandBuilder.HLS_INIT_FILENAME)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            if (count == 0) {
+                return 0;
+            }
+
+            Path tempPlaylist = Files.createTempFile(outputDir.getParent(), "live-", ".m3u8");
+            try {
+                Files.writeString(tempPlaylist, snapshot);
+                storageService.store(tempPlaylist, playlistName).block();
+            } finally {
+                Files.deleteIfExists(tempPlaylist);
+            }
+
+            log.debug("라이브 세그먼트 저장: {} (신규 {}개, 누적 {}개)", playlistName, count, published.size());
+            return count;
+        }
+    }
+
+    // 초기화 세그먼트와 미디어 세그먼트 파일명을 재생 순서대로 추출
+    private List<String> parseReferencedFiles(String playlist) {
+        List<String> files = new ArrayList<>();
+        for (String line : playlist.split("\n")) {
+            line = line.trim();
+            if (line.startsWith(MAP_TAG)) {
+                int start = line.indexOf("URI=\"");
+                if (start >= 0) {
+                    int end = line.indexOf('"', start + 5);
+                    files.add(line.substring(start + 5, end));
+                }
+            } else if (!line.isEmpty() && !line.startsWith("#")) {
+                files.add(line);
+            }
+        }
+        return files;
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -34,6 +35,8 @@ public class LocalStorageService implements StorageService {
                 }
 
                 Path destinationFile = destinationDir.resolve(Paths.get(filename)).normalize().toAbsolutePath();
+                // 세그먼트처럼 하위 경로를 포함한 파일명 지원
+                Files.createDirectories(destinationFile.getParent());
                 Files.copy(filePath, destinationFile, StandardCopyOption.REPLACE_EXISTING);
 
                 log.info("파일 저장 완료: {} -> {}", filePath, destinationFile);
@@ -43,4 +46,31 @@ public class LocalStorageService implements StorageService {
             }
         });
     }
-}
\ No newline at end of file
+
+    @Override
+    public Mono<String> store(InputStream inputStream, String filename) {
+        return Mono.fromCallable(() -> {
+            Path destinationFile = Paths.get(storageConfig.getBaseDir()).resolve(Paths.get(filename)).normalize().toAbsolutePath();
+            Files.createDirectories(destinationFile.getParent());
+
+            // 스트림을 끝까지 받은 뒤에만 최종 경로로 이동하여 중단된 출력이 노출되지 않도록 함 (같은 디렉토리 내 이동)
+            Path partialFile = Files.createTempFile(destinationFile.getParent(), destinationFile.getFileName() + "-", ".partial");
+            try {
+                long size = Files.copy(inputStream, partialFile, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(partialFile, destinationFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+                log.info("스트림 저장 완료: {} ({} bytes)", destinationFile, size);
+                return filename;
+            } catch (IOException e) {
+                throw new RuntimeException("스트림 저장 실패: " + e.getMessage(), e);
+            } finally {
+                Files.deleteIfExists(partialFile);
+            }
+        });
+    }
+
+    @Override
+    public Path resolve(String storedPath) {
+        return Paths.get(storageConfig.getBaseDir()).resolve(storedPath).normalize().toAbsolutePath();
+    }
+}
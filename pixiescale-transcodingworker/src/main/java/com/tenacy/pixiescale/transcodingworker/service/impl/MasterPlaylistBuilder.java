@@ -0,0 +1,50 @@
+package com.tenacy.pixiescale.transcodingworker.service.impl;
+
+import com.tenacy.pixiescale.common.domain.TranscodingTask;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.List;
+
+@Component
+public class MasterPlaylistBuilder {
+
+    public static final String MASTER_PLAYLIST_FILENAME = "master.m3u8";
+
+    // 워커의 오디오 인코딩 비트레이트 (kbps)
+    private static final int AUDIO_BITRATE = 96;
+    // 인코더의 -maxrate 배율과 동일
+    private static final double PEAK_RATIO = 1.2;
+
+    public String build(String jobId, List<TranscodingTask.RenditionPlaylist> renditions) {
+        if (renditions == null || renditions.isEmpty()) {
+            throw new RuntimeException("마스터 플레이리스트에 포함할 렌디션이 없음: " + jobId);
+        }
+
+        Path jobDir = Paths.get(jobId);
+        StringBuilder playlist = new StringBuilder();
+        playlist.append("#EXTM3U\n");
+        playlist.append("#EXT-X-VERSION:7\n");
+        playlist.append("#EXT-X-INDEPENDENT-SEGMENTS\n");
+
+        renditions.stream()
+                .filter(rendition -> rendition.getPlaylistPath() != null)
+                .sorted(Comparator.comparing(TranscodingTask.RenditionPlaylist::getBitrate))
+                .forEach(rendition -> {
+                    // 마스터 플레이리스트 위치 기준 상대 경로
+                    String uri = jobDir.relativize(Paths.get(rendition.getPlaylistPath())).toString().replace('\\', '/');
+                    long averageBandwidth = (rendition.getBitrate() + AUDIO_BITRATE) * 1000L;
+                    long peakBandwidth = ((long) (rendition.getBitrate() * PEAK_RATIO) + AUDIO_BITRATE) * 1000L;
+
+                    playlist.append("#EXT-X-STREAM-INF:BANDWIDTH=").append(peakBandwidth)
+                            .append(",AVERAGE-BANDWIDTH=").append(averageBandwidth)
+                            .append(",RESOLUTION=").append(rendition.getWidth()).append("x").append(rendition.getHeight())
+                            .append("\n");
+                    playlist.append(uri).append("\n");
+                });
+
+        return playlist.toString();
+    }
+}
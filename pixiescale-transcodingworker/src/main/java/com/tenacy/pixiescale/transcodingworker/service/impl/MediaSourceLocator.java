@@ -0,0 +1,177 @@
+package com.tenacy.pixiescale.transcodingworker.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 작업 ID로 업로드 디렉토리에서 원본 미디어 파일을 찾음
+// (업로드가 수십만 개인 네트워크 볼륨에서 태스크마다 디렉토리를 나열하지 않도록 미디어 ID -> 경로 인덱스 유지,
+// 시작 시 한 번 나열한 뒤 WatchService와 업로드 이벤트로 갱신하고 인덱스에 없으면 디렉토리 나열로 대체)
+@Slf4j
+@Component
+public class MediaSourceLocator {
+
+    private final Path sourceDir;
+    private final ConcurrentHashMap<String, Path> index = new ConcurrentHashMap<>();
+    private WatchService watchService;
+
+    public MediaSourceLocator(@Value("${app.media.source-dir}") String sourceMediaDir) {
+        this.sourceDir = Paths.get(sourceMediaDir);
+    }
+
+    @PostConstruct
+    public void start() {
+        rebuildIndex();
+        try {
+            Files.createDirectories(sourceDir);
+            watchService = sourceDir.getFileSystem().newWatchService();
+            sourceDir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE);
+            Thread watcher = new Thread(this::watch, "media-source-watcher");
+            watcher.setDaemon(true);
+            watcher.start();
+        } catch (IOException | UnsupportedOperationException e) {
+            // 네트워크 파일시스템은 다른 노드의 변경을 알리지 않을 수 있으므로 업로드 이벤트와 디렉토리 나열에 의존
+            log.warn("소스 미디어 디렉토리 감시 실패, 업로드 이벤트로만 인덱스 갱신: {}", sourceDir, e);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                log.debug("WatchService 종료 실패", e);
+            }
+        }
+    }
+
+    public Path getSourceDir() {
+        return sourceDir;
+    }
+
+    public Path resolve(String jobId) throws IOException {
+        String mediaId = extractMediaId(jobId);
+        Path inputPath = find(jobId);
+
+        if (inputPath == null) {
+            throw new RuntimeException("미디어 파일을 찾을 수 없음: " + mediaId);
+        }
+        return inputPath;
+    }
+
+    // 미디어 디렉토리에서 미디어 ID에 해당하는 파일 찾기 (없으면 null)
+    public Path find(String jobId) throws IOException {
+        String mediaId = extractMediaId(jobId);
+        Path indexed = index.get(mediaId);
+        if (indexed != null) {
+            if (Files.exists(indexed)) {
+                return indexed;
+            }
+            index.remove(mediaId, indexed);
+        }
+
+        Path found = scan(mediaId);
+        if (found != null) {
+            index.put(mediaId, found);
+        }
+        return found;
+    }
+
+    // 업로드 완료 이벤트의 저장 파일명으로 인덱스 등록 (WatchService가 다른 노드의 업로드를 알리지 못하는 경우 대비)
+    public void register(String storedFilename) {
+        if (storedFilename == null || storedFilename.isEmpty()) {
+            return;
+        }
+        Path path = sourceDir.resolve(Paths.get(storedFilename).getFileName());
+        index.put(extractMediaId(path.getFileName().toString()), path);
+    }
+
+    public int getIndexSize() {
+        return index.size();
+    }
+
+    // 미디어 ID로 시작하는 파일 찾기 (예: mediaId-originalname.mp4, 라이브 수집의 named pipe 포함)
+    private Path scan(String mediaId) throws IOException {
+        if (!Files.exists(sourceDir)) {
+            return null;
+        }
+
+        log.debug("인덱스에 없는 미디어, 소스 디렉토리 나열: {}", mediaId);
+        try (var files = Files.list(sourceDir)) {
+            return files
+                    .filter(p -> !Files.isDirectory(p))
+                    .filter(p -> p.getFileName().toString().startsWith(mediaId + "-"))
+                    .findFirst()
+                    .orElse(null);
+        }
+    }
+
+    void rebuildIndex() {
+        if (!Files.isDirectory(sourceDir)) {
+            return;
+        }
+        long startMillis = System.currentTimeMillis();
+        // 항목마다 파일 속성을 조회하지 않도록 이름만 사용 (업로드 디렉토리에는 파일만 생성됨)
+        try (var files = Files.list(sourceDir)) {
+            files.forEach(p -> index.putIfAbsent(extractMediaId(p.getFileName().toString()), p));
+            log.info("소스 미디어 인덱스 생성: {}개 ({} ms)", index.size(), System.currentTimeMillis() - startMillis);
+        } catch (IOException e) {
+            log.warn("소스 미디어 인덱스 생성 실패, 디렉토리 나열로 조회: {}", sourceDir, e);
+        }
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        // 놓친 변경이 있으므로 다시 나열
+                        rebuildIndex();
+                        continue;
+                    }
+                    Path path = sourceDir.resolve((Path) event.context());
+                    String mediaId = extractMediaId(path.getFileName().toString());
+                    if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+                        index.put(mediaId, path);
+                    } else {
+                        index.remove(mediaId, path);
+                    }
+                }
+                if (!key.reset()) {
+                    log.warn("소스 미디어 디렉토리 감시 중단: {}", sourceDir);
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // 종료
+        }
+    }
+
+    // 작업 ID나 원본 파일명에서 미디어 ID 추출 (형식: mediaId-jobUuid, mediaId-originalname)
+    public static String extractMediaId(String jobId) {
+        int separatorIndex = jobId.indexOf('-');
+        if (separatorIndex > 0) {
+            return jobId.substring(0, separatorIndex);
+        }
+
+        // 분리자가 없는 경우 전체 ID를 반환
+        return jobId;
+    }
+}
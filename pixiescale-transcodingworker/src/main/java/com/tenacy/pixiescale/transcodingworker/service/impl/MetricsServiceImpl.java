@@ -1,14 +1,20 @@
 package com.tenacy.pixiescale.transcodingworker.service.impl;
 
+import com.tenacy.pixiescale.common.domain.ResourceUsage;
 import com.tenacy.pixiescale.common.domain.TranscodingTask;
+import com.tenacy.pixiescale.transcodingworker.config.FFmpegConfig;
 import com.tenacy.pixiescale.transcodingworker.config.MetricsConfig;
 import com.tenacy.pixiescale.transcodingworker.service.MetricsService;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.Locale;
 import java.util.concurrent.TimeUnit;
 
 @Service
@@ -16,6 +22,8 @@ import java.util.concurrent.TimeUnit;
 public class MetricsServiceImpl implements MetricsService {
 
     private final MetricsConfig metricsConfig;
+    private final FFmpegConfig ffmpegConfig;
+    private final MeterRegistry meterRegistry;
     private final Counter transcodingTasksCounter;
     private final Counter transcodingTasksFailedCounter;
     private final Timer transcodingDurationTimer;
@@ -51,6 +59,40 @@ public class MetricsServiceImpl implements MetricsService {
                 transcodingLowResolutionTimer.record(duration.toMillis(), TimeUnit.MILLISECONDS);
             }
         }
+
+        if (task.getResourceUsage() != null) {
+            recordResourceUsage(task, task.getResourceUsage());
+        }
+    }
+
+    // 코덱, 해상도, 프리셋별 태스크당 자원 사용량 분포 (노드당 동시 실행 수와 인스턴스 크기 산정에 사용)
+    private void recordResourceUsage(TranscodingTask task, ResourceUsage usage) {
+        TranscodingTask.TaskType type = task.getTaskType() != null
+                ? task.getTaskType() : TranscodingTask.TaskType.TRANSCODE;
+        Tags tags = Tags.of(
+                "type", type.name(),
+                "codec", task.getTargetFormat() != null ? task.getTargetFormat().toLowerCase(Locale.ROOT) : "none",
+                "resolution", task.getTargetHeight() != null ? task.getTargetHeight() + "p" : "none",
+                "preset", ffmpegConfig.isGpuAcceleration() ? ffmpegConfig.getGpuPreset() : ffmpegConfig.getCpuPreset());
+
+        summary("pixiescale.transcoding.task.cpu", "태스크당 FFmpeg CPU 시간", "seconds", tags)
+                .record(usage.getCpuSeconds());
+        summary("pixiescale.transcoding.task.memory.peak", "태스크당 FFmpeg 최대 상주 메모리", "bytes", tags)
+                .record(usage.getPeakRssBytes());
+        summary("pixiescale.transcoding.task.io.read", "태스크당 FFmpeg 읽기 바이트", "bytes", tags)
+                .record(usage.getReadBytes());
+        summary("pixiescale.transcoding.task.io.written", "태스크당 FFmpeg 쓰기 바이트", "bytes", tags)
+                .record(usage.getWrittenBytes());
+    }
+
+    // 같은 이름과 태그의 미터는 레지스트리에 한 번만 등록되고 이후에는 기존 미터를 반환
+    private DistributionSummary summary(String name, String description, String baseUnit, Tags tags) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .baseUnit(baseUnit)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
     @Override
@@ -0,0 +1,50 @@
+package com.tenacy.pixiescale.transcodingworker.service.impl;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+
+// 프로세스 표준 출력을 읽고, 끝에 도달하면 종료 코드를 확인하여 실패한 출력이 정상 스트림으로 저장되지 않도록 함
+public class ProcessOutputStream extends BufferedInputStream {
+
+    private final Process process;
+    private boolean verified;
+
+    public ProcessOutputStream(Process process, int bufferSize) {
+        super(process.getInputStream(), bufferSize);
+        this.process = process;
+    }
+
+    @Override
+    public synchronized int read() throws IOException {
+        int value = super.read();
+        if (value < 0) {
+            verifyExit();
+        }
+        return value;
+    }
+
+    @Override
+    public synchronized int read(byte[] b, int off, int len) throws IOException {
+        int count = super.read(b, off, len);
+        if (count < 0) {
+            verifyExit();
+        }
+        return count;
+    }
+
+    private void verifyExit() throws IOException {
+        if (verified) {
+            return;
+        }
+        try {
+            int exitCode = process.waitFor();
+            if (exitCode != 0) {
+                throw new IOException("FFmpeg 처리 실패: 종료 코드 " + exitCode);
+            }
+            verified = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("FFmpeg 종료 대기 중 인터럽트 발생", e);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.tenacy.pixiescale.transcodingworker.service.impl;
+
+import com.tenacy.pixiescale.common.domain.ResourceUsage;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+// 실행 중인 FFmpeg 프로세스의 CPU 시간, 최대 상주 메모리, 입출력 바이트를 /proc에서 주기적으로 읽음
+// (프로세스가 종료되면 /proc 항목이 사라지므로 마지막으로 읽은 값을 사용, 마지막 확인 이후 사용량은 누락될 수 있음)
+@Slf4j
+public class ProcessResourceSampler {
+
+    // /proc/<pid>/stat의 utime, stime 단위 (USER_HZ, 리눅스에서는 100으로 고정)
+    private static final double CLOCK_TICKS_PER_SECOND = 100.0;
+
+    private final ProcessHandle handle;
+    private final Path processDir;
+    private double cpuSeconds;
+    private long peakRssBytes;
+    private long readBytes;
+    private long writtenBytes;
+
+    public ProcessResourceSampler(ProcessHandle handle) {
+        this(handle, Paths.get("/proc"));
+    }
+
+    ProcessResourceSampler(ProcessHandle handle, Path procDir) {
+        this.handle = handle;
+        this.processDir = procDir.resolve(String.valueOf(handle.pid()));
+    }
+
+    // 누적값이므로 읽을 수 있는 값만 갱신 (종료 직후 읽기에 실패해도 이전 값 유지)
+    public synchronized void sample() {
+        Double cpu = parseCpuSeconds(read("stat"));
+        if (cpu == null) {
+            // /proc이 없는 환경에서는 CPU 시간만 측정
+            cpu = handle.info().totalCpuDuration().map(d -> d.toMillis() / 1000.0).orElse(null);
+        }
+        if (cpu != null) {
+            cpuSeconds = Math.max(cpuSeconds, cpu);
+        }
+
+        Long peakKb = parseField(read("status"), "VmHWM:");
+        if (peakKb != null) {
+            peakRssBytes = Math.max(peakRssBytes, peakKb * 1024);
+        }
+
+        // 페이지 캐시 적중과 파이프(스트리밍 출력)도 포함하도록 블록 장치 기준이 아닌 시스템 호출 기준 값 사용
+        String io = read("io");
+        Long read = parseField(io, "rchar:");
+        if (read != null) {
+            readBytes = Math.max(readBytes, read);
+        }
+        Long written = parseField(io, "wchar:");
+        if (written != null) {
+            writtenBytes = Math.max(writtenBytes, written);
+        }
+    }
+
+    public synchronized ResourceUsage getUsage() {
+        return ResourceUsage.builder()
+                .cpuSeconds(cpuSeconds)
+                .peakRssBytes(peakRssBytes)
+                .readBytes(readBytes)
+                .writtenBytes(writtenBytes)
+                .build();
+    }
+
+    private String read(String name) {
+        try {
+            return Files.readString(processDir.resolve(name));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.debug("프로세스 자원 사용량 읽기 실패: {}/{}", processDir, name, e);
+            return null;
+        }
+    }
+
+    // 프로세스 이름에 공백이나 괄호가 있을 수 있으므로 마지막 ')' 뒤에서부터 필드를 셈 (utime: 14번째, stime: 15번째)
+    static Double parseCpuSeconds(String stat) {
+        if (stat == null) {
+            return null;
+        }
+        int end = stat.lastIndexOf(')');
+        if (end < 0) {
+            return null;
+        }
+        String[] fields = stat.substring(end + 1).trim().split("\\s+");
+        if (fields.length < 13) {
+            return null;
+        }
+        try {
+            long ticks = Long.parseLong(fields[11]) + Long.parseLong(fields[12]);
+            return ticks / CLOCK_TICKS_PER_SECOND;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // "이름: 값 [단위]" 형식의 줄에서 값 추출 (/proc/<pid>/status, /proc/<pid>/io)
+    static Long parseField(String content, String name) {
+        if (content == null) {
+            return null;
+        }
+        for (String line : content.split("\n")) {
+            if (line.startsWith(name)) {
+                String[] parts = line.substring(name.length()).trim().split("\\s+");
+                try {
+                    return Long.parseLong(parts[0]);
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+}
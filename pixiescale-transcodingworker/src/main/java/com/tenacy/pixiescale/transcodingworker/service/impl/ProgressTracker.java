@@ -0,0 +1,91 @@
+package com.tenacy.pixiescale.transcodingworker.service.impl;
+
+// FFmpeg -progress 출력(key=value)으로 출력 위치와 속도를 추적하여 정체 여부와 남은 시간을 추정
+public class ProgressTracker {
+
+    private final Double expectedSeconds;
+    private final long stallMillis;
+    private double outTimeSeconds;
+    private double speed;
+    private boolean ended;
+    private long lastAdvanceMillis;
+
+    // stallSeconds가 0 이하이면 정체 감지 사용 안 함
+    public ProgressTracker(Double expectedSeconds, int stallSeconds, long startMillis) {
+        this.expectedSeconds = expectedSeconds != null && expectedSeconds > 0 ? expectedSeconds : null;
+        this.stallMillis = stallSeconds * 1000L;
+        this.lastAdvanceMillis = startMillis;
+    }
+
+    // 진행 보고 한 묶음의 끝(progress=continue|end)이면 true
+    public synchronized boolean accept(String line, long nowMillis) {
+        int separator = line.indexOf('=');
+        if (separator <= 0) {
+            return false;
+        }
+        String key = line.substring(0, separator).trim();
+        String value = line.substring(separator + 1).trim();
+        try {
+            switch (key) {
+                // out_time_ms도 이름과 달리 마이크로초 단위
+                case "out_time_us", "out_time_ms" -> {
+                    double seconds = Long.parseLong(value) / 1_000_000.0;
+                    if (seconds > outTimeSeconds) {
+                        outTimeSeconds = seconds;
+                        lastAdvanceMillis = nowMillis;
+                    }
+                }
+                case "speed" -> speed = Double.parseDouble(value.endsWith("x")
+                        ? value.substring(0, value.length() - 1) : value);
+                case "progress" -> {
+                    // 인코딩이 끝난 뒤의 후처리(faststart 등)는 위치가 변하지 않으므로 정체로 보지 않음
+                    if ("end".equals(value)) {
+                        ended = true;
+                    }
+                    return true;
+                }
+                default -> {
+                }
+            }
+        } catch (NumberFormatException e) {
+            // 시작 직후의 N/A 값은 무시
+        }
+        return false;
+    }
+
+    public synchronized boolean isStalled(long nowMillis) {
+        return stallMillis > 0 && !ended && nowMillis - lastAdvanceMillis > stallMillis;
+    }
+
+    public synchronized double getOutTimeSeconds() {
+        return outTimeSeconds;
+    }
+
+    public synchronized double getSpeed() {
+        return speed;
+    }
+
+    // 예상 출력 길이 대비 진행률 (0~1), 길이를 모르면 null
+    public synchronized Double getFraction() {
+        if (expectedSeconds == null) {
+            return null;
+        }
+        return Math.min(1.0, outTimeSeconds / expectedSeconds);
+    }
+
+    // 현재 속도로 남은 구간을 인코딩하는 데 걸리는 시간 (초)
+    public synchronized Double getRemainingSeconds() {
+        if (expectedSeconds == null || speed <= 0) {
+            return null;
+        }
+        return Math.max(0, expectedSeconds - outTimeSeconds) / speed;
+    }
+
+    // 예상 출력 길이를 최저 허용 속도로 처리하는 시간 + 시작 여유 시간, 길이를 모르면 고정 제한 시간
+    public static int deadlineSeconds(Double expectedSeconds, double minSpeed, int graceSeconds, int fallbackSeconds) {
+        if (expectedSeconds == null || expectedSeconds <= 0 || minSpeed <= 0) {
+            return fallbackSeconds;
+        }
+        return (int) Math.ceil(expectedSeconds / minSpeed) + graceSeconds;
+    }
+}
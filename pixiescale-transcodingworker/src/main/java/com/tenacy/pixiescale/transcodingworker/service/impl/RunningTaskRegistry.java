@@ -0,0 +1,137 @@
+package com.tenacy.pixiescale.transcodingworker.service.impl;
+
+import com.tenacy.pixiescale.common.domain.TranscodingTask;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 이 워커에서 실행 중인 태스크 시도와 FFmpeg 프로세스를 기록하여 다른 워커가 먼저 완료한 시도나 취소된 작업의 태스크를 중단
+@Slf4j
+@Component
+public class RunningTaskRegistry {
+
+    // 이 워커로 오지 않은 시도의 중단 요청도 모두 수신하므로 오래된 요청은 정리
+    private static final Duration ABORT_RETENTION = Duration.ofHours(1);
+
+    private final ConcurrentHashMap<String, RunningAttempt> running = new ConcurrentHashMap<>();
+    // 시작 전에 중단 요청을 받은 시도 (대기열에서 꺼낼 때 실행하지 않음)
+    private final ConcurrentHashMap<String, Instant> pendingAborts = new ConcurrentHashMap<>();
+    // 취소된 작업 (이후 전달되는 같은 작업의 태스크는 실행하지 않음)
+    private final ConcurrentHashMap<String, Instant> cancelledJobs = new ConcurrentHashMap<>();
+
+    // 시작할 수 있으면 true (취소된 작업이거나 중단 요청된 시도는 실행하지 않음)
+    public boolean start(TranscodingTask task) {
+        if (isJobCancelled(task.getJobId())) {
+            log.info("취소된 작업의 태스크 건너뜀: taskId={}, jobId={}", task.getId(), task.getJobId());
+            return false;
+        }
+        String key = key(task.getId(), task.getAttemptId());
+        if (task.getAttemptId() != null && pendingAborts.remove(key) != null) {
+            log.info("시작 전에 중단 요청된 시도 건너뜀: taskId={}, attemptId={}", task.getId(), task.getAttemptId());
+            return false;
+        }
+        running.put(key, new RunningAttempt(task.getId(), task.getJobId()));
+        // 등록 직전에 취소 요청이 처리되었을 수 있으므로 다시 확인
+        if (isJobCancelled(task.getJobId())) {
+            running.remove(key);
+            return false;
+        }
+        return true;
+    }
+
+    public void attach(TranscodingTask task, Process process) {
+        RunningAttempt attempt = running.get(key(task.getId(), task.getAttemptId()));
+        if (attempt == null) {
+            return;
+        }
+        synchronized (attempt) {
+            attempt.process = process;
+            if (attempt.aborted) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    public void finish(TranscodingTask task) {
+        running.remove(key(task.getId(), task.getAttemptId()));
+    }
+
+    // 같은 태스크의 다른 시도가 이 워커에서 실행 중이면 true (추측 실행은 다른 워커에서 해야 의미가 있음)
+    public boolean isRunningOtherAttempt(TranscodingTask task) {
+        String key = key(task.getId(), task.getAttemptId());
+        return running.entrySet().stream()
+                .anyMatch(entry -> entry.getValue().taskId.equals(task.getId()) && !entry.getKey().equals(key));
+    }
+
+    public boolean isAborted(TranscodingTask task) {
+        RunningAttempt attempt = running.get(key(task.getId(), task.getAttemptId()));
+        return attempt != null && attempt.aborted;
+    }
+
+    public boolean isJobCancelled(String jobId) {
+        return jobId != null && cancelledJobs.containsKey(jobId);
+    }
+
+    // 실행 중이면 프로세스를 종료하고 true, 아직 시작 전이면 시작할 때 건너뛰도록 기록
+    public boolean abort(String taskId, String attemptId) {
+        String key = key(taskId, attemptId);
+        RunningAttempt attempt = running.get(key);
+        if (attempt == null) {
+            Instant now = Instant.now();
+            pendingAborts.values().removeIf(requestedAt -> requestedAt.isBefore(now.minus(ABORT_RETENTION)));
+            pendingAborts.put(key, now);
+            return false;
+        }
+
+        kill(attempt);
+        log.info("실행 중인 시도 중단: taskId={}, attemptId={}", taskId, attemptId);
+        return true;
+    }
+
+    // 작업을 취소 상태로 기록하여 대기 중인 태스크는 시작하지 않고, 실행 중인 태스크의 프로세스는 종료
+    public int cancelJob(String jobId) {
+        Instant now = Instant.now();
+        cancelledJobs.values().removeIf(requestedAt -> requestedAt.isBefore(now.minus(ABORT_RETENTION)));
+        cancelledJobs.put(jobId, now);
+
+        int killed = 0;
+        for (RunningAttempt attempt : running.values()) {
+            if (jobId.equals(attempt.jobId)) {
+                kill(attempt);
+                killed++;
+            }
+        }
+        if (killed > 0) {
+            log.info("취소된 작업의 실행 중인 태스크 중단: jobId={}, 태스크 수={}", jobId, killed);
+        }
+        return killed;
+    }
+
+    private void kill(RunningAttempt attempt) {
+        synchronized (attempt) {
+            attempt.aborted = true;
+            if (attempt.process != null && attempt.process.isAlive()) {
+                attempt.process.destroyForcibly();
+            }
+        }
+    }
+
+    private String key(String taskId, String attemptId) {
+        return taskId + "/" + attemptId;
+    }
+
+    private static class RunningAttempt {
+        private final String taskId;
+        private final String jobId;
+        private Process process;
+        private volatile boolean aborted;
+
+        private RunningAttempt(String taskId, String jobId) {
+            this.taskId = taskId;
+            this.jobId = jobId;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.tenacy.pixiescale.transcodingworker.service.impl;
+
+import com.tenacy.pixiescale.transcodingworker.config.FFmpegConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+// 임시 출력 위치 선택: 예상 크기가 작은 출력은 메모리 기반 디렉토리(tmpfs)에, 나머지와 예산을 넘는 출력은 디스크 임시 디렉토리에
+// (저해상도 렌디션이 임시 볼륨에 쓰고 다시 읽는 I/O를 없앰)
+@Slf4j
+@Component
+public class ScratchSpace {
+
+    private final FFmpegConfig ffmpegConfig;
+    // 태스크별로 메모리 디렉토리에 예약한 크기
+    private final Map<String, Long> memoryReserved = new HashMap<>();
+    private long memoryUsed;
+
+    public ScratchSpace(FFmpegConfig ffmpegConfig) {
+        this.ffmpegConfig = ffmpegConfig;
+        if (ffmpegConfig.isScratchMemoryEnabled()) {
+            purgeMemoryDir();
+        }
+    }
+
+    // 출력을 만들 디렉토리 반환 (메모리 디렉토리를 쓰면 태스크 종료 시 release로 예약 해제)
+    public Path allocate(String taskId, long predictedBytes) throws IOException {
+        if (reserveMemory(taskId, predictedBytes)) {
+            try {
+                Path memoryDir = Paths.get(ffmpegConfig.getScratchMemoryDir());
+                Files.createDirectories(memoryDir);
+                // tmpfs 크기가 예산보다 작게 설정된 경우 대비
+                if (Files.getFileStore(memoryDir).getUsableSpace() >= predictedBytes) {
+                    log.debug("메모리 임시 디렉토리 사용: {} ({} bytes 예상)", taskId, predictedBytes);
+                    return memoryDir;
+                }
+            } catch (IOException e) {
+                log.warn("메모리 임시 디렉토리를 사용할 수 없어 디스크 사용: {}", ffmpegConfig.getScratchMemoryDir(), e);
+            }
+            releaseMemory(taskId, predictedBytes);
+        }
+
+        Path tempDir = Paths.get(ffmpegConfig.getTempDir());
+        Files.createDirectories(tempDir);
+        return tempDir;
+    }
+
+    public synchronized void release(String taskId) {
+        Long reserved = memoryReserved.remove(taskId);
+        if (reserved != null) {
+            memoryUsed -= reserved;
+        }
+    }
+
+    public synchronized long getMemoryUsed() {
+        return memoryUsed;
+    }
+
+    private synchronized boolean reserveMemory(String taskId, long predictedBytes) {
+        if (!ffmpegConfig.isScratchMemoryEnabled() || predictedBytes <= 0
+                || predictedBytes > ffmpegConfig.getScratchMemoryMaxFileMb() * 1024L * 1024L
+                || memoryUsed + predictedBytes > ffmpegConfig.getScratchMemoryMaxMb() * 1024L * 1024L) {
+            return false;
+        }
+        memoryUsed += predictedBytes;
+        memoryReserved.merge(taskId, predictedBytes, Long::sum);
+        return true;
+    }
+
+    private synchronized void releaseMemory(String taskId, long bytes) {
+        memoryUsed -= bytes;
+        memoryReserved.computeIfPresent(taskId, (key, reserved) -> reserved - bytes > 0 ? reserved - bytes : null);
+    }
+
+    // 컨테이너 재시작 후에도 남아 있는 메모리 디렉토리의 이전 출력 정리 (메모리를 계속 차지하므로)
+    private void purgeMemoryDir() {
+        Path memoryDir = Paths.get(ffmpegConfig.getScratchMemoryDir());
+        if (!Files.isDirectory(memoryDir)) {
+            return;
+        }
+        try (var files = Files.list(memoryDir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (Files.isDirectory(file)) {
+                    try (var children = Files.list(file)) {
+                        for (Path child : (Iterable<Path>) children::iterator) {
+                            Files.deleteIfExists(child);
+                        }
+                    }
+                }
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            log.warn("메모리 임시 디렉토리 정리 실패: {}", memoryDir, e);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.tenacy.pixiescale.transcodingworker.service.impl;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+// 출력 볼륨에 남긴 세그먼트 체크포인트 (segment 먹서가 세그먼트를 닫을 때마다 목록 파일에 기록한 항목만 완료로 판단)
+@Slf4j
+@Getter
+public class SegmentCheckpoint {
+
+    public static final String SEGMENT_PATTERN = "part_%05d.mp4";
+    private static final String LIST_PREFIX = "segments_";
+    private static final String LIST_SUFFIX = ".csv";
+    // 마지막 세그먼트 끝과 출력 길이의 오차 허용 범위 (프레임 경계 반올림)
+    private static final double COMPLETE_TOLERANCE_SECONDS = 0.5;
+
+    private final Path dir;
+    private final List<Path> segments;
+    private final double completedSeconds;
+
+    SegmentCheckpoint(Path dir, List<Path> segments, double completedSeconds) {
+        this.dir = dir;
+        this.segments = segments;
+        this.completedSeconds = completedSeconds;
+    }
+
+    // segment 먹서는 실행마다 목록 파일을 새로 쓰므로 실행별 목록 파일을 시작 번호 순서대로 이어 붙임
+    // (각 실행의 시간은 재개 지점 기준이므로 실행마다 완료 구간 길이를 누적)
+    public static SegmentCheckpoint load(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        List<Path> lists;
+        try (var files = Files.list(dir)) {
+            lists = files.filter(file -> parseListNumber(file) >= 0)
+                    .sorted(Comparator.comparingInt(SegmentCheckpoint::parseListNumber))
+                    .collect(Collectors.toList());
+        }
+
+        List<Path> segments = new ArrayList<>();
+        double completedSeconds = 0;
+        for (Path list : lists) {
+            // 이전 실행 기록이 끊긴 뒤의 목록은 재개 위치와 맞지 않으므로 버림
+            if (parseListNumber(list) != segments.size()) {
+                log.warn("이어지지 않는 체크포인트 목록 삭제: {}", list);
+                Files.deleteIfExists(list);
+                continue;
+            }
+
+            List<Entry> entries = parseSegmentList(Files.readAllLines(list));
+            int added = 0;
+            for (Entry entry : entries) {
+                Path segment = dir.resolve(Paths.get(entry.filename).getFileName());
+                if (!Files.exists(segment)) {
+                    break;
+                }
+                segments.add(segment);
+                added++;
+            }
+            if (added > 0) {
+                completedSeconds += entries.get(added - 1).end - entries.get(0).start;
+            }
+        }
+        return new SegmentCheckpoint(dir, segments, completedSeconds);
+    }
+
+    // CSV 목록: "파일명,시작 시간,종료 시간"
+    static List<Entry> parseSegmentList(List<String> lines) {
+        List<Entry> entries = new ArrayList<>();
+        for (String line : lines) {
+            String[] fields = line.trim().split(",");
+            if (fields.length < 3) {
+                continue;
+            }
+            try {
+                entries.add(new Entry(fields[0], Double.parseDouble(fields[1]), Double.parseDouble(fields[2])));
+            } catch (NumberFormatException e) {
+                // 기록 도중 중단된 마지막 줄은 무시
+                break;
+            }
+        }
+        return entries;
+    }
+
+    // 다음 실행이 사용할 세그먼트 시작 번호와 목록 파일
+    public int getNextNumber() {
+        return segments.size();
+    }
+
+    public Path getNextListFile() {
+        return dir.resolve(LIST_PREFIX + getNextNumber() + LIST_SUFFIX);
+    }
+
+    public boolean isComplete(double outputSeconds) {
+        return !segments.isEmpty() && completedSeconds >= outputSeconds - COMPLETE_TOLERANCE_SECONDS;
+    }
+
+    // 워커가 재시작되지 않고 방치된 체크포인트 정리
+    public static void purgeExpired(Path root, Duration retention) {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        Instant threshold = Instant.now().minus(retention);
+        try (var dirs = Files.list(root)) {
+            for (Path checkpointDir : (Iterable<Path>) dirs::iterator) {
+                if (Files.isDirectory(checkpointDir)
+                        && Files.getLastModifiedTime(checkpointDir).toInstant().isBefore(threshold)) {
+                    delete(checkpointDir);
+                    log.info("만료된 체크포인트 삭제: {}", checkpointDir);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("체크포인트 정리 실패: {}", root, e);
+        }
+    }
+
+    public static void delete(Path dir) {
+        try {
+            if (Files.isDirectory(dir)) {
+                try (var files = Files.list(dir)) {
+                    for (Path file : (Iterable<Path>) files::iterator) {
+                        Files.deleteIfExists(file);
+                    }
+                }
+            }
+            Files.deleteIfExists(dir);
+        } catch (IOException e) {
+            log.warn("체크포인트 삭제 실패: {}", dir, e);
+        }
+    }
+
+    private static int parseListNumber(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith(LIST_PREFIX) || !name.endsWith(LIST_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(name.substring(LIST_PREFIX.length(), name.length() - LIST_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%s (세그먼트 %d개, %.1f초)", dir, segments.size(), completedSeconds);
+    }
+
+    @Getter
+    static class Entry {
+        private final String filename;
+        private final double start;
+        private final double end;
+
+        Entry(String filename, double start, double end) {
+            this.filename = filename;
+            this.start = start;
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package com.tenacy.pixiescale.transcodingworker.service.impl;
+
+import com.tenacy.pixiescale.transcodingworker.config.FFmpegConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 공유 볼륨(media-uploads)의 원본을 노드 로컬 디스크에 복사해 두고 렌디션 태스크 간에 재사용
+// (미디어 ID 기준, 용량 한도를 넘으면 사용 중이 아닌 항목부터 LRU 순서로 정리)
+@Slf4j
+@Component
+public class SourceCache {
+
+    private static final String PARTIAL_SUFFIX = ".partial";
+
+    private final FFmpegConfig ffmpegConfig;
+    // 접근 순서 유지 (가장 오래 사용하지 않은 항목이 앞), 아래 상태는 모두 entries로 동기화
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // 태스크 ID별로 사용 중인 항목 (실행 중인 FFmpeg가 읽는 파일은 정리하지 않음)
+    private final Map<String, Entry> leases = new HashMap<>();
+    // 같은 미디어의 동시 요청은 한 번만 복사
+    private final ConcurrentHashMap<String, CompletableFuture<Boolean>> fills = new ConcurrentHashMap<>();
+    private long totalBytes;
+
+    public SourceCache(FFmpegConfig ffmpegConfig) {
+        this.ffmpegConfig = ffmpegConfig;
+        if (ffmpegConfig.isSourceCacheEnabled()) {
+            loadExisting();
+        }
+    }
+
+    // 캐시된 원본 경로 반환 (캐시를 사용할 수 없으면 원본 경로), 태스크가 끝나면 release 호출 필요
+    public Path acquire(String ownerId, String mediaId, Path source) throws IOException {
+        if (!ffmpegConfig.isSourceCacheEnabled() || !Files.isRegularFile(source)) {
+            return source;
+        }
+        long size = Files.size(source);
+        long modifiedMillis = Files.getLastModifiedTime(source).toMillis();
+        if (size > getMaxBytes()) {
+            return source;
+        }
+
+        while (true) {
+            synchronized (entries) {
+                Entry entry = entries.get(mediaId);
+                if (entry != null && entry.matches(source, size, modifiedMillis) && Files.exists(entry.path)) {
+                    lease(ownerId, entry);
+                    return entry.path;
+                }
+                if (entry != null) {
+                    // 원본이 바뀌었거나 캐시 파일이 사라진 항목
+                    remove(entry);
+                }
+            }
+
+            CompletableFuture<Boolean> created = new CompletableFuture<>();
+            CompletableFuture<Boolean> existing = fills.putIfAbsent(mediaId, created);
+            if (existing != null) {
+                // 다른 태스크의 복사가 끝나면 다시 조회, 복사에 실패했으면 원본을 직접 읽음
+                if (!existing.join()) {
+                    return source;
+                }
+                continue;
+            }
+
+            boolean filled = false;
+            try {
+                Path cached = fill(ownerId, mediaId, source, size, modifiedMillis);
+                filled = cached != null;
+                return filled ? cached : source;
+            } finally {
+                fills.remove(mediaId, created);
+                created.complete(filled);
+            }
+        }
+    }
+
+    // 원본과 같은 로컬 사본이 있으면 true (곧 사용할 항목이므로 접근 순서도 갱신)
+    public boolean contains(String mediaId, Path source) throws IOException {
+        if (!ffmpegConfig.isSourceCacheEnabled() || !Files.isRegularFile(source)) {
+            return false;
+        }
+        long size = Files.size(source);
+        long modifiedMillis = Files.getLastModifiedTime(source).toMillis();
+        synchronized (entries) {
+            Entry entry = entries.get(mediaId);
+            return entry != null && entry.matches(source, size, modifiedMillis) && Files.exists(entry.path);
+        }
+    }
+
+    public void release(String ownerId) {
+        synchronized (entries) {
+            Entry entry = leases.remove(ownerId);
+            if (entry == null) {
+                return;
+            }
+            entry.refs--;
+            if (entry.removed && entry.refs == 0) {
+                delete(entry);
+            }
+        }
+    }
+
+    public long getTotalBytes() {
+        synchronized (entries) {
+            return totalBytes;
+        }
+    }
+
+    public int getEntryCount() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private Path fill(String ownerId, String mediaId, Path source, long size, long modifiedMillis) {
+        Path cacheDir = getCacheDir();
+        Path target = cacheDir.resolve(source.getFileName());
+        Entry entry = new Entry(mediaId, target, source, size, modifiedMillis);
+
+        // 복사할 공간을 먼저 예약 (부족하면 사용 중이 아닌 항목 정리)
+        synchronized (entries) {
+            if (!reserve(size)) {
+                log.debug("원본 캐시 공간 부족, 공유 볼륨에서 직접 읽음: {} ({} bytes)", mediaId, size);
+                return null;
+            }
+        }
+
+        Path partial = null;
+        try {
+            Files.createDirectories(cacheDir);
+            if (Files.getFileStore(cacheDir).getUsableSpace() < size) {
+                throw new IOException("로컬 디스크 여유 공간 부족");
+            }
+
+            // 복사 중인 파일을 다른 태스크가 읽지 않도록 임시 파일에 쓴 뒤 원자적으로 이동
+            long startMillis = System.currentTimeMillis();
+            partial = cacheDir.resolve(source.getFileName() + PARTIAL_SUFFIX);
+            Files.copy(source, partial, StandardCopyOption.REPLACE_EXISTING);
+            synchronized (entries) {
+                Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                partial = null;
+                entries.put(mediaId, entry);
+                lease(ownerId, entry);
+            }
+            log.info("원본 캐시 생성: {} ({} bytes, {} ms)", mediaId, size, System.currentTimeMillis() - startMillis);
+            return target;
+        } catch (IOException e) {
+            log.warn("원본 캐시 생성 실패, 공유 볼륨에서 직접 읽음: {}", mediaId, e);
+            synchronized (entries) {
+                totalBytes -= size;
+            }
+            return null;
+        } finally {
+            if (partial != null) {
+                try {
+                    Files.deleteIfExists(partial);
+                } catch (IOException e) {
+                    log.warn("임시 파일 삭제 실패", e);
+                }
+            }
+        }
+    }
+
+    private void lease(String ownerId, Entry entry) {
+        Entry previous = leases.put(ownerId, entry);
+        if (previous == entry) {
+            return;
+        }
+        entry.refs++;
+        if (previous != null) {
+            previous.refs--;
+            if (previous.removed && previous.refs == 0) {
+                delete(previous);
+            }
+        }
+    }
+
+    // 오래 사용하지 않은 항목부터 정리하여 한도 안에 size만큼의 공간 확보
+    private boolean reserve(long size) {
+        long maxBytes = getMaxBytes();
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (totalBytes + size > maxBytes && iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.refs > 0) {
+                continue;
+            }
+            iterator.remove();
+            entry.removed = true;
+            delete(entry);
+            log.debug("원본 캐시 정리 (LRU): {}", entry.mediaId);
+        }
+        if (totalBytes + size > maxBytes) {
+            return false;
+        }
+        totalBytes += size;
+        return true;
+    }
+
+    private void remove(Entry entry) {
+        entries.remove(entry.mediaId, entry);
+        entry.removed = true;
+        if (entry.refs == 0) {
+            delete(entry);
+        }
+    }
+
+    private void delete(Entry entry) {
+        totalBytes -= entry.size;
+        // 원본이 바뀌어 같은 경로에 새로 복사된 경우 새 항목의 파일은 남김
+        if (entries.values().stream().anyMatch(other -> other.path.equals(entry.path))) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(entry.path);
+        } catch (IOException e) {
+            log.warn("원본 캐시 삭제 실패: {}", entry.path, e);
+        }
+    }
+
+    // 워커 재시작 시 로컬 디스크에 남아 있는 캐시를 수정 시간 순서로 다시 등록 (원본과 비교할 수 없으므로 첫 요청에서 검증)
+    private void loadExisting() {
+        Path cacheDir = getCacheDir();
+        if (!Files.isDirectory(cacheDir)) {
+            return;
+        }
+        List<Path> files = new ArrayList<>();
+        try (var list = Files.list(cacheDir)) {
+            for (Path file : (Iterable<Path>) list::iterator) {
+                if (file.getFileName().toString().endsWith(PARTIAL_SUFFIX)) {
+                    Files.deleteIfExists(file);
+                } else if (Files.isRegularFile(file)) {
+                    files.add(file);
+                }
+            }
+            files.sort(Comparator.comparingLong(SourceCache::lastModifiedMillis));
+            synchronized (entries) {
+                for (Path file : files) {
+                    String mediaId = MediaSourceLocator.extractMediaId(file.getFileName().toString());
+                    Entry entry = new Entry(mediaId, file, null, Files.size(file), 0);
+                    entries.put(mediaId, entry);
+                    totalBytes += entry.size;
+                }
+            }
+            log.info("원본 캐시 로드: {}개, {} bytes", files.size(), totalBytes);
+        } catch (IOException e) {
+            log.warn("원본 캐시 로드 실패: {}", cacheDir, e);
+        }
+    }
+
+    private static long lastModifiedMillis(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private long getMaxBytes() {
+        return ffmpegConfig.getSourceCacheMaxMb() * 1024L * 1024L;
+    }
+
+    private Path getCacheDir() {
+        return Paths.get(ffmpegConfig.getSourceCacheDir());
+    }
+
+    private static class Entry {
+        private final String mediaId;
+        private final Path path;
+        private final Path source;
+        private final long size;
+        private final long modifiedMillis;
+        private int refs;
+        private boolean removed;
+
+        private Entry(String mediaId, Path path, Path source, long size, long modifiedMillis) {
+            this.mediaId = mediaId;
+            this.path = path;
+            this.source = source;
+            this.size = size;
+            this.modifiedMillis = modifiedMillis;
+        }
+
+        // 재시작 후 로드한 항목은 파일명과 크기로 검증
+        private boolean matches(Path otherSource, long otherSize, long otherModifiedMillis) {
+            if (source == null) {
+                return path.getFileName().equals(otherSource.getFileName()) && size == otherSize;
+            }
+            return source.equals(otherSource) && size == otherSize && modifiedMillis == otherModifiedMillis;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.tenacy.pixiescale.transcodingworker.service.impl;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tenacy.pixiescale.common.domain.TranscodingTask;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+// 태스크 ID별 실행 기록 (시작/완료와 저장된 출력 위치)을 출력 볼륨에 남겨
+// 처리 도중 재시작이나 리밸런싱으로 다시 전달된 태스크가 이미 완료되었으면 다시 인코딩하지 않고 결과만 재발행
+@Slf4j
+@Component
+public class TaskLedger {
+
+    private static final String ENTRY_SUFFIX = ".json";
+
+    private final Path ledgerDir;
+    private final Duration retention;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    public TaskLedger(@Value("${app.transcoding.ledger-dir:${storage.base-dir}/.ledger}") String ledgerDir,
+                      @Value("${app.transcoding.ledger-retention-hours:168}") int retentionHours) {
+        this.ledgerDir = Paths.get(ledgerDir);
+        this.retention = Duration.ofHours(retentionHours);
+        purgeExpired();
+    }
+
+    public void started(TranscodingTask task) {
+        Entry previous = read(task.getId());
+        if (previous != null && previous.getStatus() == Status.STARTED) {
+            // 이전 실행이 결과를 보고하지 못하고 중단됨 (체크포인트가 있으면 이어서 인코딩)
+            log.info("완료되지 않은 이전 실행이 있는 태스크 다시 실행: {} (이전 시도: {})",
+                    task.getId(), previous.getAttemptId());
+        }
+        if (previous != null && previous.getStatus() == Status.COMPLETED) {
+            return;
+        }
+        write(Entry.builder()
+                .taskId(task.getId())
+                .jobId(task.getJobId())
+                .attemptId(task.getAttemptId())
+                .status(Status.STARTED)
+                .updatedAt(System.currentTimeMillis())
+                .build());
+    }
+
+    // 완료된 태스크만 기록 (실패한 태스크는 재전달되면 다시 실행)
+    public void completed(TranscodingTask task) {
+        if (task.getStatus() != TranscodingTask.TaskStatus.COMPLETED) {
+            return;
+        }
+        write(Entry.builder()
+                .taskId(task.getId())
+                .jobId(task.getJobId())
+                .attemptId(task.getAttemptId())
+                .status(Status.COMPLETED)
+                .outputPath(task.getOutputPath())
+                .artifactPaths(task.getArtifactPaths())
+                .probeBitrate(task.getProbeBitrate())
+                .updatedAt(System.currentTimeMillis())
+                .build());
+    }
+
+    // 이미 완료된 태스크의 기록 (없으면 null)
+    // 미디어 스토리지가 결과를 영구 저장소로 옮기면서 출력 볼륨의 파일을 삭제하므로 출력 파일 존재 여부는 확인하지 않음
+    public Entry findCompleted(String taskId) {
+        Entry entry = read(taskId);
+        if (entry == null || entry.getStatus() != Status.COMPLETED) {
+            return null;
+        }
+        return entry;
+    }
+
+    // 완료 기록으로 결과 이벤트를 다시 만들 수 있도록 태스크에 출력 정보를 채움
+    public TranscodingTask applyTo(TranscodingTask task, Entry entry) {
+        task.setStatus(TranscodingTask.TaskStatus.COMPLETED);
+        task.setOutputPath(entry.getOutputPath());
+        task.setArtifactPaths(entry.getArtifactPaths());
+        task.setProbeBitrate(entry.getProbeBitrate());
+        return task;
+    }
+
+    public void purgeExpired() {
+        if (!Files.isDirectory(ledgerDir)) {
+            return;
+        }
+        Instant threshold = Instant.now().minus(retention);
+        try (var files = Files.list(ledgerDir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(threshold)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("태스크 실행 기록 정리 실패: {}", ledgerDir, e);
+        }
+    }
+
+    private Entry read(String taskId) {
+        Path file = resolve(taskId);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(file.toFile(), Entry.class);
+        } catch (IOException e) {
+            log.warn("태스크 실행 기록 읽기 실패: {}", file, e);
+            return null;
+        }
+    }
+
+    // 다른 워커가 읽는 중에도 온전한 기록만 보이도록 임시 파일에 쓴 뒤 원자적으로 이동
+    private void write(Entry entry) {
+        Path file = resolve(entry.getTaskId());
+        Path tempFile = null;
+        try {
+            Files.createDirectories(ledgerDir);
+            tempFile = Files.createTempFile(ledgerDir, entry.getTaskId() + "-", ".tmp");
+            objectMapper.writeValue(tempFile.toFile(), entry);
+            Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            tempFile = null;
+        } catch (IOException e) {
+            // 기록 실패는 재전달 시 다시 인코딩할 뿐이므로 태스크는 계속 진행
+            log.warn("태스크 실행 기록 저장 실패: {}", entry.getTaskId(), e);
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException e) {
+                    log.warn("임시 파일 삭제 실패", e);
+                }
+            }
+        }
+    }
+
+    private Path resolve(String taskId) {
+        return ledgerDir.resolve(Paths.get(taskId).getFileName() + ENTRY_SUFFIX);
+    }
+
+    public enum Status {
+        STARTED, COMPLETED
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        private String taskId;
+        private String jobId;
+        private String attemptId;
+        private Status status;
+        private String outputPath;
+        private List<String> artifactPaths;
+        private Integer probeBitrate;
+        private long updatedAt;
+    }
+}
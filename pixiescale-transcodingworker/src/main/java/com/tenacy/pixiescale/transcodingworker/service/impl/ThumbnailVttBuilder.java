@@ -0,0 +1,44 @@
+package com.tenacy.pixiescale.transcodingworker.service.impl;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+@Component
+public class ThumbnailVttBuilder {
+
+    public static final String VTT_FILENAME = "thumbnails.vtt";
+
+    // 스크럽바 미리보기용 WebVTT: 각 구간이 스프라이트 시트의 어느 영역인지 #xywh로 지정
+    public String build(int thumbnailCount, int intervalSeconds, int width, int height,
+                        int columns, int rows, Double duration) {
+        StringBuilder vtt = new StringBuilder("WEBVTT\n");
+        int perSprite = columns * rows;
+
+        for (int i = 0; i < thumbnailCount; i++) {
+            double start = (double) i * intervalSeconds;
+            double end = (double) (i + 1) * intervalSeconds;
+            if (duration != null && duration > start) {
+                end = Math.min(end, duration);
+            }
+
+            int sheet = i / perSprite + 1; // image2 출력 번호는 1부터 시작
+            int position = i % perSprite;
+            int x = (position % columns) * width;
+            int y = (position / columns) * height;
+
+            vtt.append("\n")
+                    .append(formatTimestamp(start)).append(" --> ").append(formatTimestamp(end)).append("\n")
+                    .append(String.format(Locale.ROOT, FFmpegCommandBuilder.SPRITE_PATTERN, sheet))
+                    .append("#xywh=").append(x).append(",").append(y).append(",")
+                    .append(width).append(",").append(height).append("\n");
+        }
+        return vtt.toString();
+    }
+
+    private String formatTimestamp(double seconds) {
+        long millis = Math.round(seconds * 1000);
+        return String.format(Locale.ROOT, "%02d:%02d:%02d.%03d",
+                millis / 3_600_000, (millis / 60_000) % 60, (millis / 1000) % 60, millis % 1000);
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
 import reactor.core.publisher.Mono;
 
+import java.io.InputStream;
 import java.nio.file.Path;
 
 @TestConfiguration
@@ -26,6 +27,16 @@ public class TestConfig {
             public Mono<String> store(Path filePath, String filename) {
                 return Mono.just("stored-" + filename);
             }
+
+            @Override
+            public Mono<String> store(InputStream inputStream, String filename) {
+                return Mono.just("stored-" + filename);
+            }
+
+            @Override
+            public Path resolve(String storedPath) {
+                return Path.of(System.getProperty("java.io.tmpdir"), storedPath);
+            }
         };
     }
 }
\ No newline at end of file
@@ -2,7 +2,17 @@ package com.tenacy.pixiescale.transcodingworker.service;
 
 import com.tenacy.pixiescale.common.domain.TranscodingTask;
 import com.tenacy.pixiescale.transcodingworker.config.FFmpegConfig;
+import com.tenacy.pixiescale.transcodingworker.service.impl.AudioTrackCache;
+import com.tenacy.pixiescale.transcodingworker.service.impl.CpuBudget;
+import com.tenacy.pixiescale.transcodingworker.service.impl.FFmpegCommandBuilder;
 import com.tenacy.pixiescale.transcodingworker.service.impl.FFmpegTranscodingWorker;
+import com.tenacy.pixiescale.transcodingworker.service.impl.LiveSegmentPublisher;
+import com.tenacy.pixiescale.transcodingworker.service.impl.MasterPlaylistBuilder;
+import com.tenacy.pixiescale.transcodingworker.service.impl.MediaSourceLocator;
+import com.tenacy.pixiescale.transcodingworker.service.impl.RunningTaskRegistry;
+import com.tenacy.pixiescale.transcodingworker.service.impl.ScratchSpace;
+import com.tenacy.pixiescale.transcodingworker.service.impl.SourceCache;
+import com.tenacy.pixiescale.transcodingworker.service.impl.ThumbnailVttBuilder;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,8 +22,8 @@ import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
-import org.springframework.test.util.ReflectionTestUtils;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
 import java.io.IOException;
@@ -56,14 +66,15 @@ public class FFmpegTranscodingWorkerTest {
         lenient().when(storageService.store(any(Path.class), anyString())).thenReturn(Mono.just("test-output.mp4"));
 
         // TranscodingWorker 생성 및 소스 디렉토리 설정
-        transcodingWorker = new FFmpegTranscodingWorker(ffmpegConfig, storageService, metricsService);
+        transcodingWorker = new FFmpegTranscodingWorker(ffmpegConfig, new FFmpegCommandBuilder(ffmpegConfig),
+                new AudioTrackCache(ffmpegConfig), new MasterPlaylistBuilder(),
+                new ThumbnailVttBuilder(), new LiveSegmentPublisher(storageService), new CpuBudget(ffmpegConfig),
+                new RunningTaskRegistry(), new MediaSourceLocator(tempDir.toString()), new SourceCache(ffmpegConfig),
+                new ScratchSpace(ffmpegConfig), storageService, metricsService, Schedulers.immediate());
 
         // 리플렉션 대신 스파이로 메서드 대체
         transcodingWorker = spy(transcodingWorker);
 
-        // sourceMediaDir 필드 설정
-        ReflectionTestUtils.setField(transcodingWorker, "sourceMediaDir", tempDir.toString());
-
         // 테스트 미디어 파일 생성
         createTestMediaFile("test-media-id", "mp4");
     }
@@ -0,0 +1,114 @@
+package com.tenacy.pixiescale.transcodingworker.service.impl;
+
+import com.tenacy.pixiescale.transcodingworker.config.FFmpegConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AudioTrackCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private FFmpegConfig ffmpegConfig;
+    private AudioTrackCache audioTrackCache;
+
+    @BeforeEach
+    void setUp() {
+        ffmpegConfig = new FFmpegConfig();
+        ffmpegConfig.setTempDir(tempDir.toString());
+        audioTrackCache = new AudioTrackCache(ffmpegConfig);
+    }
+
+    @Test
+    void getOrCreateShouldExtractOnceForConcurrentRenditions() throws Exception {
+        // Arrange
+        AtomicInteger extractCount = new AtomicInteger();
+        CountDownLatch extracting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        AudioTrackCache.AudioExtractor extractor = outputPath -> {
+            extractCount.incrementAndGet();
+            extracting.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            Files.writeString(outputPath, "audio");
+        };
+
+        // Act - 첫 번째 추출이 진행 중일 때 두 번째 렌디션이 같은 작업의 오디오를 요청
+        CompletableFuture<Path> first = CompletableFuture.supplyAsync(() -> audioTrackCache.getOrCreate("job-1", extractor));
+        assertTrue(extracting.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Path> second = CompletableFuture.supplyAsync(() -> audioTrackCache.getOrCreate("job-1", extractor));
+        release.countDown();
+
+        // Assert
+        Path firstPath = first.get(5, TimeUnit.SECONDS);
+        assertEquals(firstPath, second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, extractCount.get());
+        assertEquals("audio", Files.readString(firstPath));
+    }
+
+    @Test
+    void getOrCreateShouldReturnNullAndNotRetryFailedJob() throws Exception {
+        // Arrange
+        AtomicInteger extractCount = new AtomicInteger();
+
+        // Act - 오디오 트랙이 없는 원본은 추출이 실패하므로 같은 작업의 다른 렌디션이 다시 추출하지 않아야 함
+        Path failed = audioTrackCache.getOrCreate("job-1", outputPath -> {
+            extractCount.incrementAndGet();
+            throw new RuntimeException("FFmpeg 처리 실패: 종료 코드 1");
+        });
+        Path next = audioTrackCache.getOrCreate("job-1", outputPath -> {
+            extractCount.incrementAndGet();
+            Files.writeString(outputPath, "audio");
+        });
+
+        // Assert - 실패 결과를 캐시하고 임시 파일도 남기지 않음
+        assertNull(failed);
+        assertNull(next);
+        assertEquals(1, extractCount.get());
+        try (var files = Files.list(tempDir.resolve("audio-cache"))) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void getOrCreateShouldRetryFailedJobAfterExpiry() throws InterruptedException {
+        // Arrange
+        ffmpegConfig.setAudioCacheTtlMinutes(0);
+        assertNull(audioTrackCache.getOrCreate("job-1", outputPath -> {
+            throw new RuntimeException("FFmpeg 처리 실패: 종료 코드 1");
+        }));
+        Thread.sleep(10);
+
+        // Act - 만료된 실패 결과는 정리되어 다시 추출
+        Path retried = audioTrackCache.getOrCreate("job-1", outputPath -> Files.writeString(outputPath, "audio"));
+
+        // Assert
+        assertNotNull(retried);
+        assertTrue(retried.getFileName().toString().startsWith("job-1."));
+    }
+
+    @Test
+    void purgeExpiredShouldDeleteCachedTrack() throws InterruptedException {
+        // Arrange
+        ffmpegConfig.setAudioCacheTtlMinutes(0);
+        Path cached = audioTrackCache.getOrCreate("job-1", outputPath -> Files.writeString(outputPath, "audio"));
+        assertNotNull(cached);
+        Thread.sleep(10);
+
+        // Act
+        audioTrackCache.purgeExpired();
+
+        // Assert
+        assertFalse(Files.exists(cached));
+    }
+}
@@ -0,0 +1,102 @@
+package com.tenacy.pixiescale.transcodingworker.service.impl;
+
+import com.tenacy.pixiescale.transcodingworker.config.FFmpegConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CpuBudgetTest {
+
+    @Test
+    void parseShouldReadCgroupQuotaAndCpuList() {
+        // cgroup v2: 150000/100000 → 2코어로 올림, 제한 없음 → 0
+        assertEquals(2, CpuBudget.parseCpuMax("150000 100000\n"));
+        assertEquals(1, CpuBudget.parseCpuMax("100000 100000"));
+        assertEquals(0, CpuBudget.parseCpuMax("max 100000"));
+        // cgroup v1: 제한 없음은 -1
+        assertEquals(0, CpuBudget.quotaToCpus(-1, 100000));
+
+        assertEquals(List.of(0, 1, 2, 3, 6, 8, 9), CpuBudget.parseCpuList("0-3,6,8-9\n"));
+    }
+
+    @Test
+    void acquireShouldShareCpuLimitAcrossRunningProcesses() {
+        // Arrange - 1코어 할당 Pod에서 thread-count 4, 동시 실행 여러 개
+        FFmpegConfig config = new FFmpegConfig();
+        config.setThreadCount(4);
+        CpuBudget cpuBudget = new CpuBudget(config, 4, List.of(0, 1, 2, 3), false);
+
+        // Act
+        CpuBudget.Lease first = cpuBudget.acquire();
+        CpuBudget.Lease second = cpuBudget.acquire();
+        CpuBudget.Lease third = cpuBudget.acquire();
+        cpuBudget.release(second);
+        CpuBudget.Lease fourth = cpuBudget.acquire();
+
+        // Assert - 시작 시점의 실행 중 프로세스 수로 나눔
+        assertEquals(4, first.getThreads());
+        assertEquals(2, second.getThreads());
+        assertEquals(1, third.getThreads());
+        assertEquals(1, fourth.getThreads());
+        assertEquals(3, cpuBudget.getActiveCount());
+
+        CpuBudget oneCpu = new CpuBudget(config, 1, List.of(0, 1, 2, 3), false);
+        oneCpu.acquire();
+        assertEquals(1, oneCpu.acquire().getThreads());
+    }
+
+    @Test
+    void acquireShouldUseConfiguredThreadCountWhenBudgetDisabled() {
+        FFmpegConfig config = new FFmpegConfig();
+        config.setCpuBudgetEnabled(false);
+        config.setThreadCount(4);
+        CpuBudget cpuBudget = new CpuBudget(config, 1, List.of(0), false);
+
+        assertEquals(4, cpuBudget.acquire().getThreads());
+        assertEquals(4, cpuBudget.acquire().getThreads());
+    }
+
+    @Test
+    void pinningShouldAssignDisjointCpusAndRebalanceOnRelease() {
+        // Arrange
+        FFmpegConfig config = new FFmpegConfig();
+        CpuBudget cpuBudget = new CpuBudget(config, 4, List.of(0, 1, 2, 3), true);
+
+        // Act
+        CpuBudget.Lease first = cpuBudget.acquire();
+        assertEquals(List.of(0, 1, 2, 3), first.getCpus());
+        CpuBudget.Lease second = cpuBudget.acquire();
+
+        // Assert - 두 프로세스가 CPU를 겹치지 않게 나눠 가짐
+        assertEquals(List.of(0, 1), first.getCpus());
+        assertEquals(List.of(2, 3), second.getCpus());
+
+        cpuBudget.release(first);
+        assertEquals(List.of(0, 1, 2, 3), second.getCpus());
+    }
+
+    @Test
+    void partitionShouldShareCpusWhenProcessesOutnumberThem() {
+        assertEquals(List.of(List.of(0, 1), List.of(2)), CpuBudget.partition(List.of(0, 1, 2), 2));
+        assertEquals(List.of(List.of(0), List.of(1), List.of(0)), CpuBudget.partition(List.of(0, 1), 3));
+    }
+
+    @Test
+    void applyShouldReplaceThreadsAndWrapWithTaskset() {
+        // Arrange
+        FFmpegConfig config = new FFmpegConfig();
+        CpuBudget cpuBudget = new CpuBudget(config, 2, List.of(4, 5), true);
+        CpuBudget.Lease lease = cpuBudget.acquire();
+        List<String> command = List.of("ffmpeg", "-threads", "0", "-i", "in.mp4", "-c:v", "libx264",
+                "-threads", "0", "out.mp4");
+
+        // Act
+        List<String> budgeted = cpuBudget.apply(command, lease);
+
+        // Assert
+        assertEquals(List.of("taskset", "-c", "4,5", "ffmpeg", "-threads", "2", "-i", "in.mp4",
+                "-c:v", "libx264", "-threads", "2", "out.mp4"), budgeted);
+    }
+}
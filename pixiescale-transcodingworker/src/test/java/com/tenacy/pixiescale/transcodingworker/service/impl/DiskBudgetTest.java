@@ -0,0 +1,80 @@
+package com.tenacy.pixiescale.transcodingworker.service.impl;
+
+import com.tenacy.pixiescale.common.domain.MediaMetadata;
+import com.tenacy.pixiescale.common.domain.TranscodingTask;
+import com.tenacy.pixiescale.transcodingworker.config.FFmpegConfig;
+import com.tenacy.pixiescale.transcodingworker.config.StorageConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DiskBudgetTest {
+
+    private static final long MB = 1024L * 1024L;
+
+    @TempDir
+    Path tempDir;
+
+    private FFmpegConfig ffmpegConfig;
+    private DiskBudget diskBudget;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path uploadDir = Files.createDirectories(tempDir.resolve("uploads"));
+        Files.write(uploadDir.resolve("media1-video.mp4"), new byte[(int) (10 * MB)]);
+
+        ffmpegConfig = new FFmpegConfig();
+        ffmpegConfig.setTempDir(tempDir.resolve("temp").toString());
+        StorageConfig storageConfig = new StorageConfig();
+        storageConfig.setBaseDir(tempDir.resolve("output").toString());
+        diskBudget = new DiskBudget(ffmpegConfig, storageConfig, new MediaSourceLocator(uploadDir.toString()));
+    }
+
+    @Test
+    void estimateBytesShouldUseTargetBitrateAndOutputDuration() {
+        MediaMetadata source = MediaMetadata.builder().duration(100.0).build();
+
+        // 2000k 영상 + 128k 오디오, 10초 청크
+        TranscodingTask chunk = TranscodingTask.builder()
+                .taskType(TranscodingTask.TaskType.CHUNK)
+                .chunkDuration(10.0)
+                .targetBitrate(2000)
+                .sourceMetadata(source)
+                .build();
+        assertEquals((long) (2_128_000 / 8 * 10 * 1.2), DiskBudget.estimateBytes(chunk, 0));
+
+        // 비트레이트를 모르면 원본 크기에서 클립 구간 비율만큼
+        TranscodingTask clip = TranscodingTask.builder().clipDuration(25.0).sourceMetadata(source).build();
+        assertEquals((long) (1000 * 0.25 * 1.2), DiskBudget.estimateBytes(clip, 1000));
+
+        // 길이를 모르면 원본 크기
+        assertEquals(1200, DiskBudget.estimateBytes(TranscodingTask.builder().build(), 1000));
+    }
+
+    @Test
+    void tryReserveShouldRejectWhenBudgetIsExhaustedUntilReleased() throws Exception {
+        // Arrange - 임시/출력 디렉토리가 같은 볼륨이므로 태스크 하나가 원본 기준 12MB x 2를 예약
+        TranscodingTask task = TranscodingTask.builder().id("task-1").jobId("media1-job").build();
+        Files.createDirectories(tempDir.resolve("temp"));
+        long usable = Files.getFileStore(tempDir).getUsableSpace();
+        ffmpegConfig.setDiskMinFreeMb((int) ((usable - 36 * MB) / MB));
+
+        // Act & Assert - 첫 번째만 예약되고, 해제 후에는 다시 예약 가능
+        DiskBudget.Reservation first = diskBudget.tryReserve(List.of(task));
+        assertNotNull(first);
+        assertEquals(12 * MB, first.getEstimatedBytes());
+        assertEquals(24 * MB, diskBudget.getReservedBytes());
+        assertNull(diskBudget.tryReserve(List.of(task)));
+
+        diskBudget.release(first);
+        diskBudget.release(first);
+        assertEquals(0, diskBudget.getReservedBytes());
+        assertNotNull(diskBudget.tryReserve(List.of(task)));
+    }
+}
@@ -0,0 +1,44 @@
+package com.tenacy.pixiescale.transcodingworker.service.impl;
+
+import com.tenacy.pixiescale.transcodingworker.service.BenchmarkResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FFmpegBenchmarkServiceTest {
+
+    @Test
+    void parseShouldReadLastFrameCountAndCpuTime() {
+        // Arrange
+        List<String> lines = List.of(
+                "Stream mapping:",
+                "frame=  120 fps= 60 q=28.0 size=     256kB time=00:00:04.00 bitrate= 524.3kbits/s speed=2.0x",
+                "frame=  600 fps= 61 q=28.0 Lsize=    1280kB time=00:00:20.00 bitrate= 524.3kbits/s speed=2.0x",
+                "bench: utime=31.250s stime=0.750s rtime=10.000s",
+                "bench: maxrss=123456KiB");
+
+        // Act & Assert
+        assertEquals(600, FFmpegBenchmarkService.parseFrames(lines));
+        assertEquals(32.0, FFmpegBenchmarkService.parseCpuSeconds(lines), 1e-9);
+    }
+
+    @Test
+    void selectBestShouldPreferHighestTasksPerCoreHourAndSkipFailures() {
+        // Arrange - 8코어에서 동시 4개가 30초, 동시 1개가 10초
+        BenchmarkResult parallel = BenchmarkResult.builder().preset("faster").threadCount(2).concurrency(4)
+                .frames(2400).tasksPerCoreHour(FFmpegBenchmarkService.tasksPerCoreHour(4, 30, 8)).build();
+        BenchmarkResult single = BenchmarkResult.builder().preset("faster").threadCount(0).concurrency(1)
+                .frames(600).tasksPerCoreHour(FFmpegBenchmarkService.tasksPerCoreHour(1, 10, 8)).build();
+        BenchmarkResult failed = BenchmarkResult.builder().preset("ultrafast").threadCount(0).concurrency(4)
+                .tasksPerCoreHour(1000).error("FFmpeg 처리 실패").build();
+
+        // Act
+        BenchmarkResult best = FFmpegBenchmarkService.selectBest(List.of(single, parallel, failed));
+
+        // Assert - 60 vs 45 태스크/코어시간
+        assertEquals(60.0, parallel.getTasksPerCoreHour(), 1e-9);
+        assertSame(parallel, best);
+    }
+}
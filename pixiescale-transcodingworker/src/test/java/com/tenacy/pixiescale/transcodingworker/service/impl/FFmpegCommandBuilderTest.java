@@ -0,0 +1,469 @@
+package com.tenacy.pixiescale.transcodingworker.service.impl;
+
+import com.tenacy.pixiescale.common.domain.MediaMetadata;
+import com.tenacy.pixiescale.common.domain.TranscodingConfig;
+import com.tenacy.pixiescale.common.domain.TranscodingTask;
+import com.tenacy.pixiescale.transcodingworker.config.FFmpegConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FFmpegCommandBuilderTest {
+
+    private FFmpegConfig ffmpegConfig;
+    private FFmpegCommandBuilder commandBuilder;
+
+    @BeforeEach
+    void setUp() {
+        ffmpegConfig = new FFmpegConfig();
+        ffmpegConfig.setGpuAcceleration(false);
+        commandBuilder = new FFmpegCommandBuilder(ffmpegConfig);
+    }
+
+    private TranscodingTask createTask(String id, int width, int height, int bitrate) {
+        return TranscodingTask.builder()
+                .id(id)
+                .jobId("media-id-job")
+                .targetFormat("MP4")
+                .targetWidth(width)
+                .targetHeight(height)
+                .targetBitrate(bitrate)
+                .status(TranscodingTask.TaskStatus.PROCESSING)
+                .build();
+    }
+
+    @Test
+    void buildFFmpegCommandShouldEncodeSingleRendition() {
+        // Arrange
+        TranscodingTask task = createTask("task-1", 1280, 720, 2500);
+
+        // Act
+        List<String> command = commandBuilder.buildFFmpegCommand("input.mp4", "output.mp4", task);
+
+        // Assert
+        assertEquals("ffmpeg", command.get(0));
+        assertEquals("input.mp4", command.get(command.indexOf("-i") + 1));
+        assertEquals("1280x720", command.get(command.indexOf("-s") + 1));
+        assertEquals("2500k", command.get(command.indexOf("-b:v") + 1));
+        assertEquals("output.mp4", command.get(command.size() - 1));
+    }
+
+    @Test
+    void buildFFmpegCommandShouldSkipProbingWhenSourceStreamsAreKnown() {
+        // Arrange - 수집 단계에서 확인한 스트림 정보 (1번 영상, 2번 오디오)
+        TranscodingTask task = createTask("task-1", 1280, 720, 2500);
+        task.setSourceMetadata(MediaMetadata.builder()
+                .codec("h264").duration(120.0).videoStreamIndex(1).audioStreamIndex(2).build());
+
+        // Act
+        List<String> command = commandBuilder.buildFFmpegCommand("input.mp4", "output.mp4", task);
+
+        // Assert
+        assertEquals("100000", command.get(command.indexOf("-analyzeduration") + 1));
+        assertEquals("1M", command.get(command.indexOf("-probesize") + 1));
+        assertEquals("0:1", command.get(command.indexOf("-map") + 1));
+        assertEquals("0:2", command.get(command.lastIndexOf("-map") + 1));
+
+        // 스트림 정보가 없으면 기본 분석 범위와 스트림 선택
+        TranscodingTask unknown = createTask("task-2", 1280, 720, 2500);
+        List<String> defaultCommand = commandBuilder.buildFFmpegCommand("input.mp4", "output.mp4", unknown);
+        assertEquals("5000000", defaultCommand.get(defaultCommand.indexOf("-analyzeduration") + 1));
+        assertFalse(defaultCommand.contains("-map"));
+    }
+
+    @Test
+    void buildSingleDecodeCommandShouldDecodeOnceAndWriteEveryRendition() {
+        // Arrange
+        TranscodingTask task720 = createTask("task-720", 1280, 720, 2500);
+        TranscodingTask task480 = createTask("task-480", 854, 480, 1500);
+
+        Map<TranscodingTask, String> outputs = new LinkedHashMap<>();
+        outputs.put(task720, "out-720.mp4");
+        outputs.put(task480, "out-480.mp4");
+
+        // Act
+        List<String> command = commandBuilder.buildSingleDecodeCommand("input.mp4", outputs);
+
+        // Assert - 입력은 한 번만 지정
+        assertEquals(1, Collections.frequency(command, "-i"));
+
+        String filterGraph = command.get(command.indexOf("-filter_complex") + 1);
+        assertEquals("[0:v]split=2[s0][s1];[s0]scale=1280:720[v0];[s1]scale=854:480[v1]", filterGraph);
+
+        // 렌디션별 출력 매핑과 비트레이트 확인
+        int firstOutput = command.indexOf("out-720.mp4");
+        int secondOutput = command.indexOf("out-480.mp4");
+        assertTrue(firstOutput > 0 && secondOutput > firstOutput);
+        assertTrue(command.subList(0, firstOutput).contains("[v0]"));
+        assertTrue(command.subList(0, firstOutput).contains("2500k"));
+        assertTrue(command.subList(firstOutput, secondOutput).contains("[v1]"));
+        assertTrue(command.subList(firstOutput, secondOutput).contains("1500k"));
+        assertFalse(command.contains("-s"));
+    }
+
+    @Test
+    void buildSingleDecodeCommandShouldCopyCachedAudioIntoEveryRendition() {
+        // Arrange
+        TranscodingTask task720 = createTask("task-720", 1280, 720, 2500);
+        TranscodingTask task480 = createTask("task-480", 854, 480, 1500);
+
+        Map<TranscodingTask, String> outputs = new LinkedHashMap<>();
+        outputs.put(task720, "out-720.mp4");
+        outputs.put(task480, "out-480.mp4");
+
+        // Act
+        List<String> command = commandBuilder.buildSingleDecodeCommand("input.mp4", outputs, "audio.m4a");
+
+        // Assert - 오디오는 한 번 인코딩한 트랙을 출력마다 복사 (AAC 인코더 없음)
+        assertEquals(2, Collections.frequency(command, "-i"));
+        assertEquals("audio.m4a", command.get(command.lastIndexOf("-i") + 1));
+        assertEquals(2, Collections.frequency(command, "1:a:0"));
+        assertEquals(2, Collections.frequency(command, "copy"));
+        assertFalse(command.contains("aac"));
+    }
+
+    @Test
+    void isSingleDecodableShouldRejectSegmentedThumbnailAndLiveRenditions() {
+        TranscodingTask progressive = createTask("task-1", 1280, 720, 2500);
+        assertTrue(commandBuilder.isSingleDecodable(progressive));
+
+        TranscodingTask segmented = createTask("task-2", 1280, 720, 2500);
+        segmented.setPackaging(TranscodingConfig.PackagingFormat.CMAF_HLS);
+        assertFalse(commandBuilder.isSingleDecodable(segmented));
+
+        TranscodingTask thumbnails = createTask("task-3", 640, 360, 800);
+        thumbnails.setGenerateThumbnails(true);
+        assertFalse(commandBuilder.isSingleDecodable(thumbnails));
+
+        TranscodingTask live = createTask("task-4", 1280, 720, 2500);
+        live.setLiveInput(true);
+        assertFalse(commandBuilder.isSingleDecodable(live));
+    }
+
+    @Test
+    void hasAudioShouldBeFalseOnlyForProbedSourceWithoutAudioStream() {
+        // 분석 정보가 없으면 오디오가 있다고 가정하여 공유 오디오 추출 시도
+        TranscodingTask unknown = createTask("task-1", 1280, 720, 2500);
+        assertTrue(commandBuilder.hasAudio(unknown));
+
+        TranscodingTask withAudio = createTask("task-2", 1280, 720, 2500);
+        withAudio.setSourceMetadata(MediaMetadata.builder()
+                .codec("h264").duration(120.0).videoStreamIndex(0).audioStreamIndex(1).build());
+        assertTrue(commandBuilder.hasAudio(withAudio));
+
+        // 영상만 있는 원본은 오디오 추출을 건너뜀
+        TranscodingTask videoOnly = createTask("task-3", 1280, 720, 2500);
+        videoOnly.setSourceMetadata(MediaMetadata.builder()
+                .codec("h264").duration(120.0).videoStreamIndex(0).build());
+        assertFalse(commandBuilder.hasAudio(videoOnly));
+        assertEquals("0:a?", commandBuilder.buildFFmpegCommand("input.mp4", "output.mp4", videoOnly)
+                .stream().filter(arg -> arg.startsWith("0:a")).findFirst().orElse(null));
+    }
+
+    @Test
+    void buildFFmpegCommandShouldSeekChunkRangeAndDropAudio() {
+        // Arrange
+        TranscodingTask task = createTask("task-1-chunk-1", 1280, 720, 2500);
+        task.setTaskType(TranscodingTask.TaskType.CHUNK);
+        task.setChunkIndex(1);
+        task.setChunkStart(60.0);
+        task.setChunkDuration(60.0);
+
+        // Act
+        List<String> command = commandBuilder.buildFFmpegCommand("input.mp4", "chunk.mp4", task);
+
+        // Assert - 구간 지정은 입력 앞에 위치
+        int inputIndex = command.indexOf("-i");
+        assertEquals("60.000", command.get(command.indexOf("-ss") + 1));
+        assertEquals("60.000", command.get(command.indexOf("-t") + 1));
+        assertTrue(command.indexOf("-ss") < inputIndex);
+        assertTrue(command.indexOf("-t") < inputIndex);
+        assertTrue(command.contains("-an"));
+        assertFalse(command.contains("-c:a"));
+    }
+
+    @Test
+    void buildFFmpegCommandShouldSeekClipRangeAndEncodeInsteadOfRemux() {
+        // Arrange - 리먹스 조건을 만족하는 원본이라도 클립은 인코딩
+        TranscodingTask task = createTask("task-1", 1280, 720, 2500);
+        task.setSourceMetadata(MediaMetadata.builder().codec("h264").width(1280).height(720).bitrate(2000).build());
+        task.setClipStart(12.5);
+        task.setClipDuration(30.0);
+
+        // Act
+        List<String> command = commandBuilder.buildFFmpegCommand("input.mp4", "output.mp4", task);
+
+        // Assert - 구간 지정은 입력 앞에 위치하고 오디오도 함께 인코딩
+        int inputIndex = command.indexOf("-i");
+        assertFalse(commandBuilder.canRemux(task));
+        assertEquals("12.500", command.get(command.indexOf("-ss") + 1));
+        assertEquals("30.000", command.get(command.indexOf("-t") + 1));
+        assertTrue(command.indexOf("-ss") < inputIndex);
+        assertEquals("libx264", command.get(command.indexOf("-c:v") + 1));
+        assertEquals("aac", command.get(command.indexOf("-c:a") + 1));
+    }
+
+    @Test
+    void buildCheckpointSegmentCommandShouldResumeClipAfterCompletedSegments() {
+        // Arrange - 600초 클립 중 120초까지 세그먼트 2개 완료
+        TranscodingTask task = createTask("task-1", 1280, 720, 2500);
+        task.setClipStart(30.0);
+        task.setClipDuration(600.0);
+
+        // Act
+        List<String> command = commandBuilder.buildCheckpointSegmentCommand("input.mp4", "/checkpoints/task-1",
+                "/checkpoints/task-1/segments_2.csv", 2, 120.0, task);
+
+        // Assert - 완료 지점부터 남은 구간만 영상 세그먼트로 인코딩하고 번호를 이어감
+        int inputIndex = command.indexOf("-i");
+        assertEquals("150.000", command.get(command.indexOf("-ss") + 1));
+        assertEquals("480.000", command.get(command.indexOf("-t") + 1));
+        assertTrue(command.indexOf("-ss") < inputIndex);
+        assertTrue(command.contains("-an"));
+        assertEquals("segment", command.get(command.indexOf("-f") + 1));
+        assertEquals("60", command.get(command.indexOf("-segment_time") + 1));
+        assertEquals("/checkpoints/task-1/segments_2.csv", command.get(command.indexOf("-segment_list") + 1));
+        assertEquals("2", command.get(command.indexOf("-segment_start_number") + 1));
+        assertEquals(Paths.get("/checkpoints/task-1", SegmentCheckpoint.SEGMENT_PATTERN).toString(),
+                command.get(command.size() - 1));
+    }
+
+    @Test
+    void canCheckpointShouldOnlyAcceptLongEncodedOutputs() {
+        TranscodingTask task = createTask("task-1", 1280, 720, 2500);
+
+        assertTrue(commandBuilder.canCheckpoint(task, 600.0));
+        assertFalse(commandBuilder.canCheckpoint(task, 60.0));
+        assertFalse(commandBuilder.canCheckpoint(task, null));
+
+        task.setGenerateThumbnails(true);
+        assertFalse(commandBuilder.canCheckpoint(task, 600.0));
+    }
+
+    @Test
+    void buildBatchCommandShouldMapEachShortInputToItsOwnOutput() {
+        // Arrange
+        TranscodingTask first = createTask("task-1", 1280, 720, 2500);
+        TranscodingTask second = createTask("task-2", 854, 480, 1500);
+
+        Map<TranscodingTask, String> inputs = new LinkedHashMap<>();
+        inputs.put(first, "clip-1.mp4");
+        inputs.put(second, "clip-2.mp4");
+        Map<TranscodingTask, String> outputs = new LinkedHashMap<>();
+        outputs.put(first, "out-1.mp4");
+        outputs.put(second, "out-2.mp4");
+
+        // Act
+        List<String> command = commandBuilder.buildBatchCommand(inputs, outputs);
+
+        // Assert - 프로세스 하나에 입력 두 개, 입력별 분석 범위 축소
+        assertEquals(1, Collections.frequency(command, "ffmpeg"));
+        assertEquals(2, Collections.frequency(command, "-i"));
+        assertEquals("500000", command.get(command.indexOf("-analyzeduration") + 1));
+        assertEquals("1M", command.get(command.indexOf("-probesize") + 1));
+
+        int firstOutput = command.indexOf("out-1.mp4");
+        int secondOutput = command.indexOf("out-2.mp4");
+        assertTrue(command.indexOf("clip-2.mp4") < firstOutput && firstOutput < secondOutput);
+        assertTrue(command.subList(0, firstOutput).contains("0:v:0"));
+        assertTrue(command.subList(0, firstOutput).contains("1280x720"));
+        assertTrue(command.subList(firstOutput, secondOutput).contains("1:v:0"));
+        assertTrue(command.subList(firstOutput, secondOutput).contains("854x480"));
+    }
+
+    @Test
+    void isBatchableShouldOnlyAcceptShortSingleFileTasks() {
+        // Arrange
+        TranscodingTask shortTask = createTask("task-1", 1280, 720, 2500);
+        shortTask.setSourceMetadata(MediaMetadata.builder().codec("hevc").duration(6.0).build());
+        TranscodingTask longTask = createTask("task-2", 1280, 720, 2500);
+        longTask.setSourceMetadata(MediaMetadata.builder().codec("hevc").duration(600.0).build());
+        TranscodingTask hlsTask = createTask("task-3", 1280, 720, 2500);
+        hlsTask.setSourceMetadata(MediaMetadata.builder().codec("hevc").duration(6.0).build());
+        hlsTask.setPackaging(TranscodingConfig.PackagingFormat.CMAF_HLS);
+
+        // Act & Assert
+        assertTrue(commandBuilder.isBatchable(shortTask));
+        assertFalse(commandBuilder.isBatchable(longTask));
+        assertFalse(commandBuilder.isBatchable(hlsTask));
+        assertFalse(commandBuilder.isBatchable(createTask("task-4", 1280, 720, 2500)));
+    }
+
+    @Test
+    void buildConcatCommandShouldCopyVideoAndMuxSourceAudio() {
+        // Act
+        List<String> command = commandBuilder.buildConcatCommand("list.txt", "input.mp4", "output.mp4");
+
+        // Assert
+        assertEquals("concat", command.get(command.indexOf("-f") + 1));
+        assertEquals("list.txt", command.get(command.indexOf("-i") + 1));
+        assertEquals("input.mp4", command.get(command.lastIndexOf("-i") + 1));
+        assertEquals("copy", command.get(command.indexOf("-c:v") + 1));
+        assertEquals("1:a:0?", command.get(command.lastIndexOf("-map") + 1));
+        assertEquals("output.mp4", command.get(command.size() - 1));
+    }
+
+    @Test
+    void buildFFmpegCommandShouldRemuxWhenSourceAlreadyMatchesTarget() {
+        // Arrange
+        TranscodingTask task = createTask("task-1", 1280, 720, 2500);
+        task.setSourceMetadata(MediaMetadata.builder()
+                .codec("h264 (High) (avc1 / 0x31637661)")
+                .width(1280)
+                .height(720)
+                .bitrate(2628) // 오디오 포함 컨테이너 비트레이트는 목표를 넘지만 영상 스트림은 목표 이하
+                .videoBitrate(2300)
+                .build());
+
+        // Act
+        List<String> command = commandBuilder.buildFFmpegCommand("input.mp4", "output.mp4", task);
+
+        // Assert - 영상은 스트림 복사, 스케일링/비트레이트 옵션 없음
+        assertTrue(commandBuilder.canRemux(task));
+        assertEquals("copy", command.get(command.indexOf("-c:v") + 1));
+        assertEquals("+faststart", command.get(command.indexOf("-movflags") + 1));
+        assertFalse(command.contains("-s"));
+        assertFalse(command.contains("-b:v"));
+        assertEquals("output.mp4", command.get(command.size() - 1));
+    }
+
+    @Test
+    void buildFFmpegCommandShouldEncodeWhenSourceDiffersFromTarget() {
+        // Arrange - 비트레이트 초과, 해상도 불일치, 코덱 불일치
+        TranscodingTask highBitrate = createTask("task-1", 1280, 720, 2500);
+        highBitrate.setSourceMetadata(MediaMetadata.builder().codec("h264").width(1280).height(720).bitrate(6000).build());
+        TranscodingTask otherResolution = createTask("task-2", 1280, 720, 2500);
+        otherResolution.setSourceMetadata(MediaMetadata.builder().codec("h264").width(1920).height(1080).bitrate(2000).build());
+        TranscodingTask otherCodec = createTask("task-3", 1280, 720, 2500);
+        otherCodec.setSourceMetadata(MediaMetadata.builder().codec("hevc").width(1280).height(720).bitrate(2000).build());
+
+        // Act & Assert
+        assertFalse(commandBuilder.canRemux(highBitrate));
+        assertFalse(commandBuilder.canRemux(otherResolution));
+        assertFalse(commandBuilder.canRemux(otherCodec));
+
+        List<String> command = commandBuilder.buildFFmpegCommand("input.mp4", "output.mp4", highBitrate);
+        assertEquals("libx264", command.get(command.indexOf("-c:v") + 1));
+    }
+
+    @Test
+    void buildFFmpegCommandShouldCopyCachedAudioTrack() {
+        // Arrange
+        TranscodingTask task = createTask("task-1", 1280, 720, 2500);
+
+        // Act
+        List<String> command = commandBuilder.buildFFmpegCommand("input.mp4", "output.mp4", task, "job-audio.m4a");
+
+        // Assert - 영상은 원본에서, 오디오는 캐시된 트랙을 재인코딩 없이 사용
+        assertEquals(2, Collections.frequency(command, "-i"));
+        assertEquals("job-audio.m4a", command.get(command.lastIndexOf("-i") + 1));
+        assertTrue(command.contains("1:a:0"));
+        assertEquals("copy", command.get(command.indexOf("-c:a") + 1));
+        assertFalse(command.contains("aac"));
+    }
+
+    @Test
+    void buildFFmpegCommandShouldWriteFragmentedMp4ToStdoutWhenStreaming() {
+        // Arrange
+        ffmpegConfig.setStreamOutput(true);
+        TranscodingTask task = createTask("task-1", 1280, 720, 2500);
+
+        // Act
+        List<String> command = commandBuilder.buildFFmpegCommand("input.mp4", FFmpegCommandBuilder.PIPE_OUTPUT, task);
+
+        // Assert - faststart 재작성 없이 조각 단위로 기록하고 컨테이너를 명시
+        assertTrue(commandBuilder.canStreamOutput(task));
+        assertEquals("frag_keyframe+empty_moov+default_base_moof", command.get(command.indexOf("-movflags") + 1));
+        assertFalse(command.contains("+faststart"));
+        assertEquals("mp4", command.get(command.lastIndexOf("-f") + 1));
+        assertEquals("pipe:1", command.get(command.size() - 1));
+    }
+
+    @Test
+    void buildFFmpegCommandShouldWriteCmafSegmentsWhenPackagingIsHls() {
+        // Arrange
+        TranscodingTask task = createTask("task-1", 1280, 720, 2500);
+        task.setPackaging(TranscodingConfig.PackagingFormat.CMAF_HLS);
+        String playlistPath = Paths.get("out", "hls-1", "index.m3u8").toAbsolutePath().toString();
+
+        // Act
+        List<String> command = commandBuilder.buildFFmpegCommand("input.mp4", playlistPath, task);
+
+        // Assert - fMP4 세그먼트는 플레이리스트와 같은 디렉토리에 기록
+        assertEquals("hls", command.get(command.indexOf("-f") + 1));
+        assertEquals("fmp4", command.get(command.indexOf("-hls_segment_type") + 1));
+        assertEquals("vod", command.get(command.indexOf("-hls_playlist_type") + 1));
+        assertEquals(Paths.get("out", "hls-1", "segment_%05d.m4s").toAbsolutePath().toString(),
+                command.get(command.indexOf("-hls_segment_filename") + 1));
+        assertFalse(command.contains("-movflags"));
+        assertEquals(playlistPath, command.get(command.size() - 1));
+    }
+
+    @Test
+    void buildFFmpegCommandShouldFollowGrowingInputAndWriteEventPlaylist() {
+        // Arrange
+        TranscodingTask task = createTask("task-1", 1280, 720, 2500);
+        task.setPackaging(TranscodingConfig.PackagingFormat.CMAF_HLS);
+        task.setLiveInput(true);
+        String playlistPath = Paths.get("out", "hls-1", "index.m3u8").toAbsolutePath().toString();
+
+        // Act
+        List<String> command = commandBuilder.buildFFmpegCommand("recording.ts", playlistPath, task);
+
+        // Assert - 입력 끝에서 새 데이터를 기다리고, 유휴 시간이 지나면 종료
+        int inputIndex = command.indexOf("-i");
+        assertEquals("1", command.get(command.indexOf("-follow") + 1));
+        assertTrue(command.indexOf("-follow") < inputIndex);
+        assertEquals("30000000", command.get(command.indexOf("-rw_timeout") + 1));
+        assertEquals("event", command.get(command.indexOf("-hls_playlist_type") + 1));
+        assertFalse(commandBuilder.canRemux(task));
+    }
+
+    @Test
+    void buildFFmpegCommandShouldEmitThumbnailsAndSpriteFromSameDecode() {
+        // Arrange
+        TranscodingTask task = createTask("task-1", 1280, 720, 2500);
+        task.setGenerateThumbnails(true);
+        String thumbnailDir = Paths.get("out", "thumbs-1").toString();
+
+        // Act
+        List<String> command = commandBuilder.buildFFmpegCommand("input.mp4", "output.mp4", task, null, thumbnailDir);
+
+        // Assert - 입력은 한 번, 출력은 렌디션 + 썸네일 + 스프라이트
+        assertEquals(1, Collections.frequency(command, "-i"));
+        assertEquals("[0:v]split=2[main][thumb];[main]scale=1280:720[vout];"
+                        + "[thumb]fps=1/10,scale=160:90,split=2[thumbs][tiles];[tiles]tile=10x10[sprite]",
+                command.get(command.indexOf("-filter_complex") + 1));
+        int mainOutput = command.indexOf("output.mp4");
+        assertTrue(command.subList(0, mainOutput).contains("[vout]"));
+        assertTrue(command.subList(0, mainOutput).contains("0:a?"));
+        assertEquals(Paths.get(thumbnailDir, "thumb_%05d.jpg").toString(), command.get(command.indexOf("[thumbs]") + 6));
+        assertEquals(Paths.get(thumbnailDir, "sprite_%03d.jpg").toString(), command.get(command.size() - 1));
+        assertFalse(command.contains("-s"));
+        assertFalse(commandBuilder.canRemux(task));
+    }
+
+    @Test
+    void withProgressOutputShouldReportToStderrAsGlobalOption() {
+        // Arrange
+        TranscodingTask task = createTask("task-1", 1280, 720, 2500);
+        List<String> command = commandBuilder.buildFFmpegCommand("input.mp4", FFmpegCommandBuilder.PIPE_OUTPUT, task);
+
+        // Act
+        List<String> withProgress = commandBuilder.withProgressOutput(command);
+
+        // Assert - 입력보다 앞에 두고 표준 출력(스트리밍 출력)과 겹치지 않게 표준 에러로 보고
+        assertEquals(command.size() + 3, withProgress.size());
+        assertEquals("-progress", withProgress.get(1));
+        assertEquals("pipe:2", withProgress.get(2));
+        assertEquals("-nostats", withProgress.get(3));
+        assertEquals(command.subList(1, command.size()), withProgress.subList(4, withProgress.size()));
+    }
+}
@@ -0,0 +1,96 @@
+package com.tenacy.pixiescale.transcodingworker.service.impl;
+
+import com.tenacy.pixiescale.common.domain.MediaMetadata;
+import com.tenacy.pixiescale.common.domain.TranscodingTask;
+import com.tenacy.pixiescale.transcodingworker.config.FFmpegConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InputPrefetcherTest {
+
+    @TempDir
+    Path tempDir;
+
+    private FFmpegConfig ffmpegConfig;
+    private SourceCache sourceCache;
+    private InputPrefetcher inputPrefetcher;
+
+    @BeforeEach
+    void setUp() {
+        ffmpegConfig = new FFmpegConfig();
+        ffmpegConfig.setPrefetchMaxMb(1);
+        ffmpegConfig.setPrefetchRateMbPerSecond(0);
+        ffmpegConfig.setSourceCacheDir(tempDir.resolve("cache").toString());
+        sourceCache = new SourceCache(ffmpegConfig);
+        inputPrefetcher = new InputPrefetcher(ffmpegConfig, new MediaSourceLocator(tempDir.toString()), sourceCache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        inputPrefetcher.shutdown();
+    }
+
+    @Test
+    void warmShouldReadUpToConfiguredSizeFromOffset() throws Exception {
+        // Arrange - 3MB 입력
+        Path input = tempDir.resolve("media-test.mp4");
+        Files.write(input, new byte[3 * 1024 * 1024]);
+
+        // Act & Assert - 입력당 최대 크기만큼만 읽고, 끝 근처에서 시작하면 남은 부분만 읽음
+        assertEquals(1024 * 1024, inputPrefetcher.warm(new InputPrefetcher.Range(input, 0)));
+        assertEquals(4096, inputPrefetcher.warm(new InputPrefetcher.Range(input, 3 * 1024 * 1024 - 4096)));
+    }
+
+    @Test
+    void estimateOffsetShouldFollowChunkAndClipStart() {
+        MediaMetadata source = MediaMetadata.builder().duration(100.0).build();
+        TranscodingTask chunk = TranscodingTask.builder()
+                .taskType(TranscodingTask.TaskType.CHUNK)
+                .chunkStart(25.0)
+                .clipStart(90.0)
+                .sourceMetadata(source)
+                .build();
+        TranscodingTask clip = TranscodingTask.builder().clipStart(50.0).sourceMetadata(source).build();
+        TranscodingTask whole = TranscodingTask.builder().sourceMetadata(source).build();
+
+        // 페이지 경계로 내림
+        assertEquals(1_000_000 / 4 & ~4095L, InputPrefetcher.estimateOffset(chunk, 1_000_000));
+        assertEquals(500_000 & ~4095L, InputPrefetcher.estimateOffset(clip, 1_000_000));
+        assertEquals(0, InputPrefetcher.estimateOffset(whole, 1_000_000));
+    }
+
+    @Test
+    void requestShouldSkipLiveAndMissingInputs() {
+        TranscodingTask live = TranscodingTask.builder().id("task-1").jobId("media-job").liveInput(true).build();
+        TranscodingTask missing = TranscodingTask.builder().id("task-2").jobId("unknown-job").build();
+
+        inputPrefetcher.request(live);
+        inputPrefetcher.request(missing);
+
+        assertEquals(0, inputPrefetcher.getPendingCount());
+    }
+
+    @Test
+    void findPrefetchInputShouldSkipInputServedFromSourceCache() throws Exception {
+        // Arrange - media1은 원본 캐시에 로컬 사본이 있고 media2는 없음
+        ffmpegConfig.setSourceCacheEnabled(true);
+        Path cachedSource = Files.write(tempDir.resolve("media1-video.mp4"), new byte[64 * 1024]);
+        Path uncachedSource = Files.write(tempDir.resolve("media2-video.mp4"), new byte[64 * 1024]);
+        sourceCache.acquire("task-0", "media1", cachedSource);
+        sourceCache.release("task-0");
+
+        TranscodingTask cached = TranscodingTask.builder().id("task-1").jobId("media1-job").build();
+        TranscodingTask uncached = TranscodingTask.builder().id("task-2").jobId("media2-job").build();
+
+        // Act & Assert - 로컬 사본을 읽을 태스크는 공유 볼륨을 미리 읽지 않음
+        assertNull(inputPrefetcher.findPrefetchInput(cached));
+        assertEquals(uncachedSource, inputPrefetcher.findPrefetchInput(uncached));
+    }
+}
@@ -0,0 +1,82 @@
+package com.tenacy.pixiescale.transcodingworker.service.impl;
+
+import com.tenacy.pixiescale.transcodingworker.service.StorageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Mono;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LiveSegmentPublisherTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final List<String> storedNames = new ArrayList<>();
+    private LiveSegmentPublisher liveSegmentPublisher;
+
+    @BeforeEach
+    void setUp() {
+        StorageService storageService = new StorageService() {
+            @Override
+            public Mono<String> store(Path filePath, String filename) {
+                assertTrue(Files.exists(filePath));
+                storedNames.add(filename);
+                return Mono.just(filename);
+            }
+
+            @Override
+            public Mono<String> store(InputStream inputStream, String filename) {
+                return Mono.just(filename);
+            }
+
+            @Override
+            public Path resolve(String storedPath) {
+                return tempDir.resolve(storedPath);
+            }
+        };
+        liveSegmentPublisher = new LiveSegmentPublisher(storageService);
+    }
+
+    @Test
+    void publishShouldStoreOnlySegmentsListedInPlaylistAndThenPlaylist() throws Exception {
+        // Arrange - 세그먼트 2개 완성, 세 번째는 기록 중
+        Path outputDir = Files.createDirectory(tempDir.resolve("hls-1"));
+        Files.writeString(outputDir.resolve("init.mp4"), "init");
+        Files.writeString(outputDir.resolve("segment_00000.m4s"), "s0");
+        Files.writeString(outputDir.resolve("segment_00001.m4s"), "s1");
+        Files.writeString(outputDir.resolve("segment_00002.m4s"), "partial");
+        Files.writeString(outputDir.resolve("index.m3u8"), String.join("\n",
+                "#EXTM3U",
+                "#EXT-X-PLAYLIST-TYPE:EVENT",
+                "#EXT-X-MAP:URI=\"init.mp4\"",
+                "#EXTINF:4.000000,",
+                "segment_00000.m4s",
+                "#EXTINF:4.000000,",
+                "segment_00001.m4s",
+                ""));
+        Set<String> published = new HashSet<>();
+
+        // Act
+        int count = liveSegmentPublisher.publish(outputDir, "job-1/1280x720/index.m3u8", published);
+        int repeated = liveSegmentPublisher.publish(outputDir, "job-1/1280x720/index.m3u8", published);
+
+        // Assert - 세그먼트를 먼저, 플레이리스트를 마지막에 저장하고 이미 게시한 세그먼트는 다시 저장하지 않음
+        assertEquals(3, count);
+        assertEquals(0, repeated);
+        assertEquals(List.of("job-1/1280x720/init.mp4", "job-1/1280x720/segment_00000.m4s",
+                "job-1/1280x720/segment_00001.m4s", "job-1/1280x720/index.m3u8"), storedNames);
+        assertTrue(Files.exists(outputDir.resolve("init.mp4")));
+        assertFalse(Files.exists(outputDir.resolve("segment_00000.m4s")));
+        assertTrue(Files.exists(outputDir.resolve("segment_00002.m4s")));
+    }
+}
@@ -0,0 +1,40 @@
+package com.tenacy.pixiescale.transcodingworker.service.impl;
+
+import com.tenacy.pixiescale.common.domain.TranscodingTask;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MasterPlaylistBuilderTest {
+
+    private final MasterPlaylistBuilder masterPlaylistBuilder = new MasterPlaylistBuilder();
+
+    @Test
+    void buildShouldListRenditionsByBitrateWithRelativeUris() {
+        // Arrange
+        List<TranscodingTask.RenditionPlaylist> renditions = List.of(
+                TranscodingTask.RenditionPlaylist.builder()
+                        .playlistPath("job-1/1280x720/index.m3u8").width(1280).height(720).bitrate(2500).build(),
+                TranscodingTask.RenditionPlaylist.builder()
+                        .playlistPath("job-1/854x480/index.m3u8").width(854).height(480).bitrate(1500).build()
+        );
+
+        // Act
+        String playlist = masterPlaylistBuilder.build("job-1", renditions);
+
+        // Assert
+        String[] lines = playlist.split("\\n");
+        assertEquals("#EXTM3U", lines[0]);
+        assertEquals("#EXT-X-STREAM-INF:BANDWIDTH=1896000,AVERAGE-BANDWIDTH=1596000,RESOLUTION=854x480", lines[3]);
+        assertEquals("854x480/index.m3u8", lines[4]);
+        assertEquals("#EXT-X-STREAM-INF:BANDWIDTH=3096000,AVERAGE-BANDWIDTH=2596000,RESOLUTION=1280x720", lines[5]);
+        assertEquals("1280x720/index.m3u8", lines[6]);
+    }
+
+    @Test
+    void buildShouldFailWithoutRenditions() {
+        assertThrows(RuntimeException.class, () -> masterPlaylistBuilder.build("job-1", List.of()));
+    }
+}
@@ -0,0 +1,56 @@
+package com.tenacy.pixiescale.transcodingworker.service.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MediaSourceLocatorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private MediaSourceLocator mediaSourceLocator;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.writeString(tempDir.resolve("media1-first.mp4"), "first");
+        mediaSourceLocator = new MediaSourceLocator(tempDir.toString());
+        mediaSourceLocator.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        mediaSourceLocator.stop();
+    }
+
+    @Test
+    void findShouldUseIndexBuiltAtStartupAndRegisteredUploads() throws Exception {
+        assertEquals(1, mediaSourceLocator.getIndexSize());
+        assertEquals(tempDir.resolve("media1-first.mp4"), mediaSourceLocator.find("media1-job1"));
+
+        // 업로드 이벤트로 등록된 원본
+        Path uploaded = Files.writeString(tempDir.resolve("media2-second.mp4"), "second");
+        mediaSourceLocator.register("media2-second.mp4");
+        assertEquals(uploaded, mediaSourceLocator.find("media2-job2"));
+
+        assertNull(mediaSourceLocator.find("media3-job3"));
+        assertThrows(RuntimeException.class, () -> mediaSourceLocator.resolve("media3-job3"));
+    }
+
+    @Test
+    void findShouldFallBackToDirectoryScanWhenIndexIsStale() throws Exception {
+        // Arrange - 인덱스에 등록된 파일이 교체됨
+        Files.delete(tempDir.resolve("media1-first.mp4"));
+        Path replaced = Files.writeString(tempDir.resolve("media1-replaced.mp4"), "replaced");
+
+        // Act & Assert - 감시 이벤트를 받기 전이라도 디렉토리 나열로 찾아 인덱스 갱신
+        assertEquals(replaced, mediaSourceLocator.find("media1-job1"));
+        assertEquals(replaced, mediaSourceLocator.find("media1-job1"));
+    }
+}
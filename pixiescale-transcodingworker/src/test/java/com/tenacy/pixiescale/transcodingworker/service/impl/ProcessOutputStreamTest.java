@@ -0,0 +1,38 @@
+package com.tenacy.pixiescale.transcodingworker.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProcessOutputStreamTest {
+
+    @Test
+    void readShouldReturnProcessOutputWhenProcessSucceeds() throws Exception {
+        // Arrange
+        Process process = new ProcessBuilder("sh", "-c", "printf fragment").start();
+
+        // Act
+        byte[] output;
+        try (ProcessOutputStream stream = new ProcessOutputStream(process, 4)) {
+            output = stream.readAllBytes();
+        }
+
+        // Assert
+        assertEquals("fragment", new String(output, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void readShouldFailAtEndOfStreamWhenProcessExitsWithError() throws Exception {
+        // Arrange - 출력 일부를 쓴 뒤 실패
+        Process process = new ProcessBuilder("sh", "-c", "printf partial; exit 3").start();
+
+        // Act & Assert - 부분 출력이 정상 스트림 끝으로 처리되지 않음
+        try (ProcessOutputStream stream = new ProcessOutputStream(process, 4)) {
+            IOException error = assertThrows(IOException.class, stream::readAllBytes);
+            assertTrue(error.getMessage().contains("종료 코드 3"));
+        }
+    }
+}
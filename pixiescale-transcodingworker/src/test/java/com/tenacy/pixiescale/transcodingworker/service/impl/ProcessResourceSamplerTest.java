@@ -0,0 +1,51 @@
+package com.tenacy.pixiescale.transcodingworker.service.impl;
+
+import com.tenacy.pixiescale.common.domain.ResourceUsage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProcessResourceSamplerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void parseCpuSecondsShouldSkipProcessNameWithSpaces() {
+        // utime 1250, stime 250 (틱)
+        String stat = "4242 (ffmpeg (x264) 1) R 1 4242 4242 0 -1 4194304 100 0 0 0 1250 250 0 0 20 0 9 0 100 0 0";
+
+        assertEquals(15.0, ProcessResourceSampler.parseCpuSeconds(stat), 0.001);
+        assertNull(ProcessResourceSampler.parseCpuSeconds("4242 (ffmpeg) R 1"));
+    }
+
+    @Test
+    void sampleShouldKeepLastValuesAfterProcessExits() throws Exception {
+        ProcessHandle handle = ProcessHandle.current();
+        Path processDir = tempDir.resolve(String.valueOf(handle.pid()));
+        Files.createDirectories(processDir);
+        Files.writeString(processDir.resolve("stat"),
+                handle.pid() + " (ffmpeg) S 1 1 1 0 -1 0 0 0 0 0 300 100 0 0 20 0 4 0 100 0 0");
+        Files.writeString(processDir.resolve("status"), "Name:\tffmpeg\nVmRSS:\t  2048 kB\nVmHWM:\t  4096 kB\n");
+        Files.writeString(processDir.resolve("io"),
+                "rchar: 5000000\nwchar: 1000000\nread_bytes: 4096\nwrite_bytes: 0\n");
+
+        ProcessResourceSampler sampler = new ProcessResourceSampler(handle, tempDir);
+        sampler.sample();
+
+        // 프로세스가 종료되어 /proc 항목이 사라져도 마지막으로 읽은 값 유지
+        Files.delete(processDir.resolve("status"));
+        Files.delete(processDir.resolve("io"));
+        sampler.sample();
+
+        ResourceUsage usage = sampler.getUsage();
+        assertEquals(4.0, usage.getCpuSeconds(), 0.001);
+        assertEquals(4096L * 1024, usage.getPeakRssBytes());
+        assertEquals(5_000_000L, usage.getReadBytes());
+        assertEquals(1_000_000L, usage.getWrittenBytes());
+    }
+}
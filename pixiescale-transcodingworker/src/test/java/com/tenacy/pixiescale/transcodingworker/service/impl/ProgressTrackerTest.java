@@ -0,0 +1,67 @@
+package com.tenacy.pixiescale.transcodingworker.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProgressTrackerTest {
+
+    @Test
+    void acceptShouldTrackOutTimeSpeedAndEstimate() {
+        // Arrange - 120초 출력, 정체 판단 30초
+        ProgressTracker tracker = new ProgressTracker(120.0, 30, 0);
+
+        // Act
+        tracker.accept("frame=900", 1000);
+        tracker.accept("out_time_us=30000000", 1000);
+        tracker.accept("out_time=00:00:30.000000", 1000);
+        tracker.accept("speed=2.00x", 1000);
+        boolean blockEnd = tracker.accept("progress=continue", 1000);
+
+        // Assert - 남은 90초를 2배속으로 45초
+        assertTrue(blockEnd);
+        assertEquals(30.0, tracker.getOutTimeSeconds(), 1e-9);
+        assertEquals(0.25, tracker.getFraction(), 1e-9);
+        assertEquals(45.0, tracker.getRemainingSeconds(), 1e-9);
+    }
+
+    @Test
+    void isStalledShouldDetectOnlyMissingAdvance() {
+        ProgressTracker tracker = new ProgressTracker(null, 30, 0);
+
+        // 시작 후 분석 단계의 N/A 값은 진행으로 보지 않음
+        tracker.accept("out_time_us=N/A", 10_000);
+        tracker.accept("speed=N/A", 10_000);
+        assertFalse(tracker.isStalled(30_000));
+        assertTrue(tracker.isStalled(30_001));
+
+        // 위치가 늘어나면 정체 판단 시점이 갱신되고, 같은 위치의 반복 보고는 갱신하지 않음
+        tracker.accept("out_time_us=4000000", 31_000);
+        assertFalse(tracker.isStalled(60_000));
+        tracker.accept("out_time_us=4000000", 50_000);
+        assertTrue(tracker.isStalled(61_001));
+        assertNull(tracker.getFraction());
+        assertNull(tracker.getRemainingSeconds());
+
+        // 인코딩 종료 후 후처리 중에는 정체로 보지 않음
+        tracker.accept("progress=end", 62_000);
+        assertFalse(tracker.isStalled(200_000));
+    }
+
+    @Test
+    void isStalledShouldBeDisabledWithoutWindow() {
+        ProgressTracker tracker = new ProgressTracker(10.0, 0, 0);
+        assertFalse(tracker.isStalled(Long.MAX_VALUE));
+    }
+
+    @Test
+    void deadlineShouldFollowExpectedDuration() {
+        // 60초 출력을 최저 0.25배속으로 240초 + 여유 120초
+        assertEquals(360, ProgressTracker.deadlineSeconds(60.0, 0.25, 120, 900));
+        // 3시간 원본은 고정 제한 시간(15분)보다 길게 허용
+        assertEquals(43320, ProgressTracker.deadlineSeconds(10800.0, 0.25, 120, 900));
+        // 길이를 모르면 고정 제한 시간
+        assertEquals(900, ProgressTracker.deadlineSeconds(null, 0.25, 120, 900));
+        assertEquals(900, ProgressTracker.deadlineSeconds(60.0, 0, 120, 900));
+    }
+}
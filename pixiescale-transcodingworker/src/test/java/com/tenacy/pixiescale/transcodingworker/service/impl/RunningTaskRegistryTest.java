@@ -0,0 +1,95 @@
+package com.tenacy.pixiescale.transcodingworker.service.impl;
+
+import com.tenacy.pixiescale.common.domain.TranscodingTask;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RunningTaskRegistryTest {
+
+    private final RunningTaskRegistry registry = new RunningTaskRegistry();
+
+    @Test
+    void abortShouldKillRunningAttemptProcess() throws Exception {
+        // Arrange
+        TranscodingTask task = createTask("task-1", "attempt-1");
+        assertTrue(registry.start(task));
+        Process process = new ProcessBuilder("sleep", "30").start();
+        registry.attach(task, process);
+
+        // Act
+        boolean aborted = registry.abort("task-1", "attempt-1");
+
+        // Assert
+        assertTrue(aborted);
+        assertTrue(process.waitFor(5, TimeUnit.SECONDS));
+        assertTrue(registry.isAborted(task));
+    }
+
+    @Test
+    void abortBeforeStartShouldSkipAttempt() {
+        // Arrange - 대기열에 있는 동안 다른 워커의 시도가 먼저 완료
+        TranscodingTask task = createTask("task-1", "attempt-1");
+
+        // Act
+        boolean aborted = registry.abort("task-1", "attempt-1");
+
+        // Assert - 실행하지 않고, 같은 태스크의 다른 시도는 영향 없음
+        assertFalse(aborted);
+        assertFalse(registry.start(task));
+        assertTrue(registry.start(createTask("task-1", "attempt-2")));
+    }
+
+    @Test
+    void isRunningOtherAttemptShouldDetectDuplicateOnSameWorker() {
+        // Arrange
+        TranscodingTask original = createTask("task-1", "attempt-1");
+        registry.start(original);
+
+        // Act & Assert
+        assertTrue(registry.isRunningOtherAttempt(createTask("task-1", "attempt-2")));
+        assertFalse(registry.isRunningOtherAttempt(original));
+        assertFalse(registry.isRunningOtherAttempt(createTask("task-2", "attempt-3")));
+
+        registry.finish(original);
+        assertFalse(registry.isRunningOtherAttempt(createTask("task-1", "attempt-2")));
+    }
+
+    @Test
+    void cancelJobShouldKillRunningTasksAndSkipQueuedTasks() throws Exception {
+        // Arrange - 시도 ID가 없는 태스크(병합 등)도 작업 단위로 중단
+        TranscodingTask running = createTask("task-1", null);
+        TranscodingTask otherJob = TranscodingTask.builder().id("task-9").jobId("job-2").build();
+        assertTrue(registry.start(running));
+        assertTrue(registry.start(otherJob));
+        Process process = new ProcessBuilder("sleep", "30").start();
+        Process otherProcess = new ProcessBuilder("sleep", "30").start();
+        registry.attach(running, process);
+        registry.attach(otherJob, otherProcess);
+
+        try {
+            // Act
+            int killed = registry.cancelJob("job-1");
+
+            // Assert - 같은 작업의 프로세스만 종료하고 이후 태스크는 시작하지 않음
+            assertEquals(1, killed);
+            assertTrue(process.waitFor(5, TimeUnit.SECONDS));
+            assertTrue(otherProcess.isAlive());
+            assertTrue(registry.isJobCancelled("job-1"));
+            assertFalse(registry.start(createTask("task-2", "attempt-2")));
+            assertFalse(registry.isJobCancelled("job-2"));
+        } finally {
+            otherProcess.destroyForcibly();
+        }
+    }
+
+    private TranscodingTask createTask(String id, String attemptId) {
+        return TranscodingTask.builder()
+                .id(id)
+                .jobId("job-1")
+                .attemptId(attemptId)
+                .build();
+    }
+}
@@ -0,0 +1,62 @@
+package com.tenacy.pixiescale.transcodingworker.service.impl;
+
+import com.tenacy.pixiescale.transcodingworker.config.FFmpegConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScratchSpaceTest {
+
+    private static final long MB = 1024L * 1024L;
+
+    @TempDir
+    Path tempDir;
+
+    private Path memoryDir;
+    private Path diskDir;
+    private ScratchSpace scratchSpace;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        memoryDir = tempDir.resolve("memory");
+        diskDir = tempDir.resolve("disk");
+
+        // 이전 실행에서 남은 출력
+        Files.createDirectories(memoryDir);
+        Files.writeString(memoryDir.resolve("output-stale.mp4"), "stale");
+
+        FFmpegConfig ffmpegConfig = new FFmpegConfig();
+        ffmpegConfig.setTempDir(diskDir.toString());
+        ffmpegConfig.setScratchMemoryEnabled(true);
+        ffmpegConfig.setScratchMemoryDir(memoryDir.toString());
+        ffmpegConfig.setScratchMemoryMaxMb(10);
+        ffmpegConfig.setScratchMemoryMaxFileMb(6);
+        scratchSpace = new ScratchSpace(ffmpegConfig);
+    }
+
+    @Test
+    void allocateShouldSpillToDiskWhenMemoryBudgetIsExhausted() throws Exception {
+        assertFalse(Files.exists(memoryDir.resolve("output-stale.mp4")));
+
+        // 예산 안의 작은 출력은 메모리 디렉토리
+        assertEquals(memoryDir, scratchSpace.allocate("task-1", 5 * MB));
+        assertEquals(5 * MB, scratchSpace.getMemoryUsed());
+
+        // 출력 하나의 한도를 넘거나, 크기를 모르거나, 예산이 부족하면 디스크
+        assertEquals(diskDir, scratchSpace.allocate("task-2", 7 * MB));
+        assertEquals(diskDir, scratchSpace.allocate("task-3", -1));
+        assertEquals(memoryDir, scratchSpace.allocate("task-4", 4 * MB));
+        assertEquals(diskDir, scratchSpace.allocate("task-5", 2 * MB));
+
+        // 태스크가 끝나면 예약 해제
+        scratchSpace.release("task-1");
+        scratchSpace.release("task-2");
+        assertEquals(4 * MB, scratchSpace.getMemoryUsed());
+        assertEquals(memoryDir, scratchSpace.allocate("task-5", 2 * MB));
+    }
+}
@@ -0,0 +1,78 @@
+package com.tenacy.pixiescale.transcodingworker.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SegmentCheckpointTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void loadShouldAccumulateCompletedSegmentsAcrossRuns() throws Exception {
+        // Arrange - 첫 실행은 세그먼트 2개 완료 후 중단, 재개한 실행은 1개 완료 후 중단 (part_00003은 기록 도중)
+        Path dir = tempDir.resolve("task-1");
+        Files.createDirectories(dir);
+        createSegments(dir, "part_00000.mp4", "part_00001.mp4", "part_00002.mp4", "part_00003.mp4");
+        Files.write(dir.resolve("segments_0.csv"), List.of(
+                "part_00000.mp4,0.000000,60.060000",
+                "part_00001.mp4,60.060000,120.120000"));
+        Files.write(dir.resolve("segments_2.csv"), List.of(
+                "part_00002.mp4,0.000000,59.940000"));
+
+        // Act
+        SegmentCheckpoint checkpoint = SegmentCheckpoint.load(dir);
+
+        // Assert - 목록에 기록된 세그먼트만 완료로 보고 실행별 구간 길이를 누적
+        assertEquals(3, checkpoint.getSegments().size());
+        assertEquals(180.06, checkpoint.getCompletedSeconds(), 0.001);
+        assertEquals(3, checkpoint.getNextNumber());
+        assertEquals(dir.resolve("segments_3.csv"), checkpoint.getNextListFile());
+        assertFalse(checkpoint.isComplete(600.0));
+        assertTrue(checkpoint.isComplete(180.3));
+    }
+
+    @Test
+    void loadShouldDropRunsAfterMissingSegment() throws Exception {
+        // Arrange - 두 번째 세그먼트 파일이 없으면 그 이후 실행 기록은 이어 붙일 수 없음
+        Path dir = tempDir.resolve("task-1");
+        Files.createDirectories(dir);
+        createSegments(dir, "part_00000.mp4", "part_00002.mp4");
+        Files.write(dir.resolve("segments_0.csv"), List.of(
+                "part_00000.mp4,0.000000,60.000000",
+                "part_00001.mp4,60.000000,120.000000"));
+        Path laterRun = dir.resolve("segments_2.csv");
+        Files.write(laterRun, List.of("part_00002.mp4,0.000000,60.000000"));
+
+        // Act
+        SegmentCheckpoint checkpoint = SegmentCheckpoint.load(dir);
+
+        // Assert
+        assertEquals(1, checkpoint.getSegments().size());
+        assertEquals(60.0, checkpoint.getCompletedSeconds(), 0.001);
+        assertEquals(1, checkpoint.getNextNumber());
+        assertFalse(Files.exists(laterRun));
+    }
+
+    @Test
+    void loadShouldStartFromZeroWithoutCheckpoint() throws Exception {
+        SegmentCheckpoint checkpoint = SegmentCheckpoint.load(tempDir.resolve("new-task"));
+
+        assertTrue(checkpoint.getSegments().isEmpty());
+        assertEquals(0, checkpoint.getCompletedSeconds());
+        assertEquals(0, checkpoint.getNextNumber());
+        assertFalse(checkpoint.isComplete(600.0));
+    }
+
+    private void createSegments(Path dir, String... names) throws Exception {
+        for (String name : names) {
+            Files.write(dir.resolve(name), new byte[] {0});
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.tenacy.pixiescale.transcodingworker.service.impl;
+
+import com.tenacy.pixiescale.transcodingworker.config.FFmpegConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SourceCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path uploadDir;
+    private FFmpegConfig ffmpegConfig;
+    private SourceCache sourceCache;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        uploadDir = Files.createDirectories(tempDir.resolve("uploads"));
+        ffmpegConfig = new FFmpegConfig();
+        ffmpegConfig.setSourceCacheEnabled(true);
+        ffmpegConfig.setSourceCacheDir(tempDir.resolve("cache").toString());
+        ffmpegConfig.setSourceCacheMaxMb(1);
+        sourceCache = new SourceCache(ffmpegConfig);
+    }
+
+    @Test
+    void acquireShouldCopyOnceForConcurrentRenditions() throws Exception {
+        // Arrange
+        Path source = createSource("media1-video.mp4", 400 * 1024);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            // Act - 같은 미디어의 렌디션 태스크 4개가 동시에 요청
+            Future<?>[] results = new Future<?>[4];
+            for (int i = 0; i < results.length; i++) {
+                String taskId = "task-" + i;
+                results[i] = executor.submit((Callable<Path>) () -> sourceCache.acquire(taskId, "media1", source));
+            }
+
+            // Assert - 모두 같은 로컬 사본을 사용하고 용량은 한 번만 차지
+            Path cached = (Path) results[0].get(5, TimeUnit.SECONDS);
+            for (Future<?> result : results) {
+                assertEquals(cached, result.get(5, TimeUnit.SECONDS));
+            }
+            assertNotEquals(source, cached);
+            assertEquals(Files.size(source), Files.size(cached));
+            assertEquals(1, sourceCache.getEntryCount());
+            assertEquals(400 * 1024, sourceCache.getTotalBytes());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void acquireShouldEvictLeastRecentlyUsedEntriesNotInUse() throws Exception {
+        // Arrange - 한도 1MB에 400KB 원본 3개
+        Path first = createSource("media1-a.mp4", 400 * 1024);
+        Path second = createSource("media2-b.mp4", 400 * 1024);
+        Path third = createSource("media3-c.mp4", 400 * 1024);
+
+        Path firstCached = sourceCache.acquire("task-1", "media1", first);
+        Path secondCached = sourceCache.acquire("task-2", "media2", second);
+        sourceCache.release("task-2");
+
+        // Act - 사용 중인 첫 번째 항목 대신 사용이 끝난 두 번째 항목을 정리
+        Path thirdCached = sourceCache.acquire("task-3", "media3", third);
+
+        // Assert
+        assertTrue(Files.exists(firstCached));
+        assertFalse(Files.exists(secondCached));
+        assertTrue(Files.exists(thirdCached));
+        assertEquals(2, sourceCache.getEntryCount());
+
+        // 모든 항목이 사용 중이면 캐시하지 않고 원본 경로 반환
+        Path fourth = createSource("media4-d.mp4", 400 * 1024);
+        assertEquals(fourth, sourceCache.acquire("task-4", "media4", fourth));
+    }
+
+    @Test
+    void acquireShouldRefreshWhenSourceChanges() throws Exception {
+        // Arrange
+        Path source = createSource("media1-video.mp4", 1024);
+        Path cached = sourceCache.acquire("task-1", "media1", source);
+        sourceCache.release("task-1");
+
+        // Act - 같은 미디어 ID의 원본이 교체됨
+        Files.write(source, new byte[2048]);
+        Files.setLastModifiedTime(source, FileTime.from(Instant.now().plusSeconds(10)));
+        Path refreshed = sourceCache.acquire("task-2", "media1", source);
+
+        // Assert
+        assertEquals(cached, refreshed);
+        assertEquals(2048, Files.size(refreshed));
+        assertEquals(2048, sourceCache.getTotalBytes());
+    }
+
+    private Path createSource(String filename, int size) throws Exception {
+        return Files.write(uploadDir.resolve(filename), new byte[size]);
+    }
+}
@@ -0,0 +1,87 @@
+package com.tenacy.pixiescale.transcodingworker.service.impl;
+
+import com.tenacy.pixiescale.common.domain.TranscodingTask;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskLedgerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private TaskLedger taskLedger;
+
+    @BeforeEach
+    void setUp() {
+        taskLedger = new TaskLedger(tempDir.resolve(".ledger").toString(), 168);
+    }
+
+    private TranscodingTask createTask(String id) {
+        return TranscodingTask.builder()
+                .id(id)
+                .jobId("media-job")
+                .attemptId("attempt-1")
+                .status(TranscodingTask.TaskStatus.PROCESSING)
+                .build();
+    }
+
+    @Test
+    void findCompletedShouldReturnStoredResultOfCompletedTask() throws Exception {
+        // Arrange
+        TranscodingTask task = createTask("task-1");
+        taskLedger.started(task);
+        assertNull(taskLedger.findCompleted("task-1"));
+
+        Files.writeString(tempDir.resolve("output-720.mp4"), "output");
+        task.setStatus(TranscodingTask.TaskStatus.COMPLETED);
+        task.setOutputPath("output-720.mp4");
+        task.setArtifactPaths(List.of("thumbnails.vtt"));
+        taskLedger.completed(task);
+
+        // Act - 재전달된 같은 태스크 (다른 시도가 시작해도 완료 기록 유지)
+        TranscodingTask redelivered = createTask("task-1");
+        taskLedger.started(redelivered);
+        TaskLedger.Entry entry = taskLedger.findCompleted("task-1");
+
+        // Assert
+        assertNotNull(entry);
+        TranscodingTask result = taskLedger.applyTo(redelivered, entry);
+        assertEquals(TranscodingTask.TaskStatus.COMPLETED, result.getStatus());
+        assertEquals("output-720.mp4", result.getOutputPath());
+        assertEquals(List.of("thumbnails.vtt"), result.getArtifactPaths());
+    }
+
+    @Test
+    void findCompletedShouldIgnoreFailedTasks() {
+        TranscodingTask failed = createTask("task-1");
+        failed.setStatus(TranscodingTask.TaskStatus.FAILED);
+        taskLedger.completed(failed);
+        assertNull(taskLedger.findCompleted("task-1"));
+    }
+
+    @Test
+    void findCompletedShouldReturnResultAfterOutputWasConsumed() throws Exception {
+        // Arrange - 미디어 스토리지가 결과를 영구 저장소로 옮기고 출력 볼륨의 파일을 삭제한 뒤 재전달
+        Path output = tempDir.resolve("output-480.mp4");
+        Files.writeString(output, "output");
+        TranscodingTask completed = createTask("task-2");
+        completed.setStatus(TranscodingTask.TaskStatus.COMPLETED);
+        completed.setOutputPath("output-480.mp4");
+        taskLedger.completed(completed);
+        Files.delete(output);
+
+        // Act
+        TaskLedger.Entry entry = taskLedger.findCompleted("task-2");
+
+        // Assert - 다시 인코딩하지 않고 기록된 저장 경로로 결과 재발행
+        assertNotNull(entry);
+        assertEquals("output-480.mp4", taskLedger.applyTo(createTask("task-2"), entry).getOutputPath());
+    }
+}
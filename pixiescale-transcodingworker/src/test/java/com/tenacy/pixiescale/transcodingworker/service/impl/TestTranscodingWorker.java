@@ -7,9 +7,11 @@ import com.tenacy.pixiescale.transcodingworker.service.TranscodingWorker;
 import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
 @Profile("test")
@@ -42,6 +44,23 @@ public class TestTranscodingWorker implements TranscodingWorker {
                 });
     }
 
+    @Override
+    public Flux<TranscodingTask> processJob(List<TranscodingTask> tasks) {
+        // 렌디션별로 단일 태스크 시뮬레이션 재사용
+        return Flux.fromIterable(tasks).concatMap(this::processTask);
+    }
+
+    @Override
+    public Flux<TranscodingTask> processBatch(List<TranscodingTask> tasks) {
+        return Flux.fromIterable(tasks).concatMap(this::processTask);
+    }
+
+    @Override
+    public boolean isBatchable(TranscodingTask task) {
+        // 테스트에서는 배치 대기 없이 즉시 처리
+        return false;
+    }
+
     @Override
     public void initialize() {
         // 실제 초기화 없이 성공으로 처리
@@ -0,0 +1,26 @@
+package com.tenacy.pixiescale.transcodingworker.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ThumbnailVttBuilderTest {
+
+    private final ThumbnailVttBuilder thumbnailVttBuilder = new ThumbnailVttBuilder();
+
+    @Test
+    void buildShouldMapEachIntervalToSpriteTile() {
+        // Act - 2x2 스프라이트에 썸네일 5개, 원본 길이 45초
+        String vtt = thumbnailVttBuilder.build(5, 10, 160, 90, 2, 2, 45.0);
+
+        // Assert
+        String[] lines = vtt.split("\\n");
+        assertEquals("WEBVTT", lines[0]);
+        assertEquals("00:00:00.000 --> 00:00:10.000", lines[2]);
+        assertEquals("sprite_001.jpg#xywh=0,0,160,90", lines[3]);
+        assertEquals("sprite_001.jpg#xywh=160,90,160,90", lines[12]);
+        // 다섯 번째 썸네일은 두 번째 시트의 첫 타일, 끝은 원본 길이로 제한
+        assertEquals("00:00:40.000 --> 00:00:45.000", lines[14]);
+        assertEquals("sprite_002.jpg#xywh=0,0,160,90", lines[15]);
+    }
+}